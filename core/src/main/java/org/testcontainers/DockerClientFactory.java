@@ -9,6 +9,7 @@ import com.github.dockerjava.core.command.ExecStartResultCallback;
 import com.github.dockerjava.core.command.PullImageResultCallback;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
 import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +31,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
@@ -75,6 +77,18 @@ public class DockerClientFactory {
 
     }
 
+    /**
+     * @param nameFormat name of the threads, with {@code %d} for their number, e.g. {@code testcontainers-pull-%d}
+     * @return a factory for daemon threads in the {@link #TESTCONTAINERS_THREAD_GROUP}, for Testcontainers' own executors
+     */
+    public static ThreadFactory daemonThreadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder()
+            .setNameFormat(nameFormat)
+            .setDaemon(true)
+            .setThreadFactory(runnable -> new Thread(TESTCONTAINERS_THREAD_GROUP, runnable))
+            .build();
+    }
+
     /**
      * Obtain an instance of the DockerClientFactory.
      *
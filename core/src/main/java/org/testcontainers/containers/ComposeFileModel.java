@@ -0,0 +1,532 @@
+package org.testcontainers.containers;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The services, networks and volumes of one or more Docker Compose files, as used by {@link NativeDockerCompose}.
+ * <p>
+ * Files are merged the way Docker Compose merges them: mappings are merged key by key, lists are concatenated and
+ * other values are replaced by later files. Variables ({@code $VAR}, {@code ${VAR}}, {@code ${VAR:-default}},
+ * {@code ${VAR:?error}}) are substituted from the given environment, and from the {@code .env} file in the directory
+ * of the first file for variables which are not in the environment.
+ */
+@Slf4j
+class ComposeFileModel {
+
+    static final String ENV_FILE = ".env";
+
+    static final String DEFAULT_NETWORK = "default";
+
+    private static final Pattern VARIABLE = Pattern.compile(
+        "\\$\\$|\\$\\{([A-Za-z_][A-Za-z0-9_]*)(?:(:?[-?])([^}]*))?}|\\$([A-Za-z_][A-Za-z0-9_]*)"
+    );
+
+    /**
+     * Keys which replace, rather than extend, the value of earlier files
+     */
+    private static final Set<String> REPLACED_LISTS = new LinkedHashSet<>(Arrays.asList("command", "entrypoint"));
+
+    /**
+     * Directory that relative paths are resolved against: the directory of the first file
+     */
+    @Getter
+    private final File baseDirectory;
+
+    @Getter
+    private final Map<String, Service> services = new LinkedHashMap<>();
+
+    private final Map<String, Object> networks;
+
+    private final Map<String, Object> volumes;
+
+    ComposeFileModel(List<File> composeFiles, Map<String, String> environment) {
+        this.baseDirectory = composeFiles.get(0).getAbsoluteFile().getParentFile();
+
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (File composeFile : composeFiles) {
+            merge(merged, normalize(read(composeFile)));
+        }
+        Map<String, String> variables = readEnvFile(new File(baseDirectory, ENV_FILE));
+        variables.putAll(environment);
+        Map<String, Object> interpolated = mapOf(interpolate(merged, variables), "compose file");
+
+        mapOf(interpolated.get("services"), "services").forEach((name, definition) ->
+            services.put(name, new Service(name, mapOf(definition, "service " + name))));
+        networks = mapOf(interpolated.get("networks"), "networks");
+        volumes = mapOf(interpolated.get("volumes"), "volumes");
+    }
+
+    /**
+     * @return the networks which are used, with their definitions (which may be empty)
+     */
+    Map<String, Map<String, Object>> getNetworks() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        if (services.values().stream().anyMatch(service -> service.getNetworks().containsKey(DEFAULT_NETWORK))) {
+            result.put(DEFAULT_NETWORK, Collections.emptyMap());
+        }
+        networks.forEach((name, definition) -> result.put(name, mapOf(definition, "network " + name)));
+        return result;
+    }
+
+    /**
+     * @return the named volumes, with their definitions (which may be empty)
+     */
+    Map<String, Map<String, Object>> getVolumes() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        volumes.forEach((name, definition) -> result.put(name, mapOf(definition, "volume " + name)));
+        return result;
+    }
+
+    /**
+     * @return the name of the network or volume in Docker, which is prefixed with the project unless it is external
+     */
+    static String resourceName(String project, String name, Map<String, Object> definition) {
+        Object external = definition.get("external");
+        if (external instanceof Map) {
+            Object externalName = ((Map<?, ?>) external).get("name");
+            return externalName != null ? externalName.toString() : name;
+        }
+        if (Boolean.TRUE.equals(external) || "true".equals(external)) {
+            return definition.containsKey("name") ? definition.get("name").toString() : name;
+        }
+        if (definition.containsKey("name")) {
+            return definition.get("name").toString();
+        }
+        return project + "_" + name;
+    }
+
+    static boolean isExternal(Map<String, Object> definition) {
+        Object external = definition.get("external");
+        return external instanceof Map || Boolean.TRUE.equals(external) || "true".equals(external);
+    }
+
+    /**
+     * @return the variables of an env file ({@code KEY=VALUE} lines, with {@code #} comments), or none if it doesn't
+     * exist
+     */
+    static Map<String, String> readEnvFile(File envFile) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (!envFile.isFile()) {
+            return result;
+        }
+
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(envFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new ContainerLaunchException("Could not read env file " + envFile, e);
+        }
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            if (separator < 0) {
+                throw new ContainerLaunchException("Invalid line in env file " + envFile + ": " + line);
+            }
+            String value = trimmed.substring(separator + 1).trim();
+            if (value.length() >= 2 && (value.charAt(0) == '"' || value.charAt(0) == '\'') && value.charAt(value.length() - 1) == value.charAt(0)) {
+                value = value.substring(1, value.length() - 1);
+            }
+            result.put(trimmed.substring(0, separator).trim(), value);
+        }
+        return result;
+    }
+
+    private static Object read(File composeFile) {
+        try (Reader reader = Files.newBufferedReader(composeFile.toPath(), StandardCharsets.UTF_8)) {
+            return new Yaml().load(reader);
+        } catch (IOException e) {
+            throw new ContainerLaunchException("Could not read compose file " + composeFile, e);
+        }
+    }
+
+    /**
+     * Files without a version are in the version 1 format, which only has services at the top level.
+     */
+    private static Map<String, Object> normalize(Object content) {
+        Map<String, Object> file = mapOf(content, "compose file");
+        if (file.containsKey("version") || file.containsKey("services")) {
+            return file;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("services", file);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void merge(Map<String, Object> target, Map<String, Object> source) {
+        source.forEach((key, value) -> {
+            Object existing = target.get(key);
+            if (existing instanceof Map && value instanceof Map) {
+                Map<String, Object> mergedMap = new LinkedHashMap<>((Map<String, Object>) existing);
+                merge(mergedMap, (Map<String, Object>) value);
+                target.put(key, mergedMap);
+            } else if (existing instanceof List && value instanceof List && !REPLACED_LISTS.contains(key)) {
+                Set<Object> mergedList = new LinkedHashSet<>((List<Object>) existing);
+                mergedList.addAll((List<Object>) value);
+                target.put(key, new ArrayList<>(mergedList));
+            } else {
+                target.put(key, value);
+            }
+        });
+    }
+
+    private static Object interpolate(Object value, Map<String, String> environment) {
+        if (value instanceof String) {
+            return interpolate((String) value, environment);
+        }
+        if (value instanceof Map) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((key, entry) -> result.put(String.valueOf(key), interpolate(entry, environment)));
+            return result;
+        }
+        if (value instanceof List) {
+            List<Object> result = new ArrayList<>();
+            ((List<?>) value).forEach(entry -> result.add(interpolate(entry, environment)));
+            return result;
+        }
+        return value;
+    }
+
+    static String interpolate(String value, Map<String, String> environment) {
+        Matcher matcher = VARIABLE.matcher(value);
+        StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            String replacement;
+            if (matcher.group().equals("$$")) {
+                replacement = "$";
+            } else {
+                String name = matcher.group(1) != null ? matcher.group(1) : matcher.group(4);
+                String operator = matcher.group(2);
+                String argument = matcher.group(3);
+                String variable = environment.get(name);
+                boolean unset = operator != null && operator.startsWith(":")
+                    ? variable == null || variable.isEmpty()
+                    : variable == null;
+
+                if (unset && operator != null && operator.endsWith("?")) {
+                    throw new ContainerLaunchException("Required variable " + name + " is not set: " + argument);
+                } else if (unset && operator != null) {
+                    replacement = argument;
+                } else {
+                    if (variable == null) {
+                        log.warn("The {} variable is not set, substituting an empty string", name);
+                    }
+                    replacement = variable != null ? variable : "";
+                }
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> mapOf(Object value, String description) {
+        if (value == null) {
+            return Collections.emptyMap();
+        }
+        if (!(value instanceof Map)) {
+            throw new ContainerLaunchException("Expected a mapping for " + description + " in compose file, but got: " + value);
+        }
+        return (Map<String, Object>) value;
+    }
+
+    /**
+     * @return a list of strings, from a list or a single string
+     */
+    private static List<String> listOf(Object value) {
+        List<String> result = new ArrayList<>();
+        if (value instanceof List) {
+            ((List<?>) value).forEach(entry -> result.add(String.valueOf(entry)));
+        } else if (value != null) {
+            result.add(String.valueOf(value));
+        }
+        return result;
+    }
+
+    /**
+     * @return key/value pairs, from a mapping or a list of {@code KEY=VALUE} (values are null for a bare {@code KEY})
+     */
+    private static Map<String, String> pairsOf(Object value, String separator) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (value instanceof Map) {
+            ((Map<?, ?>) value).forEach((key, entry) -> result.put(String.valueOf(key), entry == null ? null : String.valueOf(entry)));
+        } else {
+            for (String entry : listOf(value)) {
+                int index = entry.indexOf(separator);
+                if (index < 0) {
+                    result.put(entry, null);
+                } else {
+                    result.put(entry.substring(0, index), entry.substring(index + separator.length()));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Split a command given as a string into its parts, respecting quotes, like Docker Compose does.
+     */
+    static List<String> splitCommand(String command) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inPart = false;
+        char quote = 0;
+        for (int i = 0; i < command.length(); i++) {
+            char c = command.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else if (c == '\\' && quote == '"' && i + 1 < command.length()) {
+                    current.append(command.charAt(++i));
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                inPart = true;
+            } else if (c == '\\' && i + 1 < command.length()) {
+                current.append(command.charAt(++i));
+                inPart = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inPart) {
+                    parts.add(current.toString());
+                    current.setLength(0);
+                    inPart = false;
+                }
+            } else {
+                current.append(c);
+                inPart = true;
+            }
+        }
+        if (inPart) {
+            parts.add(current.toString());
+        }
+        return parts;
+    }
+
+    /**
+     * A service definition.
+     */
+    class Service {
+
+        @Getter
+        private final String name;
+
+        private final Map<String, Object> definition;
+
+        Service(String name, Map<String, Object> definition) {
+            this.name = name;
+            this.definition = definition;
+        }
+
+        /**
+         * @return the name of a container of the service: its {@code container_name}, or a name made up of the project,
+         * service and container number
+         */
+        String getContainerName(String project, int containerNumber) {
+            String containerName = getString("container_name");
+            return containerName != null ? containerName : project + "_" + name + "_" + containerNumber;
+        }
+
+        String getImage() {
+            Object image = definition.get("image");
+            return image != null ? image.toString() : null;
+        }
+
+        boolean hasBuild() {
+            return definition.containsKey("build");
+        }
+
+        File getBuildContext() {
+            Object build = definition.get("build");
+            Object context = build instanceof Map ? ((Map<?, ?>) build).get("context") : build;
+            return resolvePath(context != null ? context.toString() : ".");
+        }
+
+        String getDockerfile() {
+            Object build = definition.get("build");
+            Object dockerfile = build instanceof Map ? ((Map<?, ?>) build).get("dockerfile") : null;
+            return dockerfile != null ? dockerfile.toString() : null;
+        }
+
+        Map<String, String> getBuildArgs() {
+            Object build = definition.get("build");
+            return build instanceof Map ? pairsOf(((Map<?, ?>) build).get("args"), "=") : Collections.emptyMap();
+        }
+
+        List<String> getCommand() {
+            return commandOf(definition.get("command"));
+        }
+
+        List<String> getEntrypoint() {
+            return commandOf(definition.get("entrypoint"));
+        }
+
+        /**
+         * @return the environment, with env files first; values are null for variables to take from the environment
+         */
+        Map<String, String> getEnvironment() {
+            Map<String, String> result = new LinkedHashMap<>();
+            for (String envFile : listOf(definition.get("env_file"))) {
+                try {
+                    for (String line : Files.readAllLines(resolvePath(envFile).toPath(), StandardCharsets.UTF_8)) {
+                        String trimmed = line.trim();
+                        if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                            result.putAll(pairsOf(trimmed, "="));
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new ContainerLaunchException("Could not read env file " + envFile + " of service " + name, e);
+                }
+            }
+            result.putAll(pairsOf(definition.get("environment"), "="));
+            return result;
+        }
+
+        Map<String, String> getLabels() {
+            return pairsOf(definition.get("labels"), "=");
+        }
+
+        List<String> getPorts() {
+            return listOf(definition.get("ports"));
+        }
+
+        List<String> getExpose() {
+            return listOf(definition.get("expose"));
+        }
+
+        /**
+         * @return the services this service depends on, with the condition to wait for
+         */
+        Map<String, String> getDependsOn() {
+            Map<String, String> result = new LinkedHashMap<>();
+            Object dependsOn = definition.get("depends_on");
+            if (dependsOn instanceof Map) {
+                ((Map<?, ?>) dependsOn).forEach((service, options) -> {
+                    Object condition = options instanceof Map ? ((Map<?, ?>) options).get("condition") : null;
+                    result.put(String.valueOf(service), condition != null ? condition.toString() : "service_started");
+                });
+            } else {
+                listOf(dependsOn).forEach(service -> result.put(service, "service_started"));
+            }
+            // Linked services must be started first too
+            getLinks().keySet().forEach(service -> result.putIfAbsent(service, "service_started"));
+            return result;
+        }
+
+        /**
+         * @return the linked services, with their aliases
+         */
+        Map<String, String> getLinks() {
+            Map<String, String> result = new LinkedHashMap<>();
+            pairsOf(definition.get("links"), ":").forEach((service, alias) -> result.put(service, alias != null ? alias : service));
+            return result;
+        }
+
+        /**
+         * @return the networks to connect to, with extra aliases
+         */
+        Map<String, List<String>> getNetworks() {
+            Map<String, List<String>> result = new LinkedHashMap<>();
+            Object networks = definition.get("networks");
+            if (networks instanceof Map) {
+                ((Map<?, ?>) networks).forEach((network, options) -> result.put(String.valueOf(network),
+                    options instanceof Map ? listOf(((Map<?, ?>) options).get("aliases")) : Collections.emptyList()));
+            } else if (networks != null) {
+                listOf(networks).forEach(network -> result.put(network, Collections.emptyList()));
+            } else if (!definition.containsKey("network_mode")) {
+                result.put(DEFAULT_NETWORK, Collections.emptyList());
+            }
+            return result;
+        }
+
+        String getNetworkMode() {
+            Object networkMode = definition.get("network_mode");
+            return networkMode != null ? networkMode.toString() : null;
+        }
+
+        /**
+         * @return volumes in the short syntax ({@code [SOURCE:]TARGET[:MODE]}), with long syntax entries converted
+         */
+        List<String> getVolumes() {
+            List<String> result = new ArrayList<>();
+            Object volumes = definition.get("volumes");
+            if (volumes instanceof List) {
+                for (Object volume : (List<?>) volumes) {
+                    if (volume instanceof Map) {
+                        Map<?, ?> options = (Map<?, ?>) volume;
+                        Object source = options.get("source");
+                        String entry = (source != null ? source + ":" : "") + options.get("target");
+                        if (Boolean.TRUE.equals(options.get("read_only"))) {
+                            entry += ":ro";
+                        }
+                        result.add(entry);
+                    } else {
+                        result.add(String.valueOf(volume));
+                    }
+                }
+            }
+            return result;
+        }
+
+        List<String> getExtraHosts() {
+            List<String> result = new ArrayList<>();
+            pairsOf(definition.get("extra_hosts"), ":").forEach((host, ip) -> result.add(host + ":" + ip));
+            return result;
+        }
+
+        String getString(String key) {
+            Object value = definition.get(key);
+            return value != null ? value.toString() : null;
+        }
+
+        boolean getBoolean(String key) {
+            Object value = definition.get(key);
+            return Boolean.TRUE.equals(value) || "true".equals(value);
+        }
+
+        Set<String> getKeys() {
+            return definition.keySet();
+        }
+
+        private List<String> commandOf(Object command) {
+            if (command == null) {
+                return null;
+            }
+            if (command instanceof List) {
+                return listOf(command);
+            }
+            return splitCommand(command.toString());
+        }
+    }
+
+    File resolvePath(String path) {
+        if (path.startsWith("~")) {
+            return new File(System.getProperty("user.home") + path.substring(1));
+        }
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(baseDirectory, path).toPath().normalize().toFile();
+    }
+}
@@ -12,10 +12,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
- * Class to provide a wait strategy target for services started through docker-compose
+ * Class to provide a wait strategy target for services started through docker-compose.
+ * <p>
+ * Ports are reached through the proxy container if there is one, or else through the ports published by the
+ * service container itself.
  */
 @EqualsAndHashCode
 class ComposeServiceWaitStrategyTarget implements WaitStrategyTarget {
@@ -34,6 +38,16 @@ class ComposeServiceWaitStrategyTarget implements WaitStrategyTarget {
         this.mappedPorts = new HashMap<>(mappedPorts);
     }
 
+    /**
+     * Target for a service container which publishes the given ports itself.
+     */
+    ComposeServiceWaitStrategyTarget(Container container, @NonNull Set<Integer> exposedPorts) {
+        this.container = container;
+        this.proxyContainer = null;
+        this.mappedPorts = new HashMap<>();
+        exposedPorts.forEach(port -> this.mappedPorts.put(port, port));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -47,6 +61,9 @@ class ComposeServiceWaitStrategyTarget implements WaitStrategyTarget {
      */
     @Override
     public Integer getMappedPort(int originalPort) {
+        if (proxyContainer == null) {
+            return WaitStrategyTarget.super.getMappedPort(originalPort);
+        }
         return this.proxyContainer.getMappedPort(this.mappedPorts.get(originalPort));
     }
 
@@ -55,6 +72,9 @@ class ComposeServiceWaitStrategyTarget implements WaitStrategyTarget {
      */
     @Override
     public String getContainerIpAddress() {
+        if (proxyContainer == null) {
+            return WaitStrategyTarget.super.getContainerIpAddress();
+        }
         return proxyContainer.getContainerIpAddress();
     }
 
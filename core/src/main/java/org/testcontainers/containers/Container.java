@@ -36,18 +36,30 @@ public interface Container<SELF extends Container<SELF>> extends LinkableContain
     }
 
     /**
-     * Class to hold results from a "docker exec" command. Note that, due to the limitations of the
-     * docker API, there's no easy way to get the result code from the process we ran.
+     * Class to hold results from a "docker exec" command.
      */
     class ExecResult {
+        private final Integer exitCode;
         private final String stdout;
         private final String stderr;
 
         public ExecResult(String stdout, String stderr) {
+            this(null, stdout, stderr);
+        }
+
+        public ExecResult(Integer exitCode, String stdout, String stderr) {
+            this.exitCode = exitCode;
             this.stdout = stdout;
             this.stderr = stderr;
         }
 
+        /**
+         * @return the exit code of the command, or null if it is not known
+         */
+        public Integer getExitCode() {
+            return exitCode;
+        }
+
         public String getStdout() {
             return stdout;
         }
@@ -7,6 +7,7 @@ import com.github.dockerjava.api.model.PortBinding;
 import com.github.dockerjava.api.model.Ports;
 import com.google.common.base.Preconditions;
 import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.ContainerEventMonitor;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -77,8 +78,15 @@ public interface ContainerState {
         }
     }
 
+    /**
+     * Get the current state of the container. The state may be up to a second old, unless Docker has reported a change
+     * since, or the container has been started, stopped, killed or removed through the Docker client of this JVM.
+     *
+     * @return the container info
+     * @see ContainerEventMonitor
+     */
     default InspectContainerResponse getCurrentContainerInfo() {
-        return DockerClientFactory.instance().client().inspectContainerCmd(getContainerId()).exec();
+        return ContainerEventMonitor.instance().inspect(getContainerId());
     }
 
     /**
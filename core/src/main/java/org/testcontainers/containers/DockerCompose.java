@@ -0,0 +1,24 @@
+package org.testcontainers.containers;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+interface DockerCompose {
+    String ENV_PROJECT_NAME = "COMPOSE_PROJECT_NAME";
+    String ENV_COMPOSE_FILE = "COMPOSE_FILE";
+
+    DockerCompose withCommand(String cmd);
+
+    DockerCompose withEnv(Map<String, String> env);
+
+    void invoke();
+
+    default void validateFileList(List<File> composeFiles) {
+        checkNotNull(composeFiles);
+        checkArgument(!composeFiles.isEmpty(), "No docker compose file have been provided");
+    }
+}
@@ -18,6 +18,7 @@ import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.output.OutputFrame;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.containers.startupcheck.IndefiniteWaitOneShotStartupCheckStrategy;
+import org.testcontainers.containers.wait.strategy.ConcurrentWaits;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.containers.wait.strategy.WaitAllStrategy;
 import org.testcontainers.containers.wait.strategy.WaitStrategy;
@@ -40,8 +41,6 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
-import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.testcontainers.containers.BindMode.READ_ONLY;
@@ -62,8 +61,11 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
     private final Map<String, Integer> scalingPreferences = new HashMap<>();
     private DockerClient dockerClient;
     private boolean localCompose;
+    private boolean nativeCompose;
+    private boolean directServicePorts;
     private boolean pull = true;
     private boolean tailChildContainers;
+    private boolean parallelWaitStrategies;
 
     private String project;
 
@@ -74,7 +76,16 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
     private final SocatContainer ambassadorContainer = new SocatContainer();
     private final Map<String, List<Consumer<OutputFrame>>> logConsumers = new ConcurrentHashMap<>();
 
-    private static final Object MUTEX = new Object();
+    /**
+     * Serializes start and stop of this environment, which change its project, ambassador container and spawned
+     * resources. Nothing is shared between environments, so independent environments can start at the same time.
+     */
+    private final Object lifecycleLock = new Object();
+
+    /**
+     * Timeout for all services together; the wait strategies of each service apply their own timeouts
+     */
+    private static final Duration SERVICE_STARTUP_TIMEOUT = Duration.ofMinutes(30);
 
     /**
      * Properties that should be passed through to all Compose and ambassador containers (not
@@ -144,7 +155,7 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
         profiler.setLogger(logger());
         profiler.start("Docker Compose container startup");
 
-        synchronized (MUTEX) {
+        synchronized (lifecycleLock) {
             registerContainersForShutdown();
             if (pull) {
                 try {
@@ -155,7 +166,9 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
             }
             applyScaling(); // scale before up, so that all scaled instances are available first for linking
             createServices();
-            startAmbassadorContainers(profiler);
+            if (usesAmbassador() && !ambassadorPortMappings.isEmpty()) {
+                startAmbassadorContainers(profiler);
+            }
             waitUntilServiceStarted();
         }
     }
@@ -172,13 +185,26 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
 
     private void waitUntilServiceStarted() {
         listChildContainers().forEach(this::createServiceInstance);
-        serviceInstanceMap.forEach(this::waitUntilServiceStarted);
+
+        // Wait for all services at the same time, so that startup takes as long as the slowest service
+        final Map<ComposeServiceWaitStrategyTarget, WaitStrategy> serviceWaits = new IdentityHashMap<>();
+        serviceInstanceMap.forEach((serviceName, serviceInstance) -> {
+            final WaitAllStrategy waitAllStrategy = waitStrategyMap.get(serviceName);
+            if (waitAllStrategy != null) {
+                if (parallelWaitStrategies) {
+                    waitAllStrategy.inParallel();
+                }
+                serviceWaits.put(serviceInstance, waitAllStrategy);
+            }
+        });
+        ConcurrentWaits.waitForAll(serviceWaits, SERVICE_STARTUP_TIMEOUT);
     }
 
     private void createServiceInstance(Container container) {
         String serviceName = getServiceNameFromContainer(container);
-        final ComposeServiceWaitStrategyTarget containerInstance = new ComposeServiceWaitStrategyTarget(container,
-            ambassadorContainer, ambassadorPortMappings.getOrDefault(serviceName, new HashMap<>()));
+        final ComposeServiceWaitStrategyTarget containerInstance = !usesAmbassador()
+            ? new ComposeServiceWaitStrategyTarget(container, ambassadorPortMappings.getOrDefault(serviceName, new HashMap<>()).keySet())
+            : new ComposeServiceWaitStrategyTarget(container, ambassadorContainer, ambassadorPortMappings.getOrDefault(serviceName, new HashMap<>()));
 
         String containerId = containerInstance.getContainerId();
         if (tailChildContainers) {
@@ -189,13 +215,6 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
         serviceInstanceMap.putIfAbsent(serviceName, containerInstance);
     }
 
-    private void waitUntilServiceStarted(String serviceName, ComposeServiceWaitStrategyTarget serviceInstance) {
-        final WaitAllStrategy waitAllStrategy = waitStrategyMap.get(serviceName);
-        if(waitAllStrategy != null) {
-            waitAllStrategy.waitUntilReady(serviceInstance);
-        }
-    }
-
     private String getServiceNameFromContainer(Container container) {
         final String containerName = container.getLabels().get("com.docker.compose.service");
         final String containerNumber = container.getLabels().get("com.docker.compose.container-number");
@@ -204,7 +223,12 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
 
     private void runWithCompose(String cmd) {
         final DockerCompose dockerCompose;
-        if (localCompose) {
+        if (nativeCompose) {
+            // Publish the exposed service ports directly, instead of through the ambassador container
+            final Map<String, Set<Integer>> exposedPorts = new HashMap<>();
+            ambassadorPortMappings.forEach((serviceInstanceName, ports) -> exposedPorts.put(serviceInstanceName, new HashSet<>(ports.keySet())));
+            dockerCompose = new NativeDockerCompose(composeFiles, project, dockerClient, exposedPorts);
+        } else if (localCompose) {
             dockerCompose = new LocalDockerCompose(composeFiles, project);
         } else {
             dockerCompose = new ContainerisedDockerCompose(composeFiles, project);
@@ -235,12 +259,11 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
     }
 
     private List<Container> listChildContainers() {
+        // Let the daemon filter by project, rather than listing every container
         return dockerClient.listContainersCmd()
                 .withShowAll(true)
-                .exec().stream()
-                .filter(container -> Arrays.stream(container.getNames()).anyMatch(name ->
-                        name.startsWith("/" + project)))
-                .collect(toList());
+                .withLabelFilter(Collections.singletonMap("com.docker.compose.project", project))
+                .exec();
     }
 
     private void startAmbassadorContainers(Profiler profiler) {
@@ -255,7 +278,7 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
 
     @Override
     public void stop() {
-        synchronized (MUTEX) {
+        synchronized (lifecycleLock) {
             try {
                 // shut down the ambassador container
                 ambassadorContainer.stop();
@@ -314,13 +337,18 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
          *
          * {@link GenericContainer} should ensure that the ambassador container is on the same network
          * as the rest of the compose environment.
+         *
+         * With direct service ports (or the native engine), the ambassador is not started, and only the
+         * service/port pairs recorded here are used.
          */
 
         // Ambassador container will be started together after docker compose has started
-        int ambassadorPort = nextAmbassadorPort.getAndIncrement();
-        ambassadorPortMappings.computeIfAbsent(serviceInstanceName, __ -> new ConcurrentHashMap<>()).put(servicePort, ambassadorPort);
-        ambassadorContainer.withTarget(ambassadorPort, serviceInstanceName, servicePort);
-        ambassadorContainer.addLink(new FutureContainer(this.project + "_" + serviceInstanceName), serviceInstanceName);
+        synchronized (lifecycleLock) {
+            int ambassadorPort = nextAmbassadorPort.getAndIncrement();
+            ambassadorPortMappings.computeIfAbsent(serviceInstanceName, __ -> new ConcurrentHashMap<>()).put(servicePort, ambassadorPort);
+            ambassadorContainer.withTarget(ambassadorPort, serviceInstanceName, servicePort);
+            ambassadorContainer.addLink(new FutureContainer(this.project + "_" + serviceInstanceName), serviceInstanceName);
+        }
         addWaitStrategy(serviceInstanceName, waitStrategy);
         return self();
     }
@@ -369,6 +397,9 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
      * @return a host IP address or hostname that can be used for accessing the service container.
      */
     public String getServiceHost(String serviceName, Integer servicePort) {
+        if (!usesAmbassador()) {
+            return getServiceInstance(serviceName).getContainerIpAddress();
+        }
         return ambassadorContainer.getContainerIpAddress();
     }
 
@@ -383,9 +414,32 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
      * @return a port that can be used for accessing the service container.
      */
     public Integer getServicePort(String serviceName, Integer servicePort) {
+        if (!usesAmbassador()) {
+            try {
+                return getServiceInstance(serviceName).getMappedPort(servicePort);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Service " + serviceName + " does not publish port " + servicePort +
+                    "; it needs to be in the ports of the service in the compose file", e);
+            }
+        }
         return ambassadorContainer.getMappedPort(ambassadorPortMappings.get(getServiceInstanceName(serviceName)).get(servicePort));
     }
 
+    /**
+     * @return whether exposed services are reached through the ambassador container, rather than directly
+     */
+    private boolean usesAmbassador() {
+        return !nativeCompose && !directServicePorts;
+    }
+
+    private ComposeServiceWaitStrategyTarget getServiceInstance(String serviceName) {
+        final ComposeServiceWaitStrategyTarget serviceInstance = serviceInstanceMap.get(getServiceInstanceName(serviceName));
+        if (serviceInstance == null) {
+            throw new IllegalArgumentException("Service " + serviceName + " is not running");
+        }
+        return serviceInstance;
+    }
+
     public SELF withScaledService(String serviceBaseName, int numInstances) {
         scalingPreferences.put(serviceBaseName, numInstances);
 
@@ -412,6 +466,37 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
         return self();
     }
 
+    /**
+     * Run Docker Compose commands in-process through the Docker API, instead of using a Docker Compose binary or
+     * container. Services are started in dependency order, with independent services started at the same time, and
+     * exposed service ports are published by the service containers themselves rather than through an ambassador
+     * container.
+     * <p>
+     * Only the commonly used parts of the compose file format are supported; takes precedence over
+     * {@link #withLocalCompose(boolean)}.
+     *
+     * @return this instance, for chaining
+     */
+    public SELF withNativeCompose(boolean nativeCompose) {
+        this.nativeCompose = nativeCompose;
+        return self();
+    }
+
+    /**
+     * Reach exposed services through the ports that their containers publish, instead of through an ambassador
+     * container. This avoids an extra proxy between tests and services, but the ports of exposed services must be
+     * published in the compose file (e.g. {@code ports: ["6379"]} for a random host port).
+     * <p>
+     * The ambassador container is not started in this mode. The native compose engine always uses direct ports, and
+     * publishes the ports of exposed services itself.
+     *
+     * @return this instance, for chaining
+     */
+    public SELF withDirectServicePorts(boolean directServicePorts) {
+        this.directServicePorts = directServicePorts;
+        return self();
+    }
+
     /**
      * Whether to pull images first.
      *
@@ -422,6 +507,17 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
         return self();
     }
 
+    /**
+     * Whether the wait strategies of a single service are waited for at the same time, rather than one after another
+     * in the order they were added. Different services are always waited for at the same time.
+     *
+     * @return this instance, for chaining
+     */
+    public SELF withParallelWaitStrategies(boolean parallelWaitStrategies) {
+        this.parallelWaitStrategies = parallelWaitStrategies;
+        return self();
+    }
+
     /**
      * Whether to tail child container logs.
      *
@@ -462,22 +558,6 @@ public class DockerComposeContainer<SELF extends DockerComposeContainer<SELF>> e
     }
 }
 
-interface DockerCompose {
-    String ENV_PROJECT_NAME = "COMPOSE_PROJECT_NAME";
-    String ENV_COMPOSE_FILE = "COMPOSE_FILE";
-
-    DockerCompose withCommand(String cmd);
-
-    DockerCompose withEnv(Map<String, String> env);
-
-    void invoke();
-
-    default void validateFileList(List<File> composeFiles) {
-        checkNotNull(composeFiles);
-        checkArgument(!composeFiles.isEmpty(), "No docker compose file have been provided");
-    }
-}
-
 /**
  * Use Docker Compose container.
  */
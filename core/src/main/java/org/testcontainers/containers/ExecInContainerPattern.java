@@ -4,6 +4,8 @@ import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.ExecCreateCmdResponse;
 import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.testcontainers.DockerClientFactory;
@@ -14,6 +16,10 @@ import org.testcontainers.utility.TestEnvironment;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Provides utility methods for executing commands in containers
@@ -50,6 +56,84 @@ public class ExecInContainerPattern {
      */
     public Container.ExecResult execInContainer(InspectContainerResponse containerInfo, Charset outputCharset, String... command)
         throws UnsupportedOperationException, IOException, InterruptedException {
+        final ToStringConsumer stdoutConsumer = new ToStringConsumer();
+        final ToStringConsumer stderrConsumer = new ToStringConsumer();
+
+        FrameConsumerResultCallback callback = new FrameConsumerResultCallback();
+        callback.addConsumer(OutputFrame.OutputType.STDOUT, stdoutConsumer);
+        callback.addConsumer(OutputFrame.OutputType.STDERR, stderrConsumer);
+
+        Integer exitCode = exec(containerInfo, callback, command);
+
+        final Container.ExecResult result = new Container.ExecResult(
+            exitCode,
+            stdoutConsumer.toString(outputCharset),
+            stderrConsumer.toString(outputCharset));
+
+        log.trace("{}: stdout: {}", containerInfo.getName(), result.getStdout());
+        log.trace("{}: stderr: {}", containerInfo.getName(), result.getStderr());
+        return result;
+    }
+
+    /**
+     * Run a command inside a running container, as though using "docker exec", sending its output to a consumer as it
+     * is produced rather than keeping it in memory.
+     * @param containerInfo the container info
+     * @param outputConsumer consumer for the stdout and stderr of the command, line by line
+     * @param command the parts of the command to run
+     * @return the exit code of the command
+     * @throws IOException if there's an issue communicating with Docker
+     * @throws InterruptedException if the thread waiting for the response is interrupted
+     * @throws UnsupportedOperationException if the docker daemon you're connecting to doesn't support "exec".
+     */
+    public Integer execInContainer(InspectContainerResponse containerInfo, Consumer<OutputFrame> outputConsumer, String... command)
+        throws UnsupportedOperationException, IOException, InterruptedException {
+        FrameConsumerResultCallback callback = new FrameConsumerResultCallback();
+        callback.addConsumer(OutputFrame.OutputType.STDOUT, outputConsumer);
+        callback.addConsumer(OutputFrame.OutputType.STDERR, outputConsumer);
+
+        return exec(containerInfo, callback, command);
+    }
+
+    /**
+     * Run several commands one after another inside a running container, in a single "docker exec" of /bin/sh, and
+     * interpreting the output as UTF8. The commands run with no stdin, and later commands still run if earlier ones
+     * fail.
+     * @param containerInfo the container info
+     * @param commands the commands to run, each given as its parts
+     * @return the result of each command, with its exit code
+     * @throws IOException if there's an issue communicating with Docker
+     * @throws InterruptedException if the thread waiting for the response is interrupted
+     * @throws UnsupportedOperationException if the docker daemon you're connecting to doesn't support "exec".
+     */
+    public List<Container.ExecResult> execInContainerBatch(InspectContainerResponse containerInfo, List<String[]> commands)
+        throws UnsupportedOperationException, IOException, InterruptedException {
+        if (commands.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ExecOutputCollector collector = new ExecOutputCollector();
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < commands.size(); i++) {
+            script.append(collector.scriptLine(i, commands.get(i)));
+        }
+
+        exec(containerInfo, collector, "/bin/sh", "-c", script.toString());
+
+        List<Container.ExecResult> results = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            results.add(collector.awaitResult(i));
+        }
+        return results;
+    }
+
+    /**
+     * Create and start an exec of the command, and wait for it to complete.
+     *
+     * @return the exit code of the command
+     */
+    private Integer exec(InspectContainerResponse containerInfo, ResultCallbackTemplate<?, Frame> callback, String... command)
+        throws InterruptedException {
         if (!TestEnvironment.dockerExecutionDriverSupportsExec()) {
             // at time of writing, this is the expected result in CircleCI.
             throw new UnsupportedOperationException(
@@ -66,30 +150,13 @@ public class ExecInContainerPattern {
 
         DockerClient dockerClient = DockerClientFactory.instance().client();
 
-        dockerClient
-            .execCreateCmd(containerId)
-            .withCmd(command);
-
         log.debug("{}: Running \"exec\" command: {}", containerName, String.join(" ", command));
         final ExecCreateCmdResponse execCreateCmdResponse = dockerClient.execCreateCmd(containerId)
             .withAttachStdout(true).withAttachStderr(true).withCmd(command).exec();
 
-        final ToStringConsumer stdoutConsumer = new ToStringConsumer();
-        final ToStringConsumer stderrConsumer = new ToStringConsumer();
-
-        FrameConsumerResultCallback callback = new FrameConsumerResultCallback();
-        callback.addConsumer(OutputFrame.OutputType.STDOUT, stdoutConsumer);
-        callback.addConsumer(OutputFrame.OutputType.STDERR, stderrConsumer);
-
         dockerClient.execStartCmd(execCreateCmdResponse.getId()).exec(callback).awaitCompletion();
 
-        final Container.ExecResult result = new Container.ExecResult(
-            stdoutConsumer.toString(outputCharset),
-            stderrConsumer.toString(outputCharset));
-
-        log.trace("{}: stdout: {}", containerName, result.getStdout());
-        log.trace("{}: stderr: {}", containerName, result.getStderr());
-        return result;
+        return dockerClient.inspectExecCmd(execCreateCmdResponse.getId()).exec().getExitCode();
     }
 
     private boolean isRunning(InspectContainerResponse containerInfo) {
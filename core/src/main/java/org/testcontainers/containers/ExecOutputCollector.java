@@ -0,0 +1,250 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs several commands in one shell, and separates their output again.
+ * <p>
+ * Each command is followed by a line with a marker, the index of the command and its exit code, on both stdout and
+ * stderr. The output of a command is everything written to the stream after the previous marker, up to its own.
+ * Markers are looked for in the raw output, so that output which isn't valid UTF8 doesn't get in the way, and only in
+ * output that has not been looked at before.
+ */
+class ExecOutputCollector extends ResultCallbackTemplate<ExecOutputCollector, Frame> {
+
+    private static final Pattern MARKER_ARGUMENTS = Pattern.compile(" (\\d+) (\\d+)");
+
+    private final String marker = "TESTCONTAINERS_EXEC_" + UUID.randomUUID().toString().replace("-", "");
+
+    private final byte[] markerBytes = marker.getBytes(StandardCharsets.US_ASCII);
+
+    private final StreamBuffer stdout = new StreamBuffer(OutputFrame.OutputType.STDOUT);
+
+    private final StreamBuffer stderr = new StreamBuffer(OutputFrame.OutputType.STDERR);
+
+    private Consumer<OutputFrame> outputConsumer;
+
+    private boolean completed = false;
+
+    /**
+     * @return shell script line that runs the command with no stdin, then writes the markers for it
+     */
+    String scriptLine(int index, String... command) {
+        String quotedCommand = Arrays.stream(command)
+            .map(argument -> "'" + argument.replace("'", "'\\''") + "'")
+            .collect(Collectors.joining(" "));
+        String printMarker = String.format("printf '%%s %%d %%d\\n' %s %d \"$tc_exit\"", marker, index);
+        return quotedCommand + " </dev/null; tc_exit=$?; " + printMarker + "; " + printMarker + " >&2\n";
+    }
+
+    /**
+     * Send output to a consumer as it is received, rather than keeping it for the result, until set to null again.
+     *
+     * @param outputConsumer the consumer, or null to keep the output
+     */
+    synchronized void setOutputConsumer(Consumer<OutputFrame> outputConsumer) {
+        this.outputConsumer = outputConsumer;
+    }
+
+    /**
+     * @return whether the output has ended, e.g. because the shell has exited
+     */
+    synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public synchronized void onNext(Frame frame) {
+        if (frame == null || frame.getPayload() == null) {
+            return;
+        }
+        switch (frame.getStreamType()) {
+            case STDOUT:
+            case RAW:
+                stdout.append(frame.getPayload());
+                break;
+            case STDERR:
+                stderr.append(frame.getPayload());
+                break;
+            default:
+                return;
+        }
+        notifyAll();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (this) {
+            completed = true;
+            notifyAll();
+        }
+        super.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            completed = true;
+            notifyAll();
+        }
+        super.onComplete();
+    }
+
+    /**
+     * Wait until both markers of the command with the given index have been received, and take its output.
+     *
+     * @return the output and exit code of the command, with empty output if it was sent to a consumer
+     * @throws IllegalStateException if the output ended before the markers
+     */
+    synchronized Container.ExecResult awaitResult(int index) throws InterruptedException {
+        while (!stdout.results.containsKey(index) || !stderr.results.containsKey(index)) {
+            if (completed) {
+                throw new IllegalStateException("Shell ended before command " + index + " completed");
+            }
+            wait();
+        }
+
+        CommandOutput stdoutResult = stdout.results.remove(index);
+        CommandOutput stderrResult = stderr.results.remove(index);
+        return new Container.ExecResult(
+            stdoutResult.exitCode,
+            new String(stdoutResult.output, StandardCharsets.UTF_8),
+            new String(stderrResult.output, StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * The output of one stream that has not been taken by a marker yet.
+     */
+    private final class StreamBuffer {
+
+        private final OutputFrame.OutputType outputType;
+
+        private final Map<Integer, CommandOutput> results = new HashMap<>();
+
+        private byte[] bytes = new byte[1024];
+
+        private int length = 0;
+
+        /**
+         * No marker starts before this offset
+         */
+        private int scanned = 0;
+
+        private StreamBuffer(OutputFrame.OutputType outputType) {
+            this.outputType = outputType;
+        }
+
+        private void append(byte[] payload) {
+            if (length + payload.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + payload.length));
+            }
+            System.arraycopy(payload, 0, bytes, length, payload.length);
+            length += payload.length;
+
+            while (true) {
+                int start = indexOfMarker(scanned);
+                if (start < 0) {
+                    // The end may still be the beginning of a marker
+                    scanned = Math.max(scanned, length - markerBytes.length + 1);
+                    forward(scanned);
+                    return;
+                }
+
+                int lineEnd = indexOf((byte) '\n', start + markerBytes.length);
+                if (lineEnd < 0) {
+                    scanned = start;
+                    forward(start);
+                    return;
+                }
+
+                int argumentsStart = start + markerBytes.length;
+                String arguments = new String(bytes, argumentsStart, lineEnd - argumentsStart, StandardCharsets.US_ASCII);
+                Matcher matcher = MARKER_ARGUMENTS.matcher(arguments);
+                if (!matcher.matches()) {
+                    // Not written by us
+                    scanned = start + 1;
+                    continue;
+                }
+
+                byte[] output = take(start);
+                take(lineEnd + 1 - start);
+                if (outputConsumer != null) {
+                    send(output);
+                    output = new byte[0];
+                }
+                results.put(Integer.parseInt(matcher.group(1)), new CommandOutput(output, Integer.parseInt(matcher.group(2))));
+            }
+        }
+
+        /**
+         * Send the output before the offset to the consumer, if there is one.
+         */
+        private void forward(int end) {
+            if (outputConsumer != null && end > 0) {
+                send(take(end));
+            }
+        }
+
+        private void send(byte[] output) {
+            if (output.length > 0) {
+                outputConsumer.accept(new OutputFrame(outputType, output));
+            }
+        }
+
+        /**
+         * Remove the output before the offset from the buffer.
+         */
+        private byte[] take(int end) {
+            byte[] taken = Arrays.copyOf(bytes, end);
+            System.arraycopy(bytes, end, bytes, 0, length - end);
+            length -= end;
+            scanned = Math.max(0, scanned - end);
+            return taken;
+        }
+
+        private int indexOfMarker(int from) {
+            for (int i = from; i <= length - markerBytes.length; i++) {
+                int j = 0;
+                while (j < markerBytes.length && bytes[i + j] == markerBytes[j]) {
+                    j++;
+                }
+                if (j == markerBytes.length) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int indexOf(byte value, int from) {
+            for (int i = from; i < length; i++) {
+                if (bytes[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class CommandOutput {
+        private final byte[] output;
+        private final int exitCode;
+
+        private CommandOutput(byte[] output, int exitCode) {
+            this.output = output;
+            this.exitCode = exitCode;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.ExecCreateCmdResponse;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * A long-lived shell (/bin/sh) in a running container, which runs commands sent to it over its stdin. Running a
+ * command in a session avoids creating and starting a new "docker exec" for it, which makes it much cheaper to run
+ * many small commands.
+ * <p>
+ * Commands run one after another, with no stdin, and their output is interpreted as UTF8. Changes to the shell, such
+ * as the working directory, are kept between commands. Once the shell has ended, e.g. because a command ran
+ * <code>exit</code> or the container was restarted, the session can't be used any more (see {@link #isEnded()}).
+ */
+@Slf4j
+public class ExecSession implements AutoCloseable {
+
+    private final String containerName;
+
+    private final ExecOutputCollector collector = new ExecOutputCollector();
+
+    private final OutputStream stdin;
+
+    private int nextIndex = 0;
+
+    private boolean closed = false;
+
+    /**
+     * Start a shell in a running container.
+     *
+     * @param containerInfo the container info
+     * @return the session
+     * @throws IOException if there's an issue communicating with Docker
+     * @throws IllegalStateException if the container is not running
+     */
+    public static ExecSession open(InspectContainerResponse containerInfo) throws IOException {
+        if (containerInfo == null || !Boolean.TRUE.equals(containerInfo.getState().getRunning())) {
+            throw new IllegalStateException("An exec session can only be opened while the Container is running");
+        }
+        return new ExecSession(containerInfo);
+    }
+
+    private ExecSession(InspectContainerResponse containerInfo) throws IOException {
+        this.containerName = containerInfo.getName();
+
+        DockerClient dockerClient = DockerClientFactory.instance().client();
+        ExecCreateCmdResponse execCreateCmdResponse = dockerClient.execCreateCmd(containerInfo.getId())
+            .withAttachStdin(true).withAttachStdout(true).withAttachStderr(true)
+            .withCmd("/bin/sh")
+            .exec();
+
+        // Unlike piped streams, a pipe doesn't care which threads read and write it
+        Pipe pipe = Pipe.open();
+        this.stdin = Channels.newOutputStream(pipe.sink());
+
+        log.debug("{}: Opening exec session", containerName);
+        dockerClient.execStartCmd(execCreateCmdResponse.getId())
+            .withStdIn(Channels.newInputStream(pipe.source()))
+            .exec(collector);
+    }
+
+    /**
+     * Run a command in the shell, and wait for it to complete.
+     *
+     * @param command the parts of the command to run
+     * @return the result of the command, with its exit code
+     * @throws IOException if the command can't be sent to the shell
+     * @throws InterruptedException if the thread waiting for the result is interrupted
+     * @throws IllegalStateException if the session is closed or the shell has ended
+     */
+    public synchronized Container.ExecResult exec(String... command) throws IOException, InterruptedException {
+        Container.ExecResult result = run(command);
+        log.trace("{}: stdout: {}", containerName, result.getStdout());
+        log.trace("{}: stderr: {}", containerName, result.getStderr());
+        return result;
+    }
+
+    /**
+     * Run a command in the shell, sending its output to a consumer as it is produced, and wait for it to complete.
+     *
+     * @param outputConsumer consumer for the stdout and stderr of the command
+     * @param command the parts of the command to run
+     * @return the exit code of the command
+     * @throws IOException if the command can't be sent to the shell
+     * @throws InterruptedException if the thread waiting for the result is interrupted
+     * @throws IllegalStateException if the session is closed or the shell has ended
+     */
+    public synchronized Integer exec(Consumer<OutputFrame> outputConsumer, String... command) throws IOException, InterruptedException {
+        collector.setOutputConsumer(outputConsumer);
+        try {
+            return run(command).getExitCode();
+        } finally {
+            collector.setOutputConsumer(null);
+        }
+    }
+
+    /**
+     * @return whether the session has been closed, or the shell has ended
+     */
+    public synchronized boolean isEnded() {
+        return closed || collector.isCompleted();
+    }
+
+    private Container.ExecResult run(String... command) throws IOException, InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Exec session is closed");
+        }
+
+        int index = nextIndex++;
+        log.debug("{}: Running command in exec session: {}", containerName, String.join(" ", command));
+        stdin.write(collector.scriptLine(index, command).getBytes(StandardCharsets.UTF_8));
+        stdin.flush();
+
+        return collector.awaitResult(index);
+    }
+
+    /**
+     * End the shell, by closing its stdin.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            stdin.close();
+        } catch (IOException e) {
+            log.debug("{}: Failed to close exec session stdin", containerName, e);
+        }
+        try {
+            collector.close();
+        } catch (IOException e) {
+            log.debug("{}: Failed to close exec session", containerName, e);
+        }
+    }
+}
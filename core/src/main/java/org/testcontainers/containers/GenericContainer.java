@@ -15,6 +15,7 @@ import com.google.common.base.Strings;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.SneakyThrows;
@@ -26,14 +27,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.runner.Description;
 import org.junit.runners.model.Statement;
-import org.rnorth.ducttape.ratelimits.RateLimiter;
-import org.rnorth.ducttape.ratelimits.RateLimiterBuilder;
 import org.rnorth.ducttape.unreliables.Unreliables;
 import org.rnorth.visibleassertions.VisibleAssertions;
 import org.slf4j.Logger;
 import org.slf4j.profiler.Profiler;
 import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.output.FrameConsumerResultCallback;
+import org.testcontainers.containers.output.LogBuffer;
 import org.testcontainers.containers.output.OutputFrame;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.containers.startupcheck.IsRunningStartupCheckStrategy;
@@ -46,16 +46,18 @@ import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
 import org.testcontainers.images.RemoteDockerImage;
 import org.testcontainers.images.builder.Transferable;
 import org.testcontainers.lifecycle.Startable;
+import org.testcontainers.lifecycle.Startables;
 import org.testcontainers.lifecycle.TestDescription;
 import org.testcontainers.lifecycle.TestLifecycleAware;
 import org.testcontainers.utility.*;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.time.Duration;
@@ -64,14 +66,21 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -139,6 +148,13 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
     @NonNull
     private List<VolumesFrom> volumesFroms = new ArrayList<>();
 
+    /*
+     * Containers to take volumes from which were not started when they were added; resolved on container creation
+     */
+    @NonNull
+    @EqualsAndHashCode.Exclude
+    private Map<Container<?>, BindMode> pendingVolumesFroms = new IdentityHashMap<>();
+
     /**
      * @deprecated Links are deprecated (see <a href="https://github.com/testcontainers/testcontainers-java/issues/465">#465</a>). Please use {@link Network} features instead.
      */
@@ -155,6 +171,12 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
 
     private Map<MountableFile, String> copyToFileContainerPathMap = new HashMap<>();
 
+    private boolean pipelinedStartup = false;
+
+    @NonNull
+    @EqualsAndHashCode.Exclude
+    private Set<Startable> dependencies = Collections.newSetFromMap(new IdentityHashMap<>());
+
     /*
      * Unique instance of DockerClient for use by this container object.
      */
@@ -187,15 +209,37 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
 
     private List<Consumer<OutputFrame>> logConsumers = new ArrayList<>();
 
+    /*
+     * Most recent output of the container, replayed if startup fails; only set while the container is starting
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private LogBuffer startupLogBuffer;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private FrameConsumerResultCallback startupLogCallback;
+
+    /*
+     * Shell used by execInSession; started on first use
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ExecSession execSession;
+
     private final Set<Consumer<CreateContainerCmd>> createContainerCmdModifiers = new LinkedHashSet<>();
 
     private static final Set<String> AVAILABLE_IMAGE_NAME_CACHE = new HashSet<>();
-    private static final RateLimiter DOCKER_CLIENT_RATE_LIMITER = RateLimiterBuilder
-            .newBuilder()
-            .withRate(1, TimeUnit.SECONDS)
-            .withConstantThroughput()
-            .build();
 
+    /*
+     * Size of the pipe that TAR archives are streamed to Docker through, when copying files to the container
+     */
+    private static final int COPY_PIPE_BUFFER_SIZE = 64 * 1024;
+
+    private static final ExecutorService STARTUP_EXECUTOR = Executors.newCachedThreadPool(
+            DockerClientFactory.daemonThreadFactory("testcontainers-startup-%d")
+    );
 
     public GenericContainer() {
         this(TestcontainersConfiguration.getInstance().getTinyImage());
@@ -220,11 +264,22 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
         doStart();
     }
 
+    @Override
+    public boolean isStarted() {
+        return containerId != null;
+    }
+
     protected void doStart() {
         Profiler profiler = new Profiler("Container startup");
         profiler.setLogger(logger());
 
         try {
+            Set<Startable> dependencies = getDependencies();
+            if (!dependencies.isEmpty()) {
+                profiler.start("Start dependencies");
+                Startables.deepStart(dependencies).get();
+            }
+
             profiler.start("Prepare container configuration and host configuration");
             configure();
 
@@ -257,9 +312,20 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
 
             containerId = createCommand.exec().getId();
 
-            connectToPortForwardingNetwork(createCommand.getNetworkMode());
-
-            copyToFileContainerPathMap.forEach(this::copyFileToContainer);
+            if (pipelinedStartup) {
+                profiler.start("Connect to networks and copy files (pipelined)");
+                Map<String, Runnable> createdTasks = new LinkedHashMap<>();
+                String networkMode = createCommand.getNetworkMode();
+                createdTasks.put("connect to port forwarding network", () -> connectToPortForwardingNetwork(networkMode));
+                copyToFileContainerPathMap.forEach((mountableFile, containerPath) -> {
+                    createdTasks.put("copy file to " + containerPath, () -> copyFileToContainer(mountableFile, containerPath));
+                });
+                runConcurrently(createdTasks);
+            } else {
+                connectToPortForwardingNetwork(createCommand.getNetworkMode());
+
+                copyToFileContainerPathMap.forEach(this::copyFileToContainer);
+            }
 
             containerIsCreated(containerId);
 
@@ -267,14 +333,30 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
             profiler.start("Start container");
             dockerClient.startContainerCmd(containerId).exec();
 
-            // For all registered output consumers, start following as close to container startup as possible
-            this.logConsumers.forEach(this::followOutput);
+            followOutputIntoStartupLogBuffer();
+
+            if (pipelinedStartup) {
+                // Follow output while the container is being inspected, rather than one after another
+                profiler.start("Inspecting container and following output (pipelined)");
+                Map<String, Runnable> startedTasks = new LinkedHashMap<>();
+                startedTasks.put("inspect container", () -> containerInfo = dockerClient.inspectContainerCmd(containerId).exec());
+                for (int i = 0; i < logConsumers.size(); i++) {
+                    Consumer<OutputFrame> consumer = logConsumers.get(i);
+                    startedTasks.put("follow output for log consumer #" + i, () -> followOutput(consumer));
+                }
+                runConcurrently(startedTasks);
+
+                logger().info("Container {} is starting: {}", dockerImageName, containerId);
+            } else {
+                // For all registered output consumers, start following as close to container startup as possible
+                this.logConsumers.forEach(this::followOutput);
 
-            logger().info("Container {} is starting: {}", dockerImageName, containerId);
+                logger().info("Container {} is starting: {}", dockerImageName, containerId);
 
-            // Tell subclasses that we're starting
-            profiler.start("Inspecting container");
-            containerInfo = dockerClient.inspectContainerCmd(containerId).exec();
+                // Tell subclasses that we're starting
+                profiler.start("Inspecting container");
+                containerInfo = dockerClient.inspectContainerCmd(containerId).exec();
+            }
             containerName = containerInfo.getName();
             profiler.start("Call containerIsStarting on subclasses");
             containerIsStarting(containerInfo);
@@ -293,22 +375,29 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
 
             logger().info("Container {} started", dockerImageName);
             containerIsStarted(containerInfo);
+
+            // The output is only needed if startup fails
+            closeStartupLogBuffer();
         } catch (Exception e) {
             logger().error("Could not start container", e);
 
             if (containerId != null) {
                 // Log output if startup failed, either due to a container failure or exception (including timeout)
                 logger().error("Container log output (if any) will follow:");
-                FrameConsumerResultCallback resultCallback = new FrameConsumerResultCallback();
-                resultCallback.addConsumer(STDOUT, new Slf4jLogConsumer(logger()));
-                resultCallback.addConsumer(STDERR, new Slf4jLogConsumer(logger()));
-                dockerClient.logContainerCmd(containerId).withStdOut(true).withStdErr(true).exec(resultCallback);
-
-                // Try to ensure that container log output is shown before proceeding
-                try {
-                    resultCallback.getCompletionLatch().await(1, TimeUnit.MINUTES);
-                } catch (InterruptedException ignored) {
-                    // Cannot do anything at this point
+                if (startupLogBuffer != null) {
+                    replayStartupLogBuffer();
+                } else {
+                    FrameConsumerResultCallback resultCallback = new FrameConsumerResultCallback();
+                    resultCallback.addConsumer(STDOUT, new Slf4jLogConsumer(logger()));
+                    resultCallback.addConsumer(STDERR, new Slf4jLogConsumer(logger()));
+                    dockerClient.logContainerCmd(containerId).withStdOut(true).withStdErr(true).exec(resultCallback);
+
+                    // Try to ensure that container log output is shown before proceeding
+                    try {
+                        resultCallback.getCompletionLatch().await(1, TimeUnit.MINUTES);
+                    } catch (InterruptedException ignored) {
+                        // Cannot do anything at this point
+                    }
                 }
             }
 
@@ -318,6 +407,103 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
         }
     }
 
+    private void followOutputIntoStartupLogBuffer() {
+        closeStartupLogBuffer();
+
+        long maxBytes = TestcontainersConfiguration.getInstance().getContainerLogBufferBytes();
+        if (maxBytes > 0) {
+            startupLogBuffer = new LogBuffer(maxBytes, TestcontainersConfiguration.getInstance().getContainerLogBufferPolicy());
+            startupLogCallback = new FrameConsumerResultCallback();
+            startupLogCallback.addConsumer(STDOUT, startupLogBuffer);
+            startupLogCallback.addConsumer(STDERR, startupLogBuffer);
+            dockerClient.logContainerCmd(containerId)
+                .withFollowStream(true)
+                .withSince(0)
+                .withStdOut(true)
+                .withStdErr(true)
+                .exec(startupLogCallback);
+        }
+    }
+
+    private void replayStartupLogBuffer() {
+        // Output is delivered asynchronously; give it a moment to catch up with a container that just exited. A container
+        // that is still running has no end of output to wait for.
+        if (!isRunning()) {
+            try {
+                startupLogBuffer.waitUntilEnd(1, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                // Cannot do anything at this point
+            }
+        }
+
+        long droppedFrames = startupLogBuffer.getDroppedFrames();
+        if (droppedFrames > 0) {
+            logger().error("({} earlier lines of output were dropped to stay within container.log.buffer.bytes)", droppedFrames);
+        }
+        startupLogBuffer.replay(new Slf4jLogConsumer(logger()));
+    }
+
+    private void closeStartupLogBuffer() {
+        if (startupLogCallback != null) {
+            try {
+                startupLogCallback.close();
+            } catch (IOException e) {
+                logger().debug("Failed to stop following output into the startup log buffer", e);
+            }
+            startupLogCallback = null;
+        }
+        if (startupLogBuffer != null) {
+            startupLogBuffer.close();
+            startupLogBuffer = null;
+        }
+    }
+
+    private synchronized void closeExecSession() {
+        if (execSession != null) {
+            execSession.close();
+            execSession = null;
+        }
+    }
+
+    /**
+     * Run independent startup steps concurrently and wait for all of them to finish.
+     * The duration of every step is logged, so that it can be compared with the wall-clock time of the profiler phase.
+     *
+     * @param tasks startup steps, keyed by a description used for logging
+     */
+    private void runConcurrently(Map<String, Runnable> tasks) {
+        if (tasks.size() < 2) {
+            tasks.values().forEach(Runnable::run);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        AtomicLong sequentialNanos = new AtomicLong();
+        CompletableFuture<?>[] futures = tasks.entrySet().stream()
+                .map(task -> CompletableFuture.runAsync(() -> {
+                    long taskStartNanos = System.nanoTime();
+                    task.getValue().run();
+                    long taskNanos = System.nanoTime() - taskStartNanos;
+                    sequentialNanos.addAndGet(taskNanos);
+                    logger().debug("Startup step '{}' took {} ms", task.getKey(), TimeUnit.NANOSECONDS.toMillis(taskNanos));
+                }, STARTUP_EXECUTOR))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        logger().debug("Ran {} startup steps in {} ms (would have taken {} ms one after another)",
+                tasks.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                TimeUnit.NANOSECONDS.toMillis(sequentialNanos.get()));
+    }
+
     private void connectToPortForwardingNetwork(String networkMode) {
         PortForwardingContainer.INSTANCE.getNetwork().map(ContainerNetwork::getNetworkID).ifPresent(networkId -> {
             if (!Arrays.asList(networkId, "none", "host").contains(networkMode)) {
@@ -349,6 +535,8 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
         } finally {
             containerId = null;
             containerInfo = null;
+            closeStartupLogBuffer();
+            closeExecSession();
         }
     }
 
@@ -473,8 +661,11 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
                 .toArray(Bind[]::new);
         createCommand.withBinds(bindsArray);
 
-        VolumesFrom[] volumesFromsArray = volumesFroms.stream()
-                .toArray(VolumesFrom[]::new);
+        VolumesFrom[] volumesFromsArray = Stream.concat(
+                volumesFroms.stream(),
+                pendingVolumesFroms.entrySet().stream()
+                        .map(it -> new VolumesFrom(it.getKey().getContainerName(), it.getValue().accessMode))
+        ).toArray(VolumesFrom[]::new);
         createCommand.withVolumesFrom(volumesFromsArray);
 
         Set<Link> allLinks = new HashSet<>();
@@ -684,8 +875,40 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
         return self();
     }
 
-    private void addVolumesFrom(Container container, BindMode mode) {
-        volumesFroms.add(new VolumesFrom(container.getContainerName(), mode.accessMode));
+    private void addVolumesFrom(Container<?> container, BindMode mode) {
+        if (container.getContainerName() == null && container instanceof Startable) {
+            // The other container has not been started yet: start it first, and resolve its name later
+            dependencies.add((Startable) container);
+            pendingVolumesFroms.put(container, mode);
+        } else {
+            volumesFroms.add(new VolumesFrom(container.getContainerName(), mode.accessMode));
+        }
+    }
+
+    /**
+     * Delays this container's creation and start until all provided {@link Startable}s are ready.
+     * Dependencies are started concurrently where possible, see {@link Startables#deepStart(java.util.Collection)}.
+     *
+     * @param startables other startables that this container depends on
+     * @return this
+     */
+    public SELF dependsOn(Startable... startables) {
+        Collections.addAll(dependencies, startables);
+        return self();
+    }
+
+    /**
+     * @return the explicitly declared dependencies, together with linked containers and containers whose volumes are used
+     */
+    @Override
+    public Set<Startable> getDependencies() {
+        Set<Startable> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.addAll(dependencies);
+        linkedContainers.values().stream()
+                .filter(Startable.class::isInstance)
+                .map(Startable.class::cast)
+                .forEach(result::add);
+        return result;
     }
 
     /**
@@ -1075,23 +1298,53 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
             throw new IllegalStateException("copyFileToContainer can only be used with created / running container");
         }
 
-        try (
-            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-            TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(byteArrayOutputStream)
-        ) {
-            tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-
-            int lastSlashIndex = StringUtils.removeEnd(containerPath, "/").lastIndexOf("/");
-            String extractArchiveTo = containerPath.substring(0, lastSlashIndex + 1);
-            String pathInArchive = containerPath.substring(lastSlashIndex + 1);
-            transferable.transferTo(tarArchive, pathInArchive);
-            tarArchive.finish();
-
-            dockerClient
-                .copyArchiveToContainerCmd(containerId)
-                .withTarInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))
-                .withRemotePath(extractArchiveTo)
-                .exec();
+        int lastSlashIndex = StringUtils.removeEnd(containerPath, "/").lastIndexOf("/");
+        String extractArchiveTo = containerPath.substring(0, lastSlashIndex + 1);
+        String pathInArchive = containerPath.substring(lastSlashIndex + 1);
+
+        // Stream the TAR archive to Docker through a pipe, so that memory use does not depend on the size of the file
+        PipedInputStream in = new PipedInputStream(COPY_PIPE_BUFFER_SIZE);
+        PipedOutputStream out = new PipedOutputStream(in);
+        try {
+            CompletableFuture<Void> archiveWriter = CompletableFuture.runAsync(() -> {
+                try {
+                    TarArchiveOutputStream tarArchive = new TarArchiveOutputStream(out);
+                    tarArchive.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+                    transferable.transferTo(tarArchive, pathInArchive);
+                    tarArchive.finish();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    // Signal the end of the archive to Docker, even if it could not be written completely
+                    IOUtils.closeQuietly(out);
+                }
+            }, STARTUP_EXECUTOR);
+
+            try {
+                dockerClient
+                    .copyArchiveToContainerCmd(containerId)
+                    .withTarInputStream(in)
+                    .withRemotePath(extractArchiveTo)
+                    .exec();
+            } catch (RuntimeException e) {
+                // Unblock the writer, as Docker stopped reading the archive
+                IOUtils.closeQuietly(in);
+                try {
+                    archiveWriter.join();
+                } catch (CompletionException archiveFailure) {
+                    e.addSuppressed(archiveFailure.getCause());
+                }
+                throw e;
+            }
+
+            try {
+                archiveWriter.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        } finally {
+            IOUtils.closeQuietly(out);
+            IOUtils.closeQuietly(in);
         }
     }
 
@@ -1133,6 +1386,68 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
         return ExecInContainerPattern.execInContainer(getContainerInfo(), outputCharset, command);
     }
 
+    /**
+     * Run a command inside the running container, sending its output to a consumer as it is produced.
+     *
+     * @param outputConsumer consumer for the stdout and stderr of the command, line by line
+     * @param command the parts of the command to run
+     * @return the exit code of the command
+     * @see ExecInContainerPattern#execInContainer(InspectContainerResponse, Consumer, String...)
+     */
+    public Integer execInContainer(Consumer<OutputFrame> outputConsumer, String... command)
+            throws UnsupportedOperationException, IOException, InterruptedException {
+        return ExecInContainerPattern.execInContainer(getContainerInfo(), outputConsumer, command);
+    }
+
+    /**
+     * Run several commands one after another inside the running container, in a single "docker exec".
+     *
+     * @param commands the commands to run, each given as its parts
+     * @return the result of each command, with its exit code
+     * @see ExecInContainerPattern#execInContainerBatch(InspectContainerResponse, List)
+     */
+    public List<ExecResult> execInContainerBatch(List<String[]> commands)
+            throws UnsupportedOperationException, IOException, InterruptedException {
+        return ExecInContainerPattern.execInContainerBatch(getContainerInfo(), commands);
+    }
+
+    /**
+     * Run a command in a shell that is kept running in the container, which is much cheaper than a new "docker exec"
+     * for every command. The shell is started by the first call, started again if it has ended (e.g. because a command
+     * ran <code>exit</code>), and ended when the container is stopped.
+     *
+     * @param command the parts of the command to run
+     * @return the result of the command, with its exit code
+     * @see ExecSession
+     */
+    public ExecResult execInSession(String... command) throws IOException, InterruptedException {
+        return execSession().exec(command);
+    }
+
+    /**
+     * Run a command in a shell that is kept running in the container, sending its output to a consumer as it is
+     * produced.
+     *
+     * @param outputConsumer consumer for the stdout and stderr of the command
+     * @param command the parts of the command to run
+     * @return the exit code of the command
+     * @see #execInSession(String...)
+     */
+    public Integer execInSession(Consumer<OutputFrame> outputConsumer, String... command) throws IOException, InterruptedException {
+        return execSession().exec(outputConsumer, command);
+    }
+
+    private synchronized ExecSession execSession() throws IOException {
+        if (execSession != null && execSession.isEnded()) {
+            execSession.close();
+            execSession = null;
+        }
+        if (execSession == null) {
+            execSession = ExecSession.open(getContainerInfo());
+        }
+        return execSession;
+    }
+
     /**
      * Allow container startup to be attempted more than once if an error occurs. To be if containers are
      * 'flaky' but this flakiness is not something that should affect test outcomes.
@@ -1144,6 +1459,19 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
         return self();
     }
 
+    /**
+     * Overlap independent steps of container startup: files are copied to the container concurrently (and at the same
+     * time as connecting to networks), and log consumers start following output while the container is being inspected.
+     * Durations of the overlapped steps are logged at debug level, next to the regular startup profiler output.
+     *
+     * @param pipelinedStartup whether to overlap independent startup steps
+     * @return this
+     */
+    public SELF withPipelinedStartup(boolean pipelinedStartup) {
+        this.pipelinedStartup = pipelinedStartup;
+        return self();
+    }
+
     /**
      * Allow low level modifications of {@link CreateContainerCmd} after it was pre-configured in {@link #tryStart(Profiler)}.
      * Invocation happens eagerly on a moment when container is created.
@@ -1219,12 +1547,5 @@ public class GenericContainer<SELF extends GenericContainer<SELF>>
         protected Set<Integer> getLivenessCheckPorts() {
             return container.getLivenessCheckPorts();
         }
-
-        /**
-         * @return the rate limiter to use
-         */
-        protected RateLimiter getRateLimiter() {
-            return DOCKER_CLIENT_RATE_LIMITER;
-        }
     }
 }
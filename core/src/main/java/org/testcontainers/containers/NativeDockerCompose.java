@@ -0,0 +1,616 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.BuildImageCmd;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Bind;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.ContainerNetwork;
+import com.github.dockerjava.api.model.ExposedPort;
+import com.github.dockerjava.api.model.Link;
+import com.github.dockerjava.api.model.Network;
+import com.github.dockerjava.api.model.PortBinding;
+import com.github.dockerjava.api.model.Ports;
+import com.github.dockerjava.api.model.Volume;
+import com.google.common.base.Splitter;
+import org.slf4j.Logger;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.utility.AuditLogger;
+import org.testcontainers.utility.ContainerEventMonitor;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.DockerLoggerFactory;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Runs Docker Compose commands in-process, by creating the networks, volumes and containers of the compose files
+ * through the Docker API, instead of running a Docker Compose binary or container.
+ * <p>
+ * Services are started as soon as the services they depend on are started (or healthy, or completed, depending on
+ * the {@code depends_on} condition), so independent services start at the same time. Resources are labelled like
+ * Docker Compose labels them, so that they can be found and cleaned up the same way.
+ * <p>
+ * Supports the {@code pull}, {@code up -d}, {@code scale} and {@code down [-v]} commands, and the commonly used parts of
+ * the compose file format; other service options are ignored with a warning.
+ */
+class NativeDockerCompose implements DockerCompose {
+
+    static final String PROJECT_LABEL = "com.docker.compose.project";
+    static final String SERVICE_LABEL = "com.docker.compose.service";
+    static final String CONTAINER_NUMBER_LABEL = "com.docker.compose.container-number";
+    static final String NETWORK_LABEL = "com.docker.compose.network";
+
+    private static final Set<String> SUPPORTED_SERVICE_KEYS = new HashSet<>(Arrays.asList(
+        "image", "build", "command", "entrypoint", "environment", "env_file", "labels", "ports", "expose",
+        "depends_on", "links", "networks", "network_mode", "volumes", "extra_hosts", "hostname", "working_dir",
+        "user", "privileged", "container_name"
+    ));
+
+    private static final Duration DEPENDENCY_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+        DockerClientFactory.daemonThreadFactory("testcontainers-compose-%d")
+    );
+
+    private final List<File> composeFiles;
+    private final String project;
+    private final DockerClient dockerClient;
+    private final Map<String, Set<Integer>> exposedPorts;
+    private String cmd = "";
+    private Map<String, String> env = new HashMap<>();
+
+    /**
+     * Image of each service, once it is pulled or built
+     */
+    private final Map<String, CompletableFuture<String>> images = new HashMap<>();
+
+    /**
+     * @param exposedPorts ports to publish on a random host port, for each service instance (e.g. {@code redis_1})
+     */
+    NativeDockerCompose(List<File> composeFiles, String project, DockerClient dockerClient,
+                        Map<String, Set<Integer>> exposedPorts) {
+        validateFileList(composeFiles);
+
+        this.composeFiles = composeFiles;
+        this.project = project;
+        this.dockerClient = dockerClient;
+        this.exposedPorts = exposedPorts;
+    }
+
+    @Override
+    public DockerCompose withCommand(String cmd) {
+        this.cmd = cmd;
+        return this;
+    }
+
+    @Override
+    public DockerCompose withEnv(Map<String, String> env) {
+        this.env = env;
+        return this;
+    }
+
+    @Override
+    public void invoke() {
+        logger().info("Native Docker Compose is running command: {}", cmd);
+        AuditLogger.doComposeLog(new String[]{cmd}, env.entrySet().stream()
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.toList()));
+
+        List<String> arguments = Splitter.on(' ').omitEmptyStrings().splitToList(cmd);
+        if (arguments.isEmpty()) {
+            throw new ContainerLaunchException("No Docker Compose command given");
+        }
+
+        try {
+            switch (arguments.get(0)) {
+                case "pull":
+                    pull(model());
+                    break;
+                case "up":
+                    up(model(), Collections.emptyMap());
+                    break;
+                case "scale":
+                    Map<String, Integer> scale = new HashMap<>();
+                    for (String argument : arguments.subList(1, arguments.size())) {
+                        List<String> parts = Splitter.on('=').splitToList(argument);
+                        scale.put(parts.get(0), Integer.parseInt(parts.get(1)));
+                    }
+                    up(model(), scale);
+                    break;
+                case "down":
+                    down(model(), arguments.contains("-v"));
+                    break;
+                default:
+                    throw new ContainerLaunchException("Native Docker Compose does not support command: " + cmd);
+            }
+            logger().info("Docker Compose has finished running");
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw new ContainerLaunchException("Error running native Docker Compose command: " + cmd, (Exception) e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    private ComposeFileModel model() {
+        Map<String, String> environment = new HashMap<>(System.getenv());
+        environment.putAll(env);
+        environment.put(ENV_PROJECT_NAME, project);
+        ComposeFileModel model = new ComposeFileModel(composeFiles, environment);
+
+        model.getServices().values().forEach(service -> service.getKeys().stream()
+            .filter(key -> !SUPPORTED_SERVICE_KEYS.contains(key))
+            .forEach(key -> logger().warn("Ignoring unsupported option '{}' of service {}", key, service.getName())));
+        return model;
+    }
+
+    private void pull(ComposeFileModel model) {
+        RemoteDockerImage.prefetch(model.getServices().values().stream()
+            .filter(service -> !service.hasBuild() && service.getImage() != null)
+            .map(service -> new DockerImageName(service.getImage()))
+            .collect(Collectors.toList())
+        ).join();
+    }
+
+    /**
+     * Create and start the containers of all services which are not running yet.
+     *
+     * @param scale number of containers for some services; other services keep the containers they have, or get one
+     */
+    private void up(ComposeFileModel model, Map<String, Integer> scale) {
+        Map<String, ComposeFileModel.Service> services = model.getServices();
+        checkDependencies(services);
+
+        Map<String, String> networkNames = createNetworks(model);
+        Map<String, String> volumeNames = createVolumes(model);
+
+        Map<String, List<Container>> existing = listContainers().stream()
+            .collect(Collectors.groupingBy(container -> container.getLabels().get(SERVICE_LABEL)));
+
+        // Start every service once its image is available and its dependencies are ready
+        Map<String, CompletableFuture<List<String>>> started = new LinkedHashMap<>();
+        for (String serviceName : services.keySet()) {
+            startService(serviceName, model, scale, existing, networkNames, volumeNames, started);
+        }
+        CompletableFuture.allOf(started.values().toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private CompletableFuture<List<String>> startService(String serviceName,
+                                                         ComposeFileModel model,
+                                                         Map<String, Integer> scale,
+                                                         Map<String, List<Container>> existing,
+                                                         Map<String, String> networkNames,
+                                                         Map<String, String> volumeNames,
+                                                         Map<String, CompletableFuture<List<String>>> started) {
+        CompletableFuture<List<String>> future = started.get(serviceName);
+        if (future != null) {
+            return future;
+        }
+
+        ComposeFileModel.Service service = model.getServices().get(serviceName);
+        List<CompletableFuture<?>> prerequisites = new ArrayList<>();
+        prerequisites.add(resolveImage(service));
+        service.getDependsOn().forEach((dependency, condition) -> prerequisites.add(
+            startService(dependency, model, scale, existing, networkNames, volumeNames, started)
+                .thenAcceptAsync(containerIds -> awaitCondition(dependency, condition, containerIds), EXECUTOR)
+        ));
+
+        List<Container> existingContainers = existing.getOrDefault(serviceName, Collections.emptyList());
+        int instances = scale.getOrDefault(serviceName, Math.max(existingContainers.size(), 1));
+
+        future = CompletableFuture.allOf(prerequisites.toArray(new CompletableFuture<?>[0]))
+            .thenCompose(__ -> {
+                String image = resolveImage(service).join();
+                List<CompletableFuture<String>> containers = new ArrayList<>();
+                for (int number = 1; number <= instances; number++) {
+                    int containerNumber = number;
+                    Container existingContainer = existingContainers.stream()
+                        .filter(container -> String.valueOf(containerNumber).equals(container.getLabels().get(CONTAINER_NUMBER_LABEL)))
+                        .findFirst()
+                        .orElse(null);
+                    containers.add(CompletableFuture.supplyAsync(() -> existingContainer != null
+                        ? startExisting(existingContainer)
+                        : createAndStart(model, service, image, containerNumber, networkNames, volumeNames), EXECUTOR));
+                }
+                existingContainers.stream()
+                    .filter(container -> Integer.parseInt(container.getLabels().get(CONTAINER_NUMBER_LABEL)) > instances)
+                    .forEach(container -> containers.add(CompletableFuture.supplyAsync(() -> remove(container.getId(), false), EXECUTOR)));
+
+                return CompletableFuture.allOf(containers.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(___ -> containers.subList(0, instances).stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+            });
+        started.put(serviceName, future);
+        return future;
+    }
+
+    /**
+     * @return the image of a service, building or pulling it (once) if needed
+     */
+    private synchronized CompletableFuture<String> resolveImage(ComposeFileModel.Service service) {
+        return images.computeIfAbsent(service.getName(), __ -> {
+            if (!service.hasBuild()) {
+                if (service.getImage() == null) {
+                    throw new ContainerLaunchException("Service " + service.getName() + " has neither an image nor a build");
+                }
+                DockerImageName imageName = new DockerImageName(service.getImage());
+                return RemoteDockerImage.prefetch(Collections.singletonList(imageName)).thenApply(___ -> imageName.toString());
+            }
+
+            String imageName = service.getImage() != null ? service.getImage() : project + "_" + service.getName();
+            ImageFromDockerfile image = new ImageFromDockerfile(imageName.toLowerCase(), false) {
+                @Override
+                protected void configure(BuildImageCmd buildImageCmd) {
+                    super.configure(buildImageCmd);
+                    if (service.getDockerfile() != null) {
+                        buildImageCmd.withDockerfilePath(service.getDockerfile());
+                    }
+                    service.getBuildArgs().forEach(buildImageCmd::withBuildArg);
+                }
+            };
+            File[] contextFiles = service.getBuildContext().listFiles();
+            if (contextFiles == null) {
+                throw new ContainerLaunchException("Build context of service " + service.getName() + " is not a directory: " + service.getBuildContext());
+            }
+            for (File file : contextFiles) {
+                image.withFileFromFile(file.getName(), file);
+            }
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return image.get();
+                } catch (Exception e) {
+                    throw new ContainerLaunchException("Could not build image of service " + service.getName(), e);
+                }
+            }, EXECUTOR);
+        });
+    }
+
+    private String createAndStart(ComposeFileModel model,
+                                  ComposeFileModel.Service service,
+                                  String image,
+                                  int containerNumber,
+                                  Map<String, String> networkNames,
+                                  Map<String, String> volumeNames) {
+        String serviceName = service.getName();
+        String containerName = service.getContainerName(project, containerNumber);
+
+        Map<String, String> labels = new HashMap<>(DockerClientFactory.DEFAULT_LABELS);
+        labels.putAll(service.getLabels());
+        labels.put(PROJECT_LABEL, project);
+        labels.put(SERVICE_LABEL, serviceName);
+        labels.put(CONTAINER_NUMBER_LABEL, String.valueOf(containerNumber));
+        labels.put("com.docker.compose.oneoff", "False");
+
+        List<String> environment = new ArrayList<>();
+        service.getEnvironment().forEach((key, value) -> {
+            String resolved = value != null ? value : env.getOrDefault(key, System.getenv(key));
+            if (resolved != null) {
+                environment.add(key + "=" + resolved);
+            }
+        });
+
+        CreateContainerCmd createCommand = dockerClient.createContainerCmd(image)
+            .withName(containerName)
+            .withLabels(labels)
+            .withEnv(environment);
+
+        if (service.getCommand() != null) {
+            createCommand.withCmd(service.getCommand());
+        }
+        if (service.getEntrypoint() != null) {
+            createCommand.withEntrypoint(service.getEntrypoint());
+        }
+        if (service.getString("hostname") != null) {
+            createCommand.withHostName(service.getString("hostname"));
+        }
+        if (service.getString("working_dir") != null) {
+            createCommand.withWorkingDir(service.getString("working_dir"));
+        }
+        if (service.getString("user") != null) {
+            createCommand.withUser(service.getString("user"));
+        }
+        if (service.getBoolean("privileged")) {
+            createCommand.withPrivileged(true);
+        }
+        if (!service.getExtraHosts().isEmpty()) {
+            createCommand.withExtraHosts(service.getExtraHosts());
+        }
+
+        configurePorts(createCommand, service, serviceName + "_" + containerNumber);
+        configureVolumes(createCommand, model, service, volumeNames);
+
+        // Connect to the first network when creating the container, and to the others before starting it
+        Map<String, List<String>> networks = service.getNetworks();
+        if (service.getNetworkMode() != null) {
+            createCommand.withNetworkMode(service.getNetworkMode());
+        } else if (!networks.isEmpty()) {
+            Map.Entry<String, List<String>> firstNetwork = networks.entrySet().iterator().next();
+            createCommand.withNetworkMode(networkName(networkNames, firstNetwork.getKey(), serviceName));
+            createCommand.withAliases(aliases(serviceName, firstNetwork.getValue()));
+        }
+
+        List<Link> links = new ArrayList<>();
+        service.getLinks().forEach((linkedService, alias) ->
+            links.add(new Link(model.getServices().get(linkedService).getContainerName(project, 1), alias)));
+        if (!links.isEmpty()) {
+            createCommand.withLinks(links);
+        }
+
+        String containerId = createCommand.exec().getId();
+        logger().debug("Created container {} for service {}", containerName, serviceName);
+
+        if (service.getNetworkMode() == null) {
+            networks.entrySet().stream().skip(1).forEach(network -> dockerClient.connectToNetworkCmd()
+                .withContainerId(containerId)
+                .withNetworkId(networkName(networkNames, network.getKey(), serviceName))
+                .withContainerNetwork(new ContainerNetwork().withAliases(aliases(serviceName, network.getValue())))
+                .exec());
+        }
+
+        dockerClient.startContainerCmd(containerId).exec();
+        logger().info("Started container {} for service {}", containerName, serviceName);
+        return containerId;
+    }
+
+    private void configurePorts(CreateContainerCmd createCommand, ComposeFileModel.Service service, String serviceInstanceName) {
+        Set<ExposedPort> exposed = new HashSet<>();
+        Ports portBindings = new Ports();
+        for (String port : service.getPorts()) {
+            PortBinding portBinding = PortBinding.parse(port);
+            exposed.add(portBinding.getExposedPort());
+            portBindings.bind(portBinding.getExposedPort(), portBinding.getBinding());
+        }
+        for (String port : service.getExpose()) {
+            exposed.add(ExposedPort.parse(port.contains("/") ? port : port + "/tcp"));
+        }
+        for (Integer port : exposedPorts.getOrDefault(serviceInstanceName, Collections.emptySet())) {
+            ExposedPort exposedPort = ExposedPort.tcp(port);
+            if (!portBindings.getBindings().containsKey(exposedPort)) {
+                portBindings.bind(exposedPort, Ports.Binding.empty());
+            }
+            exposed.add(exposedPort);
+        }
+        if (!exposed.isEmpty()) {
+            createCommand.withExposedPorts(new ArrayList<>(exposed));
+            createCommand.withPortBindings(portBindings);
+        }
+    }
+
+    private void configureVolumes(CreateContainerCmd createCommand, ComposeFileModel model, ComposeFileModel.Service service,
+                                  Map<String, String> volumeNames) {
+        List<Bind> binds = new ArrayList<>();
+        List<Volume> anonymousVolumes = new ArrayList<>();
+        for (String volume : service.getVolumes()) {
+            List<String> parts = Splitter.on(':').splitToList(volume);
+            if (parts.size() == 1) {
+                anonymousVolumes.add(new Volume(parts.get(0)));
+                continue;
+            }
+
+            String source = parts.get(0);
+            if (source.startsWith(".") || source.startsWith("/") || source.startsWith("~")) {
+                source = model.resolvePath(source).getAbsolutePath();
+            } else if (volumeNames.containsKey(source)) {
+                source = volumeNames.get(source);
+            } else {
+                throw new ContainerLaunchException("Service " + service.getName() + " uses undefined volume " + source);
+            }
+
+            StringBuilder bind = new StringBuilder(source).append(':').append(parts.get(1));
+            if (parts.size() > 2) {
+                bind.append(':').append(parts.get(2));
+            }
+            binds.add(Bind.parse(bind.toString()));
+        }
+        if (!binds.isEmpty()) {
+            createCommand.withBinds(binds);
+        }
+        if (!anonymousVolumes.isEmpty()) {
+            createCommand.withVolumes(anonymousVolumes);
+        }
+    }
+
+    private String networkName(Map<String, String> networkNames, String network, String serviceName) {
+        String networkName = networkNames.get(network);
+        if (networkName == null) {
+            throw new ContainerLaunchException("Service " + serviceName + " uses undefined network " + network);
+        }
+        return networkName;
+    }
+
+    private static List<String> aliases(String serviceName, List<String> extraAliases) {
+        List<String> aliases = new ArrayList<>();
+        aliases.add(serviceName);
+        aliases.addAll(extraAliases);
+        return aliases;
+    }
+
+    private String startExisting(Container container) {
+        if (!"running".equals(container.getState())) {
+            dockerClient.startContainerCmd(container.getId()).exec();
+        }
+        return container.getId();
+    }
+
+    /**
+     * Wait until the containers of a service that others depend on meet the {@code depends_on} condition.
+     */
+    private void awaitCondition(String serviceName, String condition, List<String> containerIds) {
+        if ("service_started".equals(condition)) {
+            return;
+        }
+        ContainerEventMonitor monitor = ContainerEventMonitor.instance();
+        for (String containerId : containerIds) {
+            boolean met;
+            try {
+                met = monitor.waitUntil(containerId, DEPENDENCY_TIMEOUT, Duration.ofSeconds(1), () -> {
+                    InspectContainerResponse.ContainerState state = monitor.inspect(containerId).getState();
+                    if ("service_completed_successfully".equals(condition)) {
+                        if (Boolean.TRUE.equals(state.getRunning())) {
+                            return false;
+                        }
+                        if (state.getExitCode() == null || state.getExitCode() != 0) {
+                            throw new ContainerLaunchException("Service " + serviceName + " exited with code " + state.getExitCode());
+                        }
+                        return true;
+                    }
+                    if (!Boolean.TRUE.equals(state.getRunning())) {
+                        throw new ContainerLaunchException("Service " + serviceName + " stopped before it was healthy");
+                    }
+                    return state.getHealth() != null && "healthy".equals(state.getHealth().getStatus());
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ContainerLaunchException("Interrupted while waiting for service " + serviceName, e);
+            }
+            if (!met) {
+                throw new ContainerLaunchException("Timed out waiting for service " + serviceName + " to meet condition " + condition);
+            }
+        }
+    }
+
+    private Map<String, String> createNetworks(ComposeFileModel model) {
+        Map<String, String> networkNames = new HashMap<>();
+        model.getNetworks().forEach((network, definition) -> {
+            String name = ComposeFileModel.resourceName(project, network, definition);
+            networkNames.put(network, name);
+            if (ComposeFileModel.isExternal(definition) || findNetwork(name) != null) {
+                return;
+            }
+
+            Map<String, String> labels = new HashMap<>(DockerClientFactory.DEFAULT_LABELS);
+            labels.put(PROJECT_LABEL, project);
+            labels.put(NETWORK_LABEL, network);
+            dockerClient.createNetworkCmd()
+                .withName(name)
+                .withDriver(definition.containsKey("driver") ? definition.get("driver").toString() : "bridge")
+                .withCheckDuplicate(true)
+                .withLabels(labels)
+                .exec();
+            logger().debug("Created network {}", name);
+        });
+        return networkNames;
+    }
+
+    private Map<String, String> createVolumes(ComposeFileModel model) {
+        Map<String, String> volumeNames = new HashMap<>();
+        model.getVolumes().forEach((volume, definition) -> {
+            String name = ComposeFileModel.resourceName(project, volume, definition);
+            volumeNames.put(volume, name);
+            if (!ComposeFileModel.isExternal(definition)) {
+                // Creating a volume that already exists has no effect
+                dockerClient.createVolumeCmd()
+                    .withName(name)
+                    .withDriver(definition.containsKey("driver") ? definition.get("driver").toString() : "local")
+                    .exec();
+            }
+        });
+        return volumeNames;
+    }
+
+    private void down(ComposeFileModel model, boolean removeVolumes) {
+        CompletableFuture.allOf(listContainers().stream()
+            .map(container -> CompletableFuture.supplyAsync(() -> remove(container.getId(), removeVolumes), EXECUTOR))
+            .toArray(CompletableFuture[]::new)
+        ).join();
+
+        model.getNetworks().forEach((network, definition) -> {
+            if (!ComposeFileModel.isExternal(definition)) {
+                Network existing = findNetwork(ComposeFileModel.resourceName(project, network, definition));
+                if (existing != null) {
+                    ignoreNotFound(() -> dockerClient.removeNetworkCmd(existing.getId()).exec());
+                }
+            }
+        });
+
+        if (removeVolumes) {
+            model.getVolumes().forEach((volume, definition) -> {
+                if (!ComposeFileModel.isExternal(definition)) {
+                    ignoreNotFound(() -> dockerClient.removeVolumeCmd(ComposeFileModel.resourceName(project, volume, definition)).exec());
+                }
+            });
+        }
+    }
+
+    private String remove(String containerId, boolean removeVolumes) {
+        ignoreNotFound(() -> dockerClient.removeContainerCmd(containerId).withForce(true).withRemoveVolumes(removeVolumes).exec());
+        return containerId;
+    }
+
+    private List<Container> listContainers() {
+        return dockerClient.listContainersCmd()
+            .withShowAll(true)
+            .withLabelFilter(Collections.singletonMap(PROJECT_LABEL, project))
+            .exec();
+    }
+
+    private Network findNetwork(String name) {
+        // The name filter matches substrings
+        return dockerClient.listNetworksCmd().withNameFilter(name).exec().stream()
+            .filter(network -> name.equals(network.getName()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static void ignoreNotFound(Runnable command) {
+        try {
+            command.run();
+        } catch (NotFoundException ignored) {
+            // already removed
+        }
+    }
+
+    /**
+     * Fail early if a service depends on an unknown service, or on itself.
+     */
+    private static void checkDependencies(Map<String, ComposeFileModel.Service> services) {
+        Set<String> checked = new HashSet<>();
+        for (String serviceName : services.keySet()) {
+            checkDependencies(services, serviceName, new ArrayList<>(), checked);
+        }
+    }
+
+    private static void checkDependencies(Map<String, ComposeFileModel.Service> services, String serviceName,
+                                          List<String> path, Set<String> checked) {
+        if (path.contains(serviceName)) {
+            path.add(serviceName);
+            throw new ContainerLaunchException("Circular dependency between services: " + String.join(" -> ", path));
+        }
+        if (!checked.add(serviceName)) {
+            return;
+        }
+        ComposeFileModel.Service service = services.get(serviceName);
+        if (service == null) {
+            throw new ContainerLaunchException("Service " + path.get(path.size() - 1) + " depends on undefined service " + serviceName);
+        }
+        path.add(serviceName);
+        for (String dependency : service.getDependsOn().keySet()) {
+            checkDependencies(services, dependency, path, checked);
+        }
+        path.remove(path.size() - 1);
+    }
+
+    private Logger logger() {
+        return DockerLoggerFactory.getLogger("docker-compose");
+    }
+}
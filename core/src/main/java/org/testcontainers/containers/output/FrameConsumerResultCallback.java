@@ -8,15 +8,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
 
 /**
  * This class can be used as a generic callback for docker-java commands that produce Frames.
@@ -25,9 +22,7 @@ public class FrameConsumerResultCallback extends ResultCallbackTemplate<FrameCon
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FrameConsumerResultCallback.class);
 
-    private static final byte[] EMPTY_LINE = new byte[0];
-
-    private static final Pattern ANSI_COLOR_PATTERN = Pattern.compile("\u001B\\[[0-9;]+m");
+    private static final byte ESCAPE = 0x1B;
 
     private static final String LINE_BREAK_REGEX = "((\\r?\\n)|(\\r))";
 
@@ -37,9 +32,16 @@ public class FrameConsumerResultCallback extends ResultCallbackTemplate<FrameCon
 
     private CountDownLatch completionLatch = new CountDownLatch(1);
 
-    private StringBuilder logString = new StringBuilder();
+    /*
+     * Bytes of an incomplete line from RAW frames, waiting for the rest of the line to arrive
+     */
+    private byte[] partialLine = new byte[256];
+
+    private int partialLineLength = 0;
+
+    private boolean lastByteWasCarriageReturn = false;
 
-    private OutputFrame brokenFrame;
+    private Consumer<OutputFrame> rawFrameConsumer;
 
     public FrameConsumerResultCallback() {
         consumers = new HashMap<>();
@@ -84,17 +86,17 @@ public class FrameConsumerResultCallback extends ResultCallbackTemplate<FrameCon
 
     @Override
     public void close() throws IOException {
-        OutputFrame lastLine = null;
-
-        if (logString.length() > 0) {
-            lastLine = new OutputFrame(OutputFrame.OutputType.STDOUT, logString.toString().getBytes());
+        synchronized (this) {
+            // the output may not end with a line break: pass on the last, incomplete line
+            if (partialLineLength > 0 && rawFrameConsumer != null) {
+                byte[] lastLine = copyLine(partialLine, 0, partialLineLength, isRemoveAnsiCodes(rawFrameConsumer));
+                partialLineLength = 0;
+                rawFrameConsumer.accept(new OutputFrame(OutputFrame.OutputType.STDOUT, lastLine));
+            }
         }
 
         // send an END frame to every consumer... but only once per consumer.
         for (Consumer<OutputFrame> consumer : new HashSet<>(consumers.values())) {
-            if (lastLine != null) {
-                consumer.accept(lastLine);
-            }
             consumer.accept(OutputFrame.END);
         }
         super.close();
@@ -110,70 +112,122 @@ public class FrameConsumerResultCallback extends ResultCallbackTemplate<FrameCon
     }
 
     private synchronized void processRawFrame(OutputFrame outputFrame, Consumer<OutputFrame> consumer) {
-        String utf8String = outputFrame.getUtf8String();
+        // Line breaks are single-byte characters that can never be part of a multibyte UTF-8 sequence, so lines can be
+        // split on the raw bytes; an incomplete line (including a partial multibyte character) is kept until the next frame.
         byte[] bytes = outputFrame.getBytes();
+        boolean removeAnsiCodes = isRemoveAnsiCodes(consumer);
+
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (b != '\n' && b != '\r') {
+                lastByteWasCarriageReturn = false;
+                continue;
+            }
 
-        // Merging the strings by bytes to solve the problem breaking non-latin unicode symbols.
-        if (brokenFrame != null) {
-            bytes = merge(brokenFrame.getBytes(), bytes);
-            utf8String = new String(bytes);
-            brokenFrame = null;
-        }
-        // Logger chunks can break the string in middle of multibyte unicode character.
-        // Backup the bytes to reconstruct proper char sequence with bytes from next frame.
-        int lastCharacterType = Character.getType(utf8String.charAt(utf8String.length() - 1));
-        if (lastCharacterType == Character.OTHER_SYMBOL) {
-            brokenFrame = new OutputFrame(outputFrame.getType(), bytes);
-            return;
+            if (b == '\n' && lastByteWasCarriageReturn && i == lineStart) {
+                // second half of a \r\n line break, possibly split across frames; the line was already emitted
+                lastByteWasCarriageReturn = false;
+                lineStart = i + 1;
+                continue;
+            }
+
+            byte[] line;
+            if (partialLineLength > 0) {
+                appendToPartialLine(bytes, lineStart, i);
+                line = copyLine(partialLine, 0, partialLineLength, removeAnsiCodes);
+                partialLineLength = 0;
+            } else {
+                line = copyLine(bytes, lineStart, i, removeAnsiCodes);
+            }
+            consumer.accept(new OutputFrame(OutputFrame.OutputType.STDOUT, line));
+
+            lastByteWasCarriageReturn = b == '\r';
+            lineStart = i + 1;
         }
 
-        utf8String = processAnsiColorCodes(utf8String, consumer);
-        normalizeLogLines(utf8String, consumer);
+        appendToPartialLine(bytes, lineStart, bytes.length);
+        rawFrameConsumer = consumer;
     }
 
     private synchronized void processOtherFrame(OutputFrame outputFrame, Consumer<OutputFrame> consumer) {
-        String utf8String = outputFrame.getUtf8String();
+        byte[] bytes = outputFrame.getBytes();
 
-        utf8String = processAnsiColorCodes(utf8String, consumer);
-        consumer.accept(new OutputFrame(outputFrame.getType(), utf8String.getBytes()));
+        // Frames from multiplexed streams are passed on as they are, only copied if there are color codes to remove
+        if (isRemoveAnsiCodes(consumer) && indexOfEscape(bytes, 0, bytes.length) >= 0) {
+            bytes = copyLine(bytes, 0, bytes.length, true);
+        }
+        consumer.accept(new OutputFrame(outputFrame.getType(), bytes));
     }
 
-    private void normalizeLogLines(String utf8String, Consumer<OutputFrame> consumer) {
-        // Reformat strings to normalize new lines.
-        List<String> lines = new ArrayList<>(Arrays.asList(utf8String.split(LINE_BREAK_REGEX)));
-        if (lines.isEmpty()) {
-            consumer.accept(new OutputFrame(OutputFrame.OutputType.STDOUT, EMPTY_LINE));
+    private void appendToPartialLine(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (length <= 0) {
             return;
         }
-        if (utf8String.startsWith("\n") || utf8String.startsWith("\r")) {
-            lines.add(0, "");
+
+        if (partialLineLength + length > partialLine.length) {
+            partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLineLength + length));
         }
-        if (utf8String.endsWith("\n") || utf8String.endsWith("\r")) {
-            lines.add("");
+        System.arraycopy(bytes, from, partialLine, partialLineLength, length);
+        partialLineLength += length;
+    }
+
+    private static boolean isRemoveAnsiCodes(Consumer<OutputFrame> consumer) {
+        return !(consumer instanceof BaseConsumer) || ((BaseConsumer) consumer).isRemoveColorCodes();
+    }
+
+    /**
+     * Copy a range of bytes, optionally leaving out ANSI color codes (ESC [ digits/semicolons m).
+     */
+    private static byte[] copyLine(byte[] source, int from, int to, boolean removeAnsiCodes) {
+        int firstEscape = removeAnsiCodes ? indexOfEscape(source, from, to) : -1;
+        if (firstEscape < 0) {
+            return Arrays.copyOfRange(source, from, to);
         }
-        for (int i = 0; i < lines.size() - 1; i++) {
-            String line = lines.get(i);
-            if (i == 0 && logString.length() > 0) {
-                line = logString.toString() + line;
-                logString.setLength(0);
+
+        byte[] result = new byte[to - from];
+        int length = firstEscape - from;
+        System.arraycopy(source, from, result, 0, length);
+        int i = firstEscape;
+        while (i < to) {
+            int colorCodeEnd = source[i] == ESCAPE ? findColorCodeEnd(source, i, to) : -1;
+            if (colorCodeEnd >= 0) {
+                i = colorCodeEnd;
+            } else {
+                result[length++] = source[i++];
             }
-            consumer.accept(new OutputFrame(OutputFrame.OutputType.STDOUT, line.getBytes()));
         }
-        logString.append(lines.get(lines.size() - 1));
+        return length == result.length ? result : Arrays.copyOf(result, length);
     }
 
-    private String processAnsiColorCodes(String utf8String, Consumer<OutputFrame> consumer) {
-        if (!(consumer instanceof BaseConsumer) || ((BaseConsumer) consumer).isRemoveColorCodes()) {
-            return ANSI_COLOR_PATTERN.matcher(utf8String).replaceAll("");
+    private static int indexOfEscape(byte[] source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (source[i] == ESCAPE) {
+                return i;
+            }
         }
-        return utf8String;
+        return -1;
     }
 
+    /**
+     * @return the index right after the color code starting at {@code start}, or -1 if there is none
+     */
+    private static int findColorCodeEnd(byte[] source, int start, int to) {
+        int i = start + 1;
+        if (i >= to || source[i] != '[') {
+            return -1;
+        }
 
-    private byte[] merge(byte[] str1, byte[] str2) {
-        byte[] mergedString = new byte[str1.length + str2.length];
-        System.arraycopy(str1, 0, mergedString, 0, str1.length);
-        System.arraycopy(str2, 0, mergedString, str1.length, str2.length);
-        return mergedString;
+        i++;
+        int parametersStart = i;
+        while (i < to && ((source[i] >= '0' && source[i] <= '9') || source[i] == ';')) {
+            i++;
+        }
+
+        if (i == parametersStart || i >= to || source[i] != 'm') {
+            return -1;
+        }
+        return i + 1;
     }
 }
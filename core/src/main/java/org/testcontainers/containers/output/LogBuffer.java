@@ -0,0 +1,218 @@
+package org.testcontainers.containers.output;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A consumer for container output that keeps the most recent frames in memory, within a fixed byte budget.
+ * <p>
+ * Once the budget is exceeded, the oldest frames are either dropped or, with {@link OverflowPolicy#SPILL_TO_FILE},
+ * moved to a temporary file, so that memory use stays bounded however much a container logs. The number of frames
+ * that were dropped or spilled is available from the counters.
+ * <p>
+ * {@link #replay(Consumer)} sends all kept frames, oldest first, to another consumer.
+ */
+@Slf4j
+public class LogBuffer extends BaseConsumer<LogBuffer> implements AutoCloseable {
+
+    public enum OverflowPolicy {
+        /**
+         * Discard the oldest frames
+         */
+        DROP_OLDEST,
+
+        /**
+         * Move the oldest frames to a temporary file, which is deleted on {@link #close()}
+         */
+        SPILL_TO_FILE
+    }
+
+    private final long maxBytes;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final ArrayDeque<OutputFrame> frames = new ArrayDeque<>();
+
+    private long bufferedBytes;
+
+    private long droppedFrames;
+
+    private long droppedBytes;
+
+    private long spilledFrames;
+
+    private Path spillFile;
+
+    private DataOutputStream spillOutput;
+
+    private final CountDownLatch ended = new CountDownLatch(1);
+
+    private boolean closed;
+
+    public LogBuffer(long maxBytes) {
+        this(maxBytes, OverflowPolicy.DROP_OLDEST);
+    }
+
+    public LogBuffer(long maxBytes, OverflowPolicy overflowPolicy) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public synchronized void accept(OutputFrame frame) {
+        if (frame == OutputFrame.END) {
+            ended.countDown();
+            return;
+        }
+
+        if (closed || frame.getBytes() == null) {
+            return;
+        }
+
+        frames.addLast(frame);
+        bufferedBytes += frame.getBytes().length;
+
+        while (bufferedBytes > maxBytes && !frames.isEmpty()) {
+            OutputFrame oldest = frames.pollFirst();
+            bufferedBytes -= oldest.getBytes().length;
+
+            if (overflowPolicy != OverflowPolicy.SPILL_TO_FILE || !spill(oldest)) {
+                droppedFrames++;
+                droppedBytes += oldest.getBytes().length;
+            }
+        }
+    }
+
+    /**
+     * Send every kept frame, oldest first, to the given consumer. Spilled frames are read back from disk first.
+     * <p>
+     * The buffer is locked while replaying, so output that arrives meanwhile is delivered once the replay is done.
+     *
+     * @param consumer consumer that the frames should be sent to
+     */
+    public synchronized void replay(Consumer<OutputFrame> consumer) {
+        if (spillOutput != null) {
+            replaySpilled(consumer);
+        }
+        frames.forEach(consumer);
+    }
+
+    /**
+     * Wait until the end of output has been received, e.g. because the container has stopped.
+     *
+     * @param timeout     maximum time to wait
+     * @param timeoutUnit maximum time to wait (units)
+     * @return whether the end of output was received before the timeout
+     */
+    public boolean waitUntilEnd(long timeout, TimeUnit timeoutUnit) throws InterruptedException {
+        return ended.await(timeout, timeoutUnit);
+    }
+
+    /**
+     * @return a copy of the frames that are currently kept in memory, oldest first
+     */
+    public synchronized List<OutputFrame> getFrames() {
+        return new ArrayList<>(frames);
+    }
+
+    public synchronized long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * @return number of frames that were discarded because the budget was exceeded
+     */
+    public synchronized long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * @return number of bytes of output that were discarded because the budget was exceeded
+     */
+    public synchronized long getDroppedBytes() {
+        return droppedBytes;
+    }
+
+    /**
+     * @return number of frames that were moved to the spill file because the budget was exceeded
+     */
+    public synchronized long getSpilledFrames() {
+        return spilledFrames;
+    }
+
+    /**
+     * Discard all kept frames and delete the spill file, if any. Frames that arrive afterwards are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        frames.clear();
+        bufferedBytes = 0;
+
+        if (spillOutput != null) {
+            try {
+                spillOutput.close();
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                log.debug("Failed to delete log spill file {}", spillFile, e);
+            }
+            spillOutput = null;
+            spillFile = null;
+        }
+    }
+
+    private boolean spill(OutputFrame frame) {
+        try {
+            if (spillOutput == null) {
+                spillFile = Files.createTempFile("testcontainers-log-", ".spill");
+                spillFile.toFile().deleteOnExit();
+                spillOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+            }
+
+            spillOutput.writeByte(frame.getType().ordinal());
+            spillOutput.writeInt(frame.getBytes().length);
+            spillOutput.write(frame.getBytes());
+            spilledFrames++;
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to spill container output to {}, dropping it instead", spillFile, e);
+            return false;
+        }
+    }
+
+    private void replaySpilled(Consumer<OutputFrame> consumer) {
+        OutputFrame.OutputType[] types = OutputFrame.OutputType.values();
+        try {
+            spillOutput.flush();
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)))) {
+                for (long i = 0; i < spilledFrames; i++) {
+                    OutputFrame.OutputType type = types[input.readUnsignedByte()];
+                    byte[] bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                    consumer.accept(new OutputFrame(type, bytes));
+                }
+            }
+        } catch (EOFException e) {
+            log.warn("Log spill file {} is shorter than expected", spillFile);
+        } catch (IOException e) {
+            log.warn("Failed to read spilled container output from {}", spillFile, e);
+        }
+    }
+}
@@ -5,18 +5,40 @@ import com.google.common.base.Charsets;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Created by rnorth on 26/03/2016.
+ * <p>
+ * By default all output is kept in memory. Pass a {@link LogBuffer} to the constructor to keep only the most recent
+ * output within a byte budget.
  */
 public class ToStringConsumer extends BaseConsumer<ToStringConsumer> {
     private static final byte[] NEW_LINE = "\n".getBytes();
 
+    private final LogBuffer logBuffer;
+
     private boolean firstLine = true;
     private ByteArrayOutputStream stringBuffer = new ByteArrayOutputStream();
 
+    public ToStringConsumer() {
+        this(null);
+    }
+
+    /**
+     * @param logBuffer bounded store to keep the output in, or null to keep all output
+     */
+    public ToStringConsumer(LogBuffer logBuffer) {
+        this.logBuffer = logBuffer;
+    }
+
     @Override
     public void accept(OutputFrame outputFrame) {
+        if (logBuffer != null) {
+            logBuffer.accept(outputFrame);
+            return;
+        }
+
         try {
             if (outputFrame.getBytes() != null) {
                 if (!firstLine) {
@@ -32,12 +54,23 @@ public class ToStringConsumer extends BaseConsumer<ToStringConsumer> {
     }
 
     public String toUtf8String() {
-        byte[] bytes = stringBuffer.toByteArray();
-        return new String(bytes, Charsets.UTF_8);
+        return toString(Charsets.UTF_8);
     }
 
     public String toString(Charset charset) {
-        byte[] bytes = stringBuffer.toByteArray();
+        byte[] bytes = logBuffer != null ? joinBufferedFrames() : stringBuffer.toByteArray();
         return new String(bytes, charset);
     }
+
+    private byte[] joinBufferedFrames() {
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        AtomicBoolean first = new AtomicBoolean(true);
+        logBuffer.replay(outputFrame -> {
+            if (!first.getAndSet(false)) {
+                joined.write(NEW_LINE, 0, NEW_LINE.length);
+            }
+            joined.write(outputFrame.getBytes(), 0, outputFrame.getBytes().length);
+        });
+        return joined.toByteArray();
+    }
 }
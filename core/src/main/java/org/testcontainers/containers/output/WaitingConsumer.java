@@ -3,6 +3,10 @@ package org.testcontainers.containers.output;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -11,6 +15,14 @@ import java.util.function.Predicate;
 /**
  * A consumer for container output that buffers lines in a {@link java.util.concurrent.BlockingDeque} and enables tests
  * to wait for a matching condition.
+ * <p>
+ * While a thread is waiting, every new frame is tested against its predicate as soon as it arrives, on the thread that
+ * delivers the output, and the waiting thread is woken up as soon as the condition is met. Several threads may wait for
+ * different conditions at the same time; each of them sees every frame that arrives while it is waiting. Frames that
+ * arrive once every waiting thread's condition has been met are buffered for later waits.
+ * <p>
+ * Frames that arrive while nobody is waiting are buffered without limit, unless {@link #withMaxBufferedBytes(long)} is
+ * used to drop the oldest of them once the buffer grows too large.
  */
 public class WaitingConsumer extends BaseConsumer<WaitingConsumer> {
 
@@ -18,14 +30,81 @@ public class WaitingConsumer extends BaseConsumer<WaitingConsumer> {
 
     private LinkedBlockingDeque<OutputFrame> frames = new LinkedBlockingDeque<>();
 
+    /*
+     * Threads currently waiting for a condition; guarded by itself
+     */
+    private final List<FrameWaiter> waiters = new ArrayList<>();
+
+    /*
+     * Byte budget for buffered frames and its bookkeeping; guarded by waiters
+     */
+    private long maxBufferedBytes = Long.MAX_VALUE;
+
+    private long bufferedBytes;
+
+    private long droppedFrames;
+
+    /**
+     * Limit the amount of output that is buffered while nobody is waiting. Once the limit is exceeded, the oldest
+     * buffered frames are dropped.
+     *
+     * @param maxBufferedBytes maximum number of bytes of output to buffer
+     * @return this
+     */
+    public WaitingConsumer withMaxBufferedBytes(long maxBufferedBytes) {
+        synchronized (waiters) {
+            this.maxBufferedBytes = maxBufferedBytes;
+            evictOldestFrames();
+        }
+        return this;
+    }
+
+    /**
+     * @return number of buffered frames that were dropped to stay within {@link #withMaxBufferedBytes(long)}
+     */
+    public long getDroppedFrames() {
+        synchronized (waiters) {
+            return droppedFrames;
+        }
+    }
+
     @Override
     public void accept(OutputFrame frame) {
-        frames.add(frame);
+        synchronized (waiters) {
+            if (waiters.isEmpty()) {
+                frames.add(frame);
+                bufferedBytes += sizeOf(frame);
+                evictOldestFrames();
+                return;
+            }
+
+            logFrame(frame);
+            for (Iterator<FrameWaiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+                FrameWaiter waiter = iterator.next();
+                waiter.test(frame);
+                if (waiter.isDone()) {
+                    // deregister straight away, so that the next frame is buffered for later waits if nobody else waits
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of threads currently waiting for a condition
+     */
+    int getWaiterCount() {
+        synchronized (waiters) {
+            return waiters.size();
+        }
     }
 
     /**
      * Get access to the underlying frame buffer. Modifying the buffer contents is likely to cause problems if the
      * waitUntil() methods are also being used, as they feed on the same data.
+     * <p>
+     * Frames that arrive while a thread is waiting are handed to the waiting thread directly, and are not added to the
+     * buffer.
      *
      * @return the collection of frames
      */
@@ -72,42 +151,14 @@ public class WaitingConsumer extends BaseConsumer<WaitingConsumer> {
      * @param times     number of times the predicate has to match
      */
     public void waitUntil(Predicate<OutputFrame> predicate, long limit, TimeUnit limitUnit, int times) throws TimeoutException {
-        long expiry = limitUnit.toMillis(limit) + System.currentTimeMillis();
-
-        waitUntil(predicate, expiry, times);
+        waitUntil(predicate, expiryFor(limit, limitUnit), times);
     }
 
     private void waitUntil(Predicate<OutputFrame> predicate, long expiry, int times) throws TimeoutException {
-
-        int numberOfMatches = 0;
-        while (System.currentTimeMillis() < expiry) {
-            try {
-                OutputFrame frame = frames.pollLast(100, TimeUnit.MILLISECONDS);
-
-                if (frame != null) {
-                    final String trimmedFrameText = frame.getUtf8String().replaceFirst("\n$", "");
-                    LOGGER.debug("{}: {}", frame.getType(), trimmedFrameText);
-
-                    if (predicate.test(frame)) {
-                        numberOfMatches++;
-
-                        if (numberOfMatches == times) {
-                            return;
-                        }
-                    }
-                }
-
-                if (frames.isEmpty()) {
-                    // sleep for a moment to avoid excessive CPU spinning
-                    Thread.sleep(10L);
-                }
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
+        if (!await(new FrameWaiter(predicate, times), expiry)) {
+            // did not return before expiry was reached
+            throw new TimeoutException();
         }
-
-        // did not return before expiry was reached
-        throw new TimeoutException();
     }
 
     /**
@@ -124,28 +175,127 @@ public class WaitingConsumer extends BaseConsumer<WaitingConsumer> {
      * @param limitUnit maximum time to wait (units)
      */
     public void waitUntilEnd(long limit, TimeUnit limitUnit) throws TimeoutException {
-        long expiry = limitUnit.toMillis(limit) + System.currentTimeMillis();
-
-        waitUntilEnd(expiry);
+        waitUntilEnd(expiryFor(limit, limitUnit));
     }
 
     private void waitUntilEnd(Long expiry) throws TimeoutException {
-        while (System.currentTimeMillis() < expiry) {
-            try {
-                OutputFrame frame = frames.pollLast(100, TimeUnit.MILLISECONDS);
+        if (!await(new FrameWaiter(frame -> frame == OutputFrame.END, 1), expiry)) {
+            throw new TimeoutException("Expiry time reached before end of output");
+        }
+    }
 
-                if (frame == OutputFrame.END) {
-                    return;
-                }
+    /**
+     * Feed the buffered frames to the waiter (most recent first), register it for frames that are still to come and
+     * block until it is satisfied or the expiry time is reached.
+     *
+     * @return whether the waiter was satisfied before expiry
+     */
+    private boolean await(FrameWaiter waiter, long expiry) {
+        synchronized (waiters) {
+            OutputFrame frame;
+            while (!waiter.isDone() && (frame = frames.pollLast()) != null) {
+                bufferedBytes -= sizeOf(frame);
+                logFrame(frame);
+                waiter.test(frame);
+            }
+
+            if (waiter.isDone()) {
+                return waiter.getResult();
+            }
+            waiters.add(waiter);
+        }
+
+        try {
+            long remaining = expiry - System.currentTimeMillis();
+            return waiter.await(remaining) && waiter.getResult();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            synchronized (waiters) {
+                waiters.remove(waiter);
+            }
+        }
+    }
 
-                if (frames.isEmpty()) {
-                    // sleep for a moment to avoid excessive CPU spinning
-                    Thread.sleep(10L);
+    private void evictOldestFrames() {
+        OutputFrame oldest;
+        while (bufferedBytes > maxBufferedBytes && (oldest = frames.pollFirst()) != null) {
+            bufferedBytes -= sizeOf(oldest);
+            droppedFrames++;
+        }
+
+        if (frames.isEmpty()) {
+            // frames may also have been taken via getFrames()
+            bufferedBytes = 0;
+        }
+    }
+
+    private static int sizeOf(OutputFrame frame) {
+        return frame.getBytes() == null ? 0 : frame.getBytes().length;
+    }
+
+    private static long expiryFor(long limit, TimeUnit limitUnit) {
+        long now = System.currentTimeMillis();
+        long limitMillis = limitUnit.toMillis(limit);
+        return limitMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + limitMillis;
+    }
+
+    private static void logFrame(OutputFrame frame) {
+        if (LOGGER.isDebugEnabled()) {
+            final String trimmedFrameText = frame.getUtf8String().replaceFirst("\n$", "");
+            LOGGER.debug("{}: {}", frame.getType(), trimmedFrameText);
+        }
+    }
+
+    /**
+     * A single thread's condition, tested against each frame by the thread that delivers it.
+     */
+    private static class FrameWaiter {
+
+        private final Predicate<OutputFrame> predicate;
+
+        private final int times;
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private int numberOfMatches;
+
+        private RuntimeException failure;
+
+        private FrameWaiter(Predicate<OutputFrame> predicate, int times) {
+            this.predicate = predicate;
+            this.times = times;
+        }
+
+        private void test(OutputFrame frame) {
+            if (isDone()) {
+                return;
+            }
+
+            try {
+                if (predicate.test(frame) && ++numberOfMatches >= times) {
+                    done.countDown();
                 }
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+            } catch (RuntimeException e) {
+                // Rethrown on the waiting thread rather than breaking the thread which delivers the output
+                failure = e;
+                done.countDown();
+            }
+        }
+
+        private boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        private boolean await(long timeoutMillis) throws InterruptedException {
+            return done.await(Math.max(timeoutMillis, 0), TimeUnit.MILLISECONDS);
+        }
+
+        private boolean getResult() {
+            if (failure != null) {
+                throw failure;
             }
+            return true;
         }
-        throw new TimeoutException("Expiry time reached before end of output");
     }
 }
@@ -2,31 +2,34 @@ package org.testcontainers.containers.startupcheck;
 
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.InspectContainerResponse;
-import org.rnorth.ducttape.ratelimits.RateLimiter;
-import org.rnorth.ducttape.ratelimits.RateLimiterBuilder;
-import org.rnorth.ducttape.unreliables.Unreliables;
+import org.rnorth.ducttape.TimeoutException;
+import org.testcontainers.utility.ContainerEventMonitor;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 import static org.testcontainers.containers.GenericContainer.CONTAINER_RUNNING_TIMEOUT_SEC;
 
 /**
  * Approach to determine whether a container has 'started up' correctly.
+ * <p>
+ * The startup state is checked again as soon as Docker reports a change to the container, and otherwise with a
+ * backoff of up to a second.
  */
 public abstract class StartupCheckStrategy {
 
-    private static final RateLimiter DOCKER_CLIENT_RATE_LIMITER = RateLimiterBuilder
-            .newBuilder()
-            .withRate(1, TimeUnit.SECONDS)
-            .withConstantThroughput()
-            .build();
+    private static final Duration MAX_CHECK_INTERVAL = Duration.ofSeconds(1);
 
     public boolean waitUntilStartupSuccessful(DockerClient dockerClient, String containerId) {
         final Boolean[] startedOK = {null};
-        Unreliables.retryUntilTrue(CONTAINER_RUNNING_TIMEOUT_SEC, TimeUnit.SECONDS, () -> {
-            //noinspection CodeBlock2Expr
-            return DOCKER_CLIENT_RATE_LIMITER.getWhenReady(() -> {
-                StartupStatus state = checkStartupState(dockerClient, containerId);
+        boolean completed = false;
+        try {
+            completed = ContainerEventMonitor.instance().waitUntil(containerId, Duration.ofSeconds(CONTAINER_RUNNING_TIMEOUT_SEC), MAX_CHECK_INTERVAL, () -> {
+                StartupStatus state;
+                try {
+                    state = checkStartupState(dockerClient, containerId);
+                } catch (RuntimeException e) {
+                    return false;
+                }
                 switch (state) {
                     case SUCCESSFUL:    startedOK[0] = true;
                                         return true;
@@ -35,7 +38,13 @@ public abstract class StartupCheckStrategy {
                     default:            return false;
                 }
             });
-        });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!completed) {
+            throw new TimeoutException("Timed out waiting for container " + containerId + " to start", null);
+        }
         return startedOK[0];
     }
 
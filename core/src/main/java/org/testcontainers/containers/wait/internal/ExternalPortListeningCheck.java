@@ -4,15 +4,29 @@ import lombok.RequiredArgsConstructor;
 import org.testcontainers.containers.ContainerState;
 
 import java.io.IOException;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Mechanism for testing that a socket is listening when run from the test host.
+ * <p>
+ * All ports are connected to at the same time, with non-blocking connects multiplexed through a single
+ * {@link Selector}, so checking several ports takes about as long as checking the slowest one.
  */
 @RequiredArgsConstructor
 public class ExternalPortListeningCheck implements Callable<Boolean> {
+
+    private static final long CONNECT_TIMEOUT_MILLIS = 1000;
+
     private final ContainerState containerState;
     private final Set<Integer> externalLivenessCheckPorts;
 
@@ -20,13 +34,67 @@ public class ExternalPortListeningCheck implements Callable<Boolean> {
     public Boolean call() {
         String address = containerState.getContainerIpAddress();
 
-        for (Integer externalPort : externalLivenessCheckPorts) {
-            try {
-                new Socket(address, externalPort).close();
-            } catch (IOException e) {
-                throw new IllegalStateException("Socket not listening yet: " + externalPort);
+        Map<SocketChannel, Integer> pending = new HashMap<>();
+        try (Selector selector = Selector.open()) {
+            for (Integer externalPort : externalLivenessCheckPorts) {
+                SocketChannel channel = SocketChannel.open();
+                pending.put(channel, externalPort);
+                try {
+                    channel.configureBlocking(false);
+                    if (channel.connect(new InetSocketAddress(address, externalPort))) {
+                        pending.remove(channel);
+                        channel.close();
+                    } else {
+                        channel.register(selector, SelectionKey.OP_CONNECT, externalPort);
+                    }
+                } catch (IOException | UnresolvedAddressException e) {
+                    throw notListening(externalPort);
+                }
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MILLIS);
+            while (!pending.isEmpty()) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw notListening(pending.values().iterator().next());
+                }
+
+                selector.select(remainingMillis);
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+
+                    SocketChannel channel = (SocketChannel) key.channel();
+                    try {
+                        if (!channel.finishConnect()) {
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        throw notListening((Integer) key.attachment());
+                    }
+                    key.cancel();
+                    pending.remove(channel);
+                    channel.close();
+                }
             }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to check whether ports are listening: " + externalLivenessCheckPorts, e);
+        } finally {
+            pending.keySet().forEach(ExternalPortListeningCheck::closeQuietly);
         }
         return true;
     }
+
+    private static IllegalStateException notListening(Integer externalPort) {
+        return new IllegalStateException("Socket not listening yet: " + externalPort);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
 }
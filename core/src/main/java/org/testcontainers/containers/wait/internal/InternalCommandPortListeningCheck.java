@@ -5,46 +5,113 @@ import org.testcontainers.containers.ExecInContainerPattern;
 import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
 
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
 /**
  * Mechanism for testing that a socket is listening when run from the container being checked.
+ * <p>
+ * All ports are tested by a single command executed in the container. There are several ways of testing, since
+ * images ship different tools; the one that works is remembered per image and used on its own from then on, and ways
+ * that an image doesn't support are not tried again.
  */
 @RequiredArgsConstructor
 public class InternalCommandPortListeningCheck implements java.util.concurrent.Callable<Boolean> {
 
     private static final String SUCCESS_MARKER = "TESTCONTAINERS_SUCCESS";
 
+    private static final String UNSUPPORTED_MARKER = "TESTCONTAINERS_UNSUPPORTED";
+
+    /**
+     * Index of the command that last succeeded, by image
+     */
+    private static final ConcurrentMap<String, Integer> WORKING_COMMANDS = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes of the commands whose tools are missing, by image
+     */
+    private static final ConcurrentMap<String, Set<Integer>> UNSUPPORTED_COMMANDS = new ConcurrentHashMap<>();
+
     private final WaitStrategyTarget waitStrategyTarget;
     private final Set<Integer> internalPorts;
 
     @Override
     public Boolean call() {
-        for (Integer internalPort : internalPorts) {
-            tryPort(internalPort);
+        if (internalPorts.isEmpty()) {
+            return true;
+        }
+
+        String image = waitStrategyTarget.getContainerInfo().getConfig().getImage();
+        String[][] commands = commandsFor(internalPorts);
+
+        Integer workingCommand = WORKING_COMMANDS.get(image);
+        if (workingCommand != null) {
+            if (exec(commands[workingCommand]).contains(SUCCESS_MARKER)) {
+                return true;
+            }
+            throw notListening();
+        }
+
+        Set<Integer> unsupportedCommands = UNSUPPORTED_COMMANDS.computeIfAbsent(image, __ -> ConcurrentHashMap.newKeySet());
+        for (int i = 0; i < commands.length; i++) {
+            if (unsupportedCommands.contains(i)) {
+                continue;
+            }
+
+            String stdout = exec(commands[i]);
+            if (stdout.contains(SUCCESS_MARKER)) {
+                WORKING_COMMANDS.put(image, i);
+                return true;
+            }
+            if (stdout.contains(UNSUPPORTED_MARKER)) {
+                unsupportedCommands.add(i);
+            }
         }
 
-        return true;
+        throw notListening();
     }
 
-    private void tryPort(Integer internalPort) {
-        String[][] commands = {
-                {"/bin/sh", "-c", format("cat /proc/net/tcp{,6} | awk '{print $2}' | grep -i :%x && echo %s", internalPort, SUCCESS_MARKER)},
-                {"/bin/sh", "-c", format("nc -vz -w 1 localhost %d && echo %s", internalPort, SUCCESS_MARKER)},
-                {"/bin/bash", "-c", format("</dev/tcp/localhost/%d && echo %s", internalPort, SUCCESS_MARKER)}
+    /**
+     * @return commands that each print {@link #SUCCESS_MARKER} if all the given ports are listening, or
+     * {@link #UNSUPPORTED_MARKER} if the tools they need are missing
+     */
+    static String[][] commandsFor(Set<Integer> internalPorts) {
+        return new String[][]{
+                {"/bin/sh", "-c", format("test -r /proc/net/tcp || { echo %s; exit 1; }; %s && echo %s",
+                        UNSUPPORTED_MARKER,
+                        joinPorts(internalPorts, " && ", port -> format("cat /proc/net/tcp /proc/net/tcp6 2>/dev/null | awk '{print $2}' | grep -qi ':%04x$'", port)),
+                        SUCCESS_MARKER)},
+                {"/bin/sh", "-c", format("command -v nc >/dev/null 2>&1 || { echo %s; exit 1; }; %s && echo %s",
+                        UNSUPPORTED_MARKER,
+                        joinPorts(internalPorts, " && ", port -> format("nc -vz -w 1 localhost %d", port)),
+                        SUCCESS_MARKER)},
+                {"/bin/sh", "-c", format("command -v bash >/dev/null 2>&1 || { echo %s; exit 1; }; bash -c '%s' && echo %s",
+                        UNSUPPORTED_MARKER,
+                        joinPorts(internalPorts, " && ", port -> format("</dev/tcp/localhost/%d", port)),
+                        SUCCESS_MARKER)}
         };
+    }
 
-        for (String[] command : commands) {
-            try {
-                if (ExecInContainerPattern.execInContainer(waitStrategyTarget.getContainerInfo(), command).getStdout().contains(SUCCESS_MARKER)) {
-                    return;
-                }
-            } catch (Exception e) {
-                throw new IllegalStateException(e);
-            }
+    private static String joinPorts(Set<Integer> ports, String delimiter, IntFunction<String> portCommand) {
+        return new TreeSet<>(ports).stream()
+                .map(portCommand::apply)
+                .collect(Collectors.joining(delimiter));
+    }
+
+    private String exec(String[] command) {
+        try {
+            return ExecInContainerPattern.execInContainer(waitStrategyTarget.getContainerInfo(), command).getStdout();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
         }
+    }
 
-        throw new IllegalStateException("Socket not listening yet: " + internalPort);
+    private IllegalStateException notListening() {
+        return new IllegalStateException("Socket not listening yet: " + internalPorts);
     }
 }
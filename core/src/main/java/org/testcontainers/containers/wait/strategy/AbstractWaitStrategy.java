@@ -1,28 +1,29 @@
 package org.testcontainers.containers.wait.strategy;
 
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 import org.rnorth.ducttape.ratelimits.RateLimiter;
-import org.rnorth.ducttape.ratelimits.RateLimiterBuilder;
 
 import java.time.Duration;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
+@Slf4j
 public abstract class AbstractWaitStrategy implements WaitStrategy {
 
-    private static final RateLimiter DOCKER_CLIENT_RATE_LIMITER = RateLimiterBuilder
-        .newBuilder()
-        .withRate(1, TimeUnit.SECONDS)
-        .withConstantThroughput()
-        .build();
-
     protected WaitStrategyTarget waitStrategyTarget;
 
     @NonNull
     protected Duration startupTimeout = Duration.ofSeconds(60);
 
     @NonNull
-    private RateLimiter rateLimiter = DOCKER_CLIENT_RATE_LIMITER;
+    private RateLimiter rateLimiter = new ProbeScheduler();
+
+    /*
+     * The rate limiter of the most recent wait: a fresh schedule if rateLimiter is a ProbeScheduler
+     */
+    private volatile RateLimiter activeRateLimiter = rateLimiter;
+
+    private volatile Duration timeToReady;
 
     /**
      * Wait until the target has started.
@@ -32,7 +33,13 @@ public abstract class AbstractWaitStrategy implements WaitStrategy {
     @Override
     public void waitUntilReady(WaitStrategyTarget waitStrategyTarget) {
         this.waitStrategyTarget = waitStrategyTarget;
+        activeRateLimiter = rateLimiter instanceof ProbeScheduler ? ((ProbeScheduler) rateLimiter).newSchedule() : rateLimiter;
+
+        long startedAt = System.nanoTime();
         waitUntilReady();
+        timeToReady = Duration.ofNanos(System.nanoTime() - startedAt);
+        log.debug("Container {} was ready after {} ms and {} probes",
+            waitStrategyTarget.getContainerId(), timeToReady.toMillis(), getProbesIssued());
     }
 
     /**
@@ -63,7 +70,23 @@ public abstract class AbstractWaitStrategy implements WaitStrategy {
      * @return the rate limiter to use
      */
     protected RateLimiter getRateLimiter() {
-        return rateLimiter;
+        return activeRateLimiter;
+    }
+
+    /**
+     * @return the number of readiness probes issued during the most recent wait, or -1 if they are not counted
+     * because a custom rate limiter is used
+     */
+    public long getProbesIssued() {
+        RateLimiter rateLimiter = activeRateLimiter;
+        return rateLimiter instanceof ProbeScheduler ? ((ProbeScheduler) rateLimiter).getProbesIssued() : -1;
+    }
+
+    /**
+     * @return how long the most recent wait took until the target was ready, or null if it has never been ready
+     */
+    public Duration getTimeToReady() {
+        return timeToReady;
     }
 
     /**
@@ -74,6 +97,7 @@ public abstract class AbstractWaitStrategy implements WaitStrategy {
      */
     public WaitStrategy withRateLimiter(RateLimiter rateLimiter) {
         this.rateLimiter = rateLimiter;
+        this.activeRateLimiter = rateLimiter;
         return this;
     }
 }
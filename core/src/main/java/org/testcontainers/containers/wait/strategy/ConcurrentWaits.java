@@ -0,0 +1,123 @@
+package org.testcontainers.containers.wait.strategy;
+
+import org.rnorth.ducttape.TimeoutException;
+import org.testcontainers.DockerClientFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs several wait strategies at the same time, either against the same target or against a target each.
+ * <p>
+ * Whatever the outcome, strategies that are still waiting are cancelled before returning: the threads waiting for them
+ * are interrupted. Strategies that probe on threads of their own, such as those built on ducttape's
+ * {@code Unreliables} and {@code Timeouts}, may keep probing in the background until their own timeout is reached.
+ */
+public final class ConcurrentWaits {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+        DockerClientFactory.daemonThreadFactory("testcontainers-wait-%d")
+    );
+
+    private ConcurrentWaits() {
+    }
+
+    /**
+     * Wait until all strategies are satisfied. Fails as soon as one of them fails.
+     */
+    static void waitForAll(List<WaitStrategy> strategies, WaitStrategyTarget target, Duration timeout) {
+        waitFor(waits(strategies, target), timeout, strategies.size());
+    }
+
+    /**
+     * Wait until any of the strategies is satisfied. Fails once all of them have failed.
+     */
+    static void waitForAny(List<WaitStrategy> strategies, WaitStrategyTarget target, Duration timeout) {
+        waitFor(waits(strategies, target), timeout, 1);
+    }
+
+    /**
+     * Wait until each target is ready according to its own strategy, e.g. for the containers of several services.
+     * Fails as soon as one of them fails.
+     *
+     * @param strategies the strategy for each target
+     * @param timeout    how long to wait for all targets; each strategy still applies its own timeout too
+     */
+    public static void waitForAll(Map<? extends WaitStrategyTarget, ? extends WaitStrategy> strategies, Duration timeout) {
+        List<Runnable> waits = new ArrayList<>();
+        strategies.forEach((target, strategy) -> waits.add(() -> strategy.waitUntilReady(target)));
+        waitFor(waits, timeout, waits.size());
+    }
+
+    private static List<Runnable> waits(List<WaitStrategy> strategies, WaitStrategyTarget target) {
+        List<Runnable> waits = new ArrayList<>();
+        strategies.forEach(strategy -> waits.add(() -> strategy.waitUntilReady(target)));
+        return waits;
+    }
+
+    private static void waitFor(List<Runnable> waits, Duration timeout, int successesNeeded) {
+        if (waits.isEmpty()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(EXECUTOR);
+        List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (Runnable wait : waits) {
+                futures.add(completionService.submit(wait, null));
+            }
+
+            int successes = 0;
+            RuntimeException failure = null;
+            for (int completed = 0; completed < futures.size(); completed++) {
+                Future<Void> future = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    throw new TimeoutException("Timed out after " + timeout + " waiting for wait strategies", failure);
+                }
+
+                try {
+                    future.get();
+                    if (++successes == successesNeeded) {
+                        return;
+                    }
+                } catch (ExecutionException e) {
+                    RuntimeException cause = asRuntimeException(e.getCause());
+                    if (successesNeeded == waits.size()) {
+                        throw cause;
+                    }
+                    if (failure == null) {
+                        failure = cause;
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            throw failure;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for wait strategies", e);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static RuntimeException asRuntimeException(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            return (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        return new RuntimeException(throwable);
+    }
+}
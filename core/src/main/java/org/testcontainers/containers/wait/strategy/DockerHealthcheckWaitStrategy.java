@@ -1,13 +1,12 @@
 package org.testcontainers.containers.wait.strategy;
 
-import org.rnorth.ducttape.TimeoutException;
-import org.rnorth.ducttape.unreliables.Unreliables;
 import org.testcontainers.containers.ContainerLaunchException;
-
-import java.util.concurrent.TimeUnit;
+import org.testcontainers.utility.ContainerEventMonitor;
 
 /**
  * Wait strategy leveraging Docker's built-in healthcheck mechanism.
+ * <p>
+ * The health of the container is checked again whenever Docker reports a change, rather than by polling.
  *
  * @see <a href="https://docs.docker.com/engine/reference/builder/#healthcheck">https://docs.docker.com/engine/reference/builder/#healthcheck</a>
  */
@@ -15,10 +14,31 @@ public class DockerHealthcheckWaitStrategy extends AbstractWaitStrategy {
 
     @Override
     protected void waitUntilReady() {
+        final boolean[] exited = {false};
 
+        boolean healthy;
         try {
-            Unreliables.retryUntilTrue((int) startupTimeout.getSeconds(), TimeUnit.SECONDS, waitStrategyTarget::isHealthy);
-        } catch (TimeoutException e) {
+            healthy = ContainerEventMonitor.instance().waitUntil(waitStrategyTarget.getContainerId(), startupTimeout, null, () -> {
+                try {
+                    if (waitStrategyTarget.isHealthy()) {
+                        return true;
+                    }
+                    exited[0] = !waitStrategyTarget.isRunning();
+                    return exited[0];
+                } catch (RuntimeException e) {
+                    // e.g. no health state yet
+                    return false;
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContainerLaunchException("Interrupted while waiting for container to become healthy", e);
+        }
+
+        if (exited[0]) {
+            throw new ContainerLaunchException("Container exited before becoming healthy");
+        }
+        if (!healthy) {
             throw new ContainerLaunchException("Timed out waiting for container to become healthy");
         }
     }
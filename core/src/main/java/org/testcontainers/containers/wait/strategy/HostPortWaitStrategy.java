@@ -39,8 +39,9 @@ public class HostPortWaitStrategy extends AbstractWaitStrategy {
         Callable<Boolean> externalCheck = new ExternalPortListeningCheck(waitStrategyTarget, externalLivenessCheckPorts);
 
         try {
+            // The external check doesn't need Docker, so it goes first to save an exec while ports are not mapped yet
             Unreliables.retryUntilTrue((int) startupTimeout.getSeconds(), TimeUnit.SECONDS,
-                () -> getRateLimiter().getWhenReady(() -> internalCheck.call() && externalCheck.call()));
+                () -> getRateLimiter().getWhenReady(() -> externalCheck.call() && internalCheck.call()));
 
         } catch (TimeoutException e) {
             throw new ContainerLaunchException("Timed out waiting for container port to open (" +
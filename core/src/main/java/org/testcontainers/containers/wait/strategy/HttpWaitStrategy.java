@@ -2,27 +2,47 @@ package org.testcontainers.containers.wait.strategy;
 
 import com.google.common.base.Strings;
 import com.google.common.io.BaseEncoding;
-import java.util.Optional;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
 import org.rnorth.ducttape.TimeoutException;
 import org.testcontainers.containers.ContainerLaunchException;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URI;
-import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import static org.rnorth.ducttape.unreliables.Unreliables.retryUntilSuccess;
 
+/**
+ * Waits until one or more HTTP endpoints of the container return an expected response.
+ * <p>
+ * Probes are made with a shared HTTP client, so that connections are kept alive and reused between attempts.
+ */
 @Slf4j
 public class HttpWaitStrategy extends AbstractWaitStrategy {
 
+    /**
+     * Client whose connection pool is shared by all HTTP wait strategies
+     */
+    private static final OkHttpClient BASE_CLIENT = new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(5, 30, TimeUnit.SECONDS))
+        .build();
+
     /**
      * Authorization HTTP header.
      */
@@ -39,8 +59,11 @@ public class HttpWaitStrategy extends AbstractWaitStrategy {
     private String username;
     private String password;
     private Predicate<String> responsePredicate;
+    private Predicate<String> responseLinePredicate;
     private Predicate<Integer> statusCodePredicate = null;
     private Optional<Integer> livenessPort = Optional.empty();
+    private final List<Endpoint> additionalEndpoints = new ArrayList<>();
+    private Duration readTimeout = Duration.ZERO;
 
     /**
      * Waits for the given status code.
@@ -108,9 +131,22 @@ public class HttpWaitStrategy extends AbstractWaitStrategy {
         return this;
     }
 
+    /**
+     * Also wait for the given path on the given port. All endpoints must return an expected response.
+     *
+     * @param port the port, as exposed by the container
+     * @param path the path to check
+     * @return this
+     */
+    public HttpWaitStrategy forEndpoint(int port, String path) {
+        this.additionalEndpoints.add(new Endpoint(port, path));
+        return this;
+    }
+
     /**
      * Waits for the response to pass the given predicate
-     * @param responsePredicate The predicate to test the response against
+     * @param responsePredicate The predicate to test the response against. The response is read completely, and
+     *                          its lines are joined without line separators.
      * @return this
      */
     public HttpWaitStrategy forResponsePredicate(Predicate<String> responsePredicate) {
@@ -118,6 +154,30 @@ public class HttpWaitStrategy extends AbstractWaitStrategy {
         return this;
     }
 
+    /**
+     * Waits for a line of the response to pass the given predicate. The response is read line by line, and reading
+     * stops as soon as a line passes, so large responses don't need to be read completely.
+     *
+     * @param responseLinePredicate The predicate to test each line of the response against
+     * @return this
+     */
+    public HttpWaitStrategy forResponseLineMatching(Predicate<String> responseLinePredicate) {
+        this.responseLinePredicate = responseLinePredicate;
+        return this;
+    }
+
+    /**
+     * Set the timeout for connecting to the container and for reading each response. By default there is none, and
+     * each attempt may take until the startup timeout is reached.
+     *
+     * @param readTimeout the timeout for each request, or zero for none
+     * @return this
+     */
+    public HttpWaitStrategy withReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
     @Override
     protected void waitUntilReady() {
         final String containerName = waitStrategyTarget.getContainerInfo().getName();
@@ -134,60 +194,29 @@ public class HttpWaitStrategy extends AbstractWaitStrategy {
         if (null == livenessCheckPort || -1 == livenessCheckPort) {
             return;
         }
-        final String uri = buildLivenessUri(livenessCheckPort).toString();
-        log.info("{}: Waiting for {} seconds for URL: {}", containerName, startupTimeout.getSeconds(), uri);
 
-        // try to connect to the URL
+        // Endpoints that have not returned an expected response yet
+        final Set<String> pendingUris = new LinkedHashSet<>();
+        pendingUris.add(buildLivenessUri(livenessCheckPort, path).toString());
+        for (Endpoint endpoint : additionalEndpoints) {
+            pendingUris.add(buildLivenessUri(waitStrategyTarget.getMappedPort(endpoint.getPort()), endpoint.getPath()).toString());
+        }
+        final String uris = String.join(", ", pendingUris);
+        log.info("{}: Waiting for {} seconds for URL: {}", containerName, startupTimeout.getSeconds(), uris);
+
+        final OkHttpClient client = BASE_CLIENT.newBuilder()
+            .connectTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(readTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+        final Predicate<Integer> predicate = buildStatusCodePredicate();
+
+        // try to connect to the URLs
         try {
             retryUntilSuccess((int) startupTimeout.getSeconds(), TimeUnit.SECONDS, () -> {
                 getRateLimiter().doWhenReady(() -> {
-                    try {
-                        final HttpURLConnection connection = (HttpURLConnection) new URL(uri).openConnection();
-
-                        // authenticate
-                        if (!Strings.isNullOrEmpty(username)) {
-                            connection.setRequestProperty(HEADER_AUTHORIZATION, buildAuthString(username, password));
-                            connection.setUseCaches(false);
-                        }
-
-                        connection.setRequestMethod("GET");
-                        connection.connect();
-
-                        log.trace("Get response code {}", connection.getResponseCode());
-
-                        // Choose the statusCodePredicate strategy depending on what we defined.
-                        Predicate<Integer> predicate;
-                        if (statusCodes.isEmpty() && statusCodePredicate == null) {
-                            // We have no status code and no predicate so we expect a 200 OK response code
-                            predicate = responseCode -> HttpURLConnection.HTTP_OK == responseCode;
-                        } else if (!statusCodes.isEmpty() && statusCodePredicate == null) {
-                            // We use the default status predicate checker when we only have status codes
-                            predicate = responseCode -> statusCodes.contains(responseCode);
-                        } else if (statusCodes.isEmpty()) {
-                            // We only have a predicate
-                            predicate = statusCodePredicate;
-                        } else {
-                            // We have both predicate and status code
-                            predicate = statusCodePredicate.or(responseCode -> statusCodes.contains(responseCode));
-                        }
-                        if (!predicate.test(connection.getResponseCode())) {
-                            throw new RuntimeException(String.format("HTTP response code was: %s",
-                                connection.getResponseCode()));
-                        }
-
-                        if(responsePredicate != null) {
-                            String responseBody = getResponseBody(connection);
-
-                            log.trace("Get response {}", responseBody);
-
-                            if(!responsePredicate.test(responseBody)) {
-                                throw new RuntimeException(String.format("Response: %s did not match predicate",
-                                    responseBody));
-                            }
-                        }
-
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+                    for (String uri : new ArrayList<>(pendingUris)) {
+                        checkUri(client, uri, predicate);
+                        pendingUris.remove(uri);
                     }
                 });
                 return true;
@@ -195,18 +224,72 @@ public class HttpWaitStrategy extends AbstractWaitStrategy {
 
         } catch (TimeoutException e) {
             throw new ContainerLaunchException(String.format(
-                "Timed out waiting for URL to be accessible (%s should return HTTP %s)", uri, statusCodes.isEmpty() ?
+                "Timed out waiting for URL to be accessible (%s should return HTTP %s)", uris, statusCodes.isEmpty() ?
                     HttpURLConnection.HTTP_OK : statusCodes));
         }
     }
 
+    private void checkUri(OkHttpClient client, String uri, Predicate<Integer> predicate) {
+        Request.Builder request = new Request.Builder().url(uri).get();
+
+        // authenticate
+        if (!Strings.isNullOrEmpty(username)) {
+            request.header(HEADER_AUTHORIZATION, buildAuthString(username, password));
+        }
+
+        try (Response response = client.newCall(request.build()).execute()) {
+            log.trace("Get response code {}", response.code());
+
+            if (!predicate.test(response.code())) {
+                throw new RuntimeException(String.format("HTTP response code was: %s", response.code()));
+            }
+
+            if (responsePredicate != null) {
+                List<String> responseLines = getResponseLines(response);
+                String responseBody = String.join("", responseLines);
+
+                log.trace("Get response {}", responseBody);
+
+                if (!responsePredicate.test(responseBody)) {
+                    throw new RuntimeException(String.format("Response: %s did not match predicate",
+                        responseBody));
+                }
+                if (responseLinePredicate != null && responseLines.stream().noneMatch(responseLinePredicate)) {
+                    throw new RuntimeException(String.format("No line of the response from %s matched predicate", uri));
+                }
+            } else if (responseLinePredicate != null && !anyResponseLineMatches(response)) {
+                throw new RuntimeException(String.format("No line of the response from %s matched predicate", uri));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Predicate<Integer> buildStatusCodePredicate() {
+        // Choose the statusCodePredicate strategy depending on what we defined.
+        if (statusCodes.isEmpty() && statusCodePredicate == null) {
+            // We have no status code and no predicate so we expect a 200 OK response code
+            return responseCode -> HttpURLConnection.HTTP_OK == responseCode;
+        } else if (!statusCodes.isEmpty() && statusCodePredicate == null) {
+            // We use the default status predicate checker when we only have status codes
+            return responseCode -> statusCodes.contains(responseCode);
+        } else if (statusCodes.isEmpty()) {
+            // We only have a predicate
+            return statusCodePredicate;
+        } else {
+            // We have both predicate and status code
+            return statusCodePredicate.or(responseCode -> statusCodes.contains(responseCode));
+        }
+    }
+
     /**
      * Build the URI on which to check if the container is ready.
      *
      * @param livenessCheckPort the liveness port
+     * @param path the path to check
      * @return the liveness URI
      */
-    private URI buildLivenessUri(int livenessCheckPort) {
+    private URI buildLivenessUri(int livenessCheckPort, String path) {
         final String scheme = (tlsEnabled ? "https" : "http") + "://";
         final String host = waitStrategyTarget.getContainerIpAddress();
 
@@ -229,19 +312,27 @@ public class HttpWaitStrategy extends AbstractWaitStrategy {
         return AUTH_BASIC + BaseEncoding.base64().encode((username + ":" + password).getBytes());
     }
 
-    private String getResponseBody(HttpURLConnection connection) throws IOException {
-        BufferedReader reader;
-        if (200 <= connection.getResponseCode() && connection.getResponseCode() <= 299) {
-            reader = new BufferedReader(new InputStreamReader((connection.getInputStream())));
-        } else {
-            reader = new BufferedReader(new InputStreamReader((connection.getErrorStream())));
+    private List<String> getResponseLines(Response response) throws IOException {
+        try (BufferedReader reader = new BufferedReader(response.body().charStream())) {
+            return reader.lines().collect(Collectors.toList());
         }
+    }
 
-        StringBuilder builder = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            builder.append(line);
+    private boolean anyResponseLineMatches(Response response) throws IOException {
+        try (BufferedReader reader = new BufferedReader(response.body().charStream())) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (responseLinePredicate.test(line)) {
+                    return true;
+                }
+            }
         }
-        return builder.toString();
+        return false;
+    }
+
+    @Value
+    private static class Endpoint {
+        int port;
+        String path;
     }
 }
@@ -0,0 +1,124 @@
+package org.testcontainers.containers.wait.strategy;
+
+import org.rnorth.ducttape.ratelimits.RateLimiter;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paces the readiness probes for a single container.
+ * <p>
+ * The first probe runs straight away. After that, the interval between probes starts at a few milliseconds and
+ * doubles after every probe, up to a maximum, so that a container which is ready quickly is noticed quickly, while a
+ * slow one is not polled needlessly often. Rather than a limit on how many probes may run per second, there is a limit
+ * on how many of this scheduler's probes may run at the same time, so that the waits for different containers never
+ * hold each other up.
+ * <p>
+ * The number of probes issued since the last {@link #reset()} is counted. Wait strategies take a fresh
+ * {@link #newSchedule() schedule} for each wait, so that concurrent waits do not share state.
+ */
+public class ProbeScheduler extends RateLimiter {
+
+    static final long DEFAULT_INITIAL_INTERVAL_MILLIS = 5;
+
+    private final long initialIntervalMillis;
+
+    private final long maxIntervalMillis;
+
+    private final int maxConcurrentProbes;
+
+    private final Semaphore concurrentProbes;
+
+    private long nextIntervalMillis;
+
+    private final AtomicLong probesIssued = new AtomicLong();
+
+    public ProbeScheduler() {
+        this(DEFAULT_INITIAL_INTERVAL_MILLIS, TestcontainersConfiguration.getInstance().getProbeMaxIntervalMillis());
+    }
+
+    /**
+     * @param initialIntervalMillis interval between the first and second probe
+     * @param maxIntervalMillis     interval that the backoff is capped at
+     */
+    public ProbeScheduler(long initialIntervalMillis, long maxIntervalMillis) {
+        this(initialIntervalMillis, maxIntervalMillis,
+            new Semaphore(Math.max(1, TestcontainersConfiguration.getInstance().getProbeConcurrency()), true));
+    }
+
+    ProbeScheduler(long initialIntervalMillis, long maxIntervalMillis, Semaphore concurrentProbes) {
+        if (initialIntervalMillis < 0 || maxIntervalMillis < initialIntervalMillis) {
+            throw new IllegalArgumentException(
+                "Invalid probe intervals: initial " + initialIntervalMillis + "ms, max " + maxIntervalMillis + "ms");
+        }
+        this.initialIntervalMillis = initialIntervalMillis;
+        this.maxIntervalMillis = maxIntervalMillis;
+        this.maxConcurrentProbes = concurrentProbes.availablePermits();
+        this.concurrentProbes = concurrentProbes;
+    }
+
+    /**
+     * @return a scheduler with the same intervals and limit, whose first probe runs straight away
+     */
+    public ProbeScheduler newSchedule() {
+        return new ProbeScheduler(initialIntervalMillis, maxIntervalMillis, new Semaphore(maxConcurrentProbes, true));
+    }
+
+    /**
+     * Start over: the next probe runs straight away, and the probe count is cleared.
+     */
+    public synchronized void reset() {
+        nextIntervalMillis = 0;
+        probesIssued.set(0);
+    }
+
+    /**
+     * @return the number of probes issued since the last {@link #reset()}
+     */
+    public long getProbesIssued() {
+        return probesIssued.get();
+    }
+
+    @Override
+    protected synchronized long getWaitBeforeNextInvocation() {
+        long interval = nextIntervalMillis;
+        nextIntervalMillis = interval == 0
+            ? initialIntervalMillis
+            : Math.min(interval * 2, maxIntervalMillis);
+        return interval;
+    }
+
+    @Override
+    public void doWhenReady(Runnable runnable) {
+        try {
+            getWhenReady(() -> {
+                runnable.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public <T> T getWhenReady(Callable<T> callable) throws Exception {
+        long interval = getWaitBeforeNextInvocation();
+        if (interval > 0) {
+            TimeUnit.MILLISECONDS.sleep(interval);
+        }
+
+        concurrentProbes.acquire();
+        try {
+            probesIssued.incrementAndGet();
+            return callable.call();
+        } finally {
+            concurrentProbes.release();
+            lastInvocation = System.currentTimeMillis();
+        }
+    }
+}
@@ -69,4 +69,32 @@ public class Wait {
     public static DockerHealthcheckWaitStrategy forHealthcheck() {
         return new DockerHealthcheckWaitStrategy();
     }
+
+    /**
+     * Convenience method to return a WaitStrategy that waits for all of the given strategies at the same time.
+     *
+     * @param strategies the strategies to wait for
+     * @return WaitAllStrategy
+     */
+    public static WaitAllStrategy forAllOf(WaitStrategy... strategies) {
+        WaitAllStrategy waitAllStrategy = new WaitAllStrategy().inParallel();
+        for (WaitStrategy strategy : strategies) {
+            waitAllStrategy.withStrategy(strategy);
+        }
+        return waitAllStrategy;
+    }
+
+    /**
+     * Convenience method to return a WaitStrategy that waits until any one of the given strategies passes.
+     *
+     * @param strategies the strategies to wait for
+     * @return WaitAnyStrategy
+     */
+    public static WaitAnyStrategy forAnyOf(WaitStrategy... strategies) {
+        WaitAnyStrategy waitAnyStrategy = new WaitAnyStrategy();
+        for (WaitStrategy strategy : strategies) {
+            waitAnyStrategy.withStrategy(strategy);
+        }
+        return waitAnyStrategy;
+    }
 }
@@ -7,13 +7,24 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Wait strategy that waits for a number of other strategies to pass, by default one after another.
+ * <p>
+ * Strategies that watch independent signals can be waited for at the same time using {@link #inParallel()}.
+ */
 public class WaitAllStrategy implements WaitStrategy {
 
     private final List<WaitStrategy> strategies = new ArrayList<>();
     private Duration timeout = Duration.ofSeconds(30);
+    private boolean parallel = false;
 
     @Override
     public void waitUntilReady(WaitStrategyTarget waitStrategyTarget) {
+        if (parallel) {
+            ConcurrentWaits.waitForAll(strategies, waitStrategyTarget, timeout);
+            return;
+        }
+
         Timeouts.doWithTimeout((int) timeout.toMillis(), TimeUnit.MILLISECONDS, () -> {
             for (WaitStrategy strategy : strategies) {
                 strategy.waitUntilReady(waitStrategyTarget);
@@ -26,6 +37,17 @@ public class WaitAllStrategy implements WaitStrategy {
         return this;
     }
 
+    /**
+     * Wait for all strategies at the same time, so that waiting takes as long as the slowest of them rather than the
+     * sum of all of them. If one of them fails, the others are cancelled.
+     *
+     * @return this
+     */
+    public WaitAllStrategy inParallel() {
+        this.parallel = true;
+        return this;
+    }
+
     @Override
     public WaitStrategy withStartupTimeout(Duration startupTimeout) {
         this.timeout = startupTimeout;
@@ -0,0 +1,31 @@
+package org.testcontainers.containers.wait.strategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wait strategy that waits for any one of a number of other strategies to pass. All strategies are waited for at the
+ * same time; once one of them passes, the others are cancelled.
+ */
+public class WaitAnyStrategy implements WaitStrategy {
+
+    private final List<WaitStrategy> strategies = new ArrayList<>();
+    private Duration timeout = Duration.ofSeconds(30);
+
+    @Override
+    public void waitUntilReady(WaitStrategyTarget waitStrategyTarget) {
+        ConcurrentWaits.waitForAny(strategies, waitStrategyTarget, timeout);
+    }
+
+    public WaitAnyStrategy withStrategy(WaitStrategy strategy) {
+        this.strategies.add(strategy);
+        return this;
+    }
+
+    @Override
+    public WaitStrategy withStartupTimeout(Duration startupTimeout) {
+        this.timeout = startupTimeout;
+        return this;
+    }
+}
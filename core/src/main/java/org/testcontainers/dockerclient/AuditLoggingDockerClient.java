@@ -5,6 +5,7 @@ import com.github.dockerjava.api.command.*;
 import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
+import org.testcontainers.utility.ContainerEventMonitor;
 
 import java.lang.reflect.Proxy;
 import java.util.function.BiConsumer;
@@ -13,7 +14,8 @@ import static org.testcontainers.utility.AuditLogger.doLog;
 
 /**
  * Wrapper for {@link DockerClient} to facilitate 'audit logging' of potentially destruction actions using
- * {@link org.testcontainers.utility.AuditLogger}.
+ * {@link org.testcontainers.utility.AuditLogger}. Changes to the state of a container are also passed on to the
+ * {@link ContainerEventMonitor}, so that its cached state is not used afterwards.
  */
 @Slf4j
 @SuppressWarnings("unchecked")
@@ -39,32 +41,56 @@ public class AuditLoggingDockerClient implements DockerClient {
     public StartContainerCmd startContainerCmd(@NotNull String containerId) {
         return wrappedCommand(StartContainerCmd.class,
                 wrappedClient.startContainerCmd(containerId),
-                (cmd, res) -> doLog("START", null, containerId, cmd),
-                (cmd, e) -> doLog("START", null, containerId, cmd, e));
+                (cmd, res) -> {
+                    doLog("START", null, containerId, cmd);
+                    ContainerEventMonitor.containerChanged(containerId);
+                },
+                (cmd, e) -> {
+                    doLog("START", null, containerId, cmd, e);
+                    ContainerEventMonitor.containerChanged(containerId);
+                });
     }
 
     @Override
     public RemoveContainerCmd removeContainerCmd(@NotNull String containerId) {
         return wrappedCommand(RemoveContainerCmd.class,
                 wrappedClient.removeContainerCmd(containerId),
-                (cmd, res) -> doLog("REMOVE", null, containerId, cmd),
-                (cmd, e) -> doLog("REMOVE", null, containerId, cmd, e));
+                (cmd, res) -> {
+                    doLog("REMOVE", null, containerId, cmd);
+                    ContainerEventMonitor.containerChanged(containerId);
+                },
+                (cmd, e) -> {
+                    doLog("REMOVE", null, containerId, cmd, e);
+                    ContainerEventMonitor.containerChanged(containerId);
+                });
     }
 
     @Override
     public StopContainerCmd stopContainerCmd(@NotNull String containerId) {
         return wrappedCommand(StopContainerCmd.class,
                 wrappedClient.stopContainerCmd(containerId),
-                (cmd, res) -> doLog("STOP", null, containerId, cmd),
-                (cmd, e) -> doLog("STOP", null, containerId, cmd, e));
+                (cmd, res) -> {
+                    doLog("STOP", null, containerId, cmd);
+                    ContainerEventMonitor.containerChanged(containerId);
+                },
+                (cmd, e) -> {
+                    doLog("STOP", null, containerId, cmd, e);
+                    ContainerEventMonitor.containerChanged(containerId);
+                });
     }
 
     @Override
     public KillContainerCmd killContainerCmd(@NotNull String containerId) {
         return wrappedCommand(KillContainerCmd.class,
                 wrappedClient.killContainerCmd(containerId),
-                (cmd, res) -> doLog("KILL", null, containerId, cmd),
-                (cmd, e) -> doLog("KILL", null, containerId, cmd, e));
+                (cmd, res) -> {
+                    doLog("KILL", null, containerId, cmd);
+                    ContainerEventMonitor.containerChanged(containerId);
+                },
+                (cmd, e) -> {
+                    doLog("KILL", null, containerId, cmd, e);
+                    ContainerEventMonitor.containerChanged(containerId);
+                });
     }
 
     @Override
@@ -16,6 +16,7 @@ import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.internal.Internal;
 import org.apache.commons.io.IOUtils;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.X509TrustManager;
@@ -31,10 +32,31 @@ public class OkHttpDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
 
     private static final String SOCKET_SUFFIX = ".socket";
 
+    private final int unixSocketPoolSize;
+
+    private final long unixSocketKeepAliveSeconds;
+
     private OkHttpClient okHttpClient;
 
     private HttpUrl baseUrl;
 
+    public OkHttpDockerCmdExecFactory() {
+        this(
+            TestcontainersConfiguration.getInstance().getTransportPoolSize(),
+            TestcontainersConfiguration.getInstance().getTransportPoolKeepAliveSeconds()
+        );
+    }
+
+    /**
+     * @param unixSocketPoolSize         maximum number of idle unix socket connections to keep for reuse, or 0 to open
+     *                                   a new connection for every call
+     * @param unixSocketKeepAliveSeconds how long idle unix socket connections are kept
+     */
+    public OkHttpDockerCmdExecFactory(int unixSocketPoolSize, long unixSocketKeepAliveSeconds) {
+        this.unixSocketPoolSize = unixSocketPoolSize;
+        this.unixSocketKeepAliveSeconds = unixSocketKeepAliveSeconds;
+    }
+
     @Override
     @SneakyThrows
     public void init(DockerClientConfig dockerClientConfig) {
@@ -50,17 +72,23 @@ public class OkHttpDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
             case "npipe":
                 String socketPath = dockerHost.getPath();
 
-                if ("unix".equals(dockerHost.getScheme())) {
+                if ("unix".equals(dockerHost.getScheme()) && unixSocketPoolSize > 0) {
+                    clientBuilder
+                        .socketFactory(new UnixSocketFactory(socketPath))
+                        .connectionPool(new ConnectionPool(unixSocketPoolSize, unixSocketKeepAliveSeconds, TimeUnit.SECONDS));
+                } else if ("unix".equals(dockerHost.getScheme())) {
                     clientBuilder
-                        .socketFactory(new UnixSocketFactory(socketPath));
+                        .socketFactory(new UnixSocketFactory(socketPath))
+                        // Disable pooling
+                        .connectionPool(new ConnectionPool(0, 1, TimeUnit.SECONDS));
                 } else {
                     clientBuilder
-                        .socketFactory(new NamedPipeSocketFactory(socketPath));
+                        .socketFactory(new NamedPipeSocketFactory(socketPath))
+                        // Disable pooling
+                        .connectionPool(new ConnectionPool(0, 1, TimeUnit.SECONDS));
                 }
 
                 clientBuilder
-                    // Disable pooling
-                    .connectionPool(new ConnectionPool(0, 1, TimeUnit.SECONDS))
                     .dns(hostname -> {
                         if (hostname.endsWith(SOCKET_SUFFIX)) {
                             return Collections.singletonList(InetAddress.getByAddress(hostname, new byte[]{0, 0, 0, 0}));
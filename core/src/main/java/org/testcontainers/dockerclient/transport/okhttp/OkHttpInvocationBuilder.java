@@ -38,13 +38,21 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
-import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 @Slf4j
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 class OkHttpInvocationBuilder implements InvocationBuilder {
 
+    /*
+     * Runs streaming calls, which may last as long as a container runs (e.g. following its output), so it is not bounded
+     */
+    private static final ExecutorService STREAMING_EXECUTOR = Executors.newCachedThreadPool(
+        DockerClientFactory.daemonThreadFactory("tc-okhttp-stream-%d")
+    );
+
     ObjectMapper objectMapper;
 
     OkHttpClient okHttpClient;
@@ -155,15 +163,16 @@ class OkHttpInvocationBuilder implements InvocationBuilder {
         OkHttpClient okHttpClient = this.okHttpClient;
 
         if (stdin != null) {
+            // The connection is taken over to write stdin, so it must not be reused
+            request = request.newBuilder().header("Connection", "close").build();
+
             // FIXME there must be a better way of handling it
             okHttpClient = okHttpClient.newBuilder()
                 .addNetworkInterceptor(chain -> {
                     Response response = chain.proceed(chain.request());
                     if (response.isSuccessful()) {
-                        Thread thread = new Thread() {
-                            @Override
-                            @SneakyThrows
-                            public void run() {
+                        STREAMING_EXECUTOR.execute(() -> {
+                            try {
                                 Field sinkField = RealConnection.class.getDeclaredField("sink");
                                 sinkField.setAccessible(true);
 
@@ -171,11 +180,15 @@ class OkHttpInvocationBuilder implements InvocationBuilder {
                                     BufferedSink sink = (BufferedSink) sinkField.get(chain.connection());
                                     Source source = Okio.source(stdin);
                                 ) {
-                                    sink.writeAll(source);
+                                    // Flush whatever is available, so that interactive input isn't held back
+                                    while (source.read(sink.buffer(), 8192) != -1) {
+                                        sink.flush();
+                                    }
                                 }
+                            } catch (Exception e) {
+                                log.warn("Failed to write stdin", e);
                             }
-                        };
-                        thread.start();
+                        });
                     }
                     return response;
                 })
@@ -290,7 +303,7 @@ class OkHttpInvocationBuilder implements InvocationBuilder {
     }
 
     protected <T> void executeAndStream(OkHttpClient okHttpClient, Request request, ResultCallback<T> callback, Consumer<BufferedSource> sourceConsumer) {
-        Thread thread = new Thread(DockerClientFactory.TESTCONTAINERS_THREAD_GROUP, () -> {
+        STREAMING_EXECUTOR.execute(() -> {
             try (
                 Response response = execute(okHttpClient, request.newBuilder().tag("streaming").build());
                 BufferedSource source = response.body().source();
@@ -301,10 +314,7 @@ class OkHttpInvocationBuilder implements InvocationBuilder {
             } catch (Exception e) {
                 callback.onError(e);
             }
-        }, "tc-okhttp-stream-" + Objects.hashCode(request));
-        thread.setDaemon(true);
-
-        thread.start();
+        });
     }
 
     @RequiredArgsConstructor
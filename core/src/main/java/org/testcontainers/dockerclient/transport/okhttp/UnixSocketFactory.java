@@ -14,6 +14,7 @@ import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -25,6 +26,15 @@ public class UnixSocketFactory extends SocketFactory {
     @SneakyThrows
     public Socket createSocket() {
         return new UnixDomainSocket(socketPath) {
+
+            private volatile int soTimeout = 0;
+
+            private volatile boolean inputShutdown = false;
+
+            private volatile boolean outputShutdown = false;
+
+            private volatile boolean closed = false;
+
             @Override
             public void connect(SocketAddress endpoint, int timeout) throws IOException {
                 // Do nothing since it's not "connectable"
@@ -33,6 +43,18 @@ public class UnixSocketFactory extends SocketFactory {
             @Override
             public InputStream getInputStream() {
                 return new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public int read() throws IOException {
+                        checkReadTimeout();
+                        return super.read();
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        checkReadTimeout();
+                        return super.read(b, off, len);
+                    }
+
                     @Override
                     public void close() throws IOException {
                         shutdownInput();
@@ -55,6 +77,59 @@ public class UnixSocketFactory extends SocketFactory {
                     }
                 };
             }
+
+            /*
+             * Reads from a unix socket cannot time out. The Docker client never sets a read timeout, so OkHttp only sets
+             * one to probe whether a pooled connection is still usable; report "no data yet" instead of blocking forever.
+             */
+            private void checkReadTimeout() throws SocketTimeoutException {
+                if (soTimeout > 0) {
+                    throw new SocketTimeoutException("Read timeouts are not supported by unix sockets");
+                }
+            }
+
+            @Override
+            public void setSoTimeout(int timeout) {
+                soTimeout = timeout;
+            }
+
+            @Override
+            public int getSoTimeout() {
+                return soTimeout;
+            }
+
+            @Override
+            public void shutdownInput() throws IOException {
+                inputShutdown = true;
+                super.shutdownInput();
+            }
+
+            @Override
+            public void shutdownOutput() throws IOException {
+                outputShutdown = true;
+                super.shutdownOutput();
+            }
+
+            @Override
+            public void close() throws IOException {
+                closed = true;
+                super.close();
+            }
+
+            @Override
+            public boolean isInputShutdown() {
+                return inputShutdown;
+            }
+
+            @Override
+            public boolean isOutputShutdown() {
+                return outputShutdown;
+            }
+
+            @Override
+            public boolean isClosed() {
+                return closed;
+            }
         };
     }
 
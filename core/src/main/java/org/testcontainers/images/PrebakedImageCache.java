@@ -0,0 +1,135 @@
+package org.testcontainers.images;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.ConflictException;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.SharedPropertiesFile;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps images committed from containers that have been set up, such as databases with their init script applied, so
+ * that later containers can start from them instead of repeating the setup.
+ * <p>
+ * Images are tagged by a hash of everything that went into the setup, so a change to any of it results in a new
+ * image. The number of images kept is bounded by {@link TestcontainersConfiguration#getPrebakedImageCacheSize()}: the
+ * least recently used images are removed first. When each image was last used is recorded in a file in the user's
+ * home directory, so that it is shared between test runs and JVMs running at the same time.
+ */
+@Slf4j
+public final class PrebakedImageCache {
+
+    public static final String REPOSITORY = "testcontainers-prebaked";
+
+    public static final String PREBAKED_LABEL = DockerClientFactory.TESTCONTAINERS_LABEL + ".prebaked";
+
+    private static final File INDEX_FILE = new File(System.getProperty("user.home"), ".testcontainers-prebaked-images.properties");
+
+    private static final PrebakedImageCache INSTANCE = new PrebakedImageCache(INDEX_FILE,
+        TestcontainersConfiguration.getInstance().getPrebakedImageCacheSize());
+
+    private final SharedPropertiesFile index;
+
+    private final int maxImages;
+
+    PrebakedImageCache(File indexFile, int maxImages) {
+        this.index = new SharedPropertiesFile(indexFile, "Prebaked images and when they were last used, maintained by Testcontainers");
+        this.maxImages = maxImages;
+    }
+
+    public static PrebakedImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param key everything that went into setting up the container, e.g. its image, configuration and scripts
+     * @return the name of the image for containers set up this way
+     */
+    public String imageName(String key) {
+        return REPOSITORY + ":" + Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString().substring(0, 32);
+    }
+
+    /**
+     * Check whether an image has been committed, and record that it is being used if so.
+     *
+     * @param imageName a name returned by {@link #imageName(String)}
+     * @return whether the image is available locally
+     */
+    public boolean isAvailable(String imageName) {
+        DockerClient client = DockerClientFactory.instance().client();
+        try {
+            client.inspectImageCmd(imageName).exec();
+        } catch (NotFoundException e) {
+            if (index.read().containsKey(imageName)) {
+                index.update(images -> images.remove(imageName));
+            }
+            return false;
+        }
+
+        index.update(images -> images.setProperty(imageName, Long.toString(System.currentTimeMillis())));
+        return true;
+    }
+
+    /**
+     * Commit a container to an image, removing the least recently used images if there are too many.
+     *
+     * @param containerId the container to commit
+     * @param imageName   a name returned by {@link #imageName(String)}
+     */
+    public void commit(String containerId, String imageName) {
+        DockerClient client = DockerClientFactory.instance().client();
+        String[] nameParts = imageName.split(":", 2);
+
+        long start = System.currentTimeMillis();
+        client.commitCmd(containerId)
+            .withRepository(nameParts[0])
+            .withTag(nameParts[1])
+            // The container's own labels are merged into the image, but the session label would make the image
+            // subject to clean up at the end of this session
+            .withLabels(ImmutableMap.of(
+                PREBAKED_LABEL, "true",
+                DockerClientFactory.TESTCONTAINERS_SESSION_ID_LABEL, "none"
+            ))
+            .exec();
+        log.info("Committed container {} to image {} in {} ms", containerId, imageName, System.currentTimeMillis() - start);
+
+        index.update(images -> {
+            images.setProperty(imageName, Long.toString(System.currentTimeMillis()));
+            evict(client, images);
+        });
+    }
+
+    private void evict(DockerClient client, Properties images) {
+        if (images.size() <= maxImages) {
+            return;
+        }
+
+        List<String> leastRecentlyUsed = images.stringPropertyNames().stream()
+            .sorted(Comparator.comparingLong(name -> Long.parseLong(images.getProperty(name))))
+            .limit(images.size() - maxImages)
+            .collect(Collectors.toList());
+
+        for (String imageName : leastRecentlyUsed) {
+            try {
+                client.removeImageCmd(imageName).exec();
+                log.debug("Removed least recently used image {}", imageName);
+            } catch (NotFoundException e) {
+                log.debug("Image {} has already been removed", imageName);
+            } catch (ConflictException e) {
+                log.debug("Image {} is in use, so it is kept for now", imageName);
+                continue;
+            }
+            images.remove(imageName);
+        }
+    }
+}
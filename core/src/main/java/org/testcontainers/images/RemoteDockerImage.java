@@ -5,6 +5,7 @@ import com.github.dockerjava.api.command.ListImagesCmd;
 import com.github.dockerjava.api.exception.DockerClientException;
 import com.github.dockerjava.api.model.Image;
 import com.github.dockerjava.core.command.PullImageResultCallback;
+import com.google.common.collect.Sets;
 import lombok.NonNull;
 import lombok.ToString;
 import org.slf4j.Logger;
@@ -14,18 +15,38 @@ import org.testcontainers.containers.ContainerFetchException;
 import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.DockerLoggerFactory;
 import org.testcontainers.utility.LazyFuture;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.stream.Stream;
 
+/**
+ * Resolves to the name of an image, once it is available locally.
+ * <p>
+ * Images are pulled on a bounded pool, and at most once at a time: concurrent requests for an image that is already
+ * being pulled wait for the same pull. Use {@link #prefetch(Collection)} to start pulling the images a test suite needs
+ * before they are used.
+ */
 @ToString
 public class RemoteDockerImage extends LazyFuture<String> {
 
-    public static final Set<DockerImageName> AVAILABLE_IMAGE_NAME_CACHE = new HashSet<>();
+    public static final Set<DockerImageName> AVAILABLE_IMAGE_NAME_CACHE = Sets.newConcurrentHashSet();
+
+    private static final ConcurrentMap<DockerImageName, CompletableFuture<Void>> PULLS_IN_PROGRESS = new ConcurrentHashMap<>();
+
+    private static final Executor PULL_EXECUTOR = Executors.newFixedThreadPool(
+        TestcontainersConfiguration.getInstance().getImagePullParallelism(),
+        DockerClientFactory.daemonThreadFactory("testcontainers-pull-%d")
+    );
 
     private DockerImageName imageName;
 
@@ -37,80 +58,140 @@ public class RemoteDockerImage extends LazyFuture<String> {
         imageName = new DockerImageName(repository, tag);
     }
 
+    /**
+     * Start making the given images available locally, pulling several of them at the same time.
+     *
+     * @param imageNames images that will be needed
+     * @return a {@link CompletableFuture} that resolves once all images are available
+     */
+    public static CompletableFuture<Void> prefetch(Collection<DockerImageName> imageNames) {
+        return CompletableFuture.allOf(imageNames.stream()
+            .distinct()
+            .map(RemoteDockerImage::fetch)
+            .toArray(CompletableFuture[]::new));
+    }
+
     @Override
     protected final String resolve() {
         Profiler profiler = new Profiler("Rule creation - prefetch image");
         Logger logger = DockerLoggerFactory.getLogger(imageName.toString());
         profiler.setLogger(logger);
 
-        Profiler nested = profiler.startNested("Obtaining client");
-        DockerClient dockerClient = DockerClientFactory.instance().client();
         try {
-            nested.stop();
-
             profiler.start("Check local images");
-
-            int attempts = 0;
-            Exception lastException = null;
-            while (true) {
-                // Does our cache already know the image?
-                if (AVAILABLE_IMAGE_NAME_CACHE.contains(imageName)) {
-                    logger.trace("{} is already in image name cache", imageName);
-                    break;
-                }
-
-                // Update the cache
-                ListImagesCmd listImagesCmd = dockerClient.listImagesCmd();
-
-                if (Boolean.parseBoolean(System.getProperty("useFilter"))) {
-                    listImagesCmd = listImagesCmd.withImageNameFilter(imageName.toString());
-                }
-
-                List<Image> updatedImages = listImagesCmd.exec();
-                updatedImages.stream()
-                    .map(Image::getRepoTags)
-                    .filter(Objects::nonNull)
-                    .flatMap(Stream::of)
-                    .map(DockerImageName::new)
-                    .collect(Collectors.toCollection(() -> AVAILABLE_IMAGE_NAME_CACHE));
-
-                // And now?
-                if (AVAILABLE_IMAGE_NAME_CACHE.contains(imageName)) {
-                    logger.trace("{} is in image name cache following listing of images", imageName);
-                    break;
-                }
-
-                // Log only on first attempt
-                if (attempts == 0) {
-                    logger.info("Pulling docker image: {}. Please be patient; this may take some time but only needs to be done once.", imageName);
-                    profiler.start("Pull image");
-                }
-
-                if (attempts++ >= 3) {
-                    logger.error("Retry limit reached while trying to pull image: {}. Please check output of `docker pull {}`", imageName, imageName);
-                    throw new ContainerFetchException("Retry limit reached while trying to pull image: " + imageName, lastException);
-                }
-
-                // The image is not available locally - pull it
-                try {
-                    final PullImageResultCallback callback = new PullImageResultCallback();
-                    dockerClient
-                        .pullImageCmd(imageName.getUnversionedPart())
-                        .withTag(imageName.getVersionPart())
-                        .exec(callback);
-                    callback.awaitCompletion();
-                    AVAILABLE_IMAGE_NAME_CACHE.add(imageName);
-                    break;
-                } catch (Exception e) {
-                    lastException = e;
-                }
+            if (AVAILABLE_IMAGE_NAME_CACHE.contains(imageName)) {
+                logger.trace("{} is already in image name cache", imageName);
+                return imageName.toString();
             }
 
+            profiler.start("Fetch image");
+            fetch(imageName).join();
+
             return imageName.toString();
-        } catch (DockerClientException e) {
-            throw new ContainerFetchException("Failed to get Docker client for " + imageName, e);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         } finally {
             profiler.stop().log();
         }
     }
+
+    /**
+     * @return a {@link CompletableFuture} which resolves once the image is available locally, shared by everyone who
+     * needs the image while it is being pulled
+     */
+    private static CompletableFuture<Void> fetch(DockerImageName imageName) {
+        if (AVAILABLE_IMAGE_NAME_CACHE.contains(imageName)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> fetch = new CompletableFuture<>();
+        CompletableFuture<Void> existingFetch = PULLS_IN_PROGRESS.putIfAbsent(imageName, fetch);
+        if (existingFetch != null) {
+            return existingFetch;
+        }
+
+        PULL_EXECUTOR.execute(() -> {
+            try {
+                fetchSynchronously(imageName);
+                PULLS_IN_PROGRESS.remove(imageName, fetch);
+                fetch.complete(null);
+            } catch (Throwable e) {
+                // Allow a later attempt to pull the image again
+                PULLS_IN_PROGRESS.remove(imageName, fetch);
+                fetch.completeExceptionally(e);
+            }
+        });
+        return fetch;
+    }
+
+    private static void fetchSynchronously(DockerImageName imageName) {
+        Logger logger = DockerLoggerFactory.getLogger(imageName.toString());
+
+        try {
+            DockerClient dockerClient = DockerClientFactory.instance().client();
+            pullIfMissing(dockerClient, imageName, logger);
+        } catch (DockerClientException e) {
+            throw new ContainerFetchException("Failed to get Docker client for " + imageName, e);
+        }
+    }
+
+    private static void pullIfMissing(DockerClient dockerClient, DockerImageName imageName, Logger logger) {
+        int attempts = 0;
+        Exception lastException = null;
+        while (true) {
+            // Does our cache already know the image?
+            if (AVAILABLE_IMAGE_NAME_CACHE.contains(imageName)) {
+                logger.trace("{} is already in image name cache", imageName);
+                return;
+            }
+
+            // Update the cache
+            ListImagesCmd listImagesCmd = dockerClient.listImagesCmd();
+
+            if (Boolean.parseBoolean(System.getProperty("useFilter"))) {
+                listImagesCmd = listImagesCmd.withImageNameFilter(imageName.toString());
+            }
+
+            List<Image> updatedImages = listImagesCmd.exec();
+            updatedImages.stream()
+                .map(Image::getRepoTags)
+                .filter(Objects::nonNull)
+                .flatMap(Stream::of)
+                .map(DockerImageName::new)
+                .forEach(AVAILABLE_IMAGE_NAME_CACHE::add);
+
+            // And now?
+            if (AVAILABLE_IMAGE_NAME_CACHE.contains(imageName)) {
+                logger.trace("{} is in image name cache following listing of images", imageName);
+                return;
+            }
+
+            // Log only on first attempt
+            if (attempts == 0) {
+                logger.info("Pulling docker image: {}. Please be patient; this may take some time but only needs to be done once.", imageName);
+            }
+
+            if (attempts++ >= 3) {
+                logger.error("Retry limit reached while trying to pull image: {}. Please check output of `docker pull {}`", imageName, imageName);
+                throw new ContainerFetchException("Retry limit reached while trying to pull image: " + imageName, lastException);
+            }
+
+            // The image is not available locally - pull it
+            try {
+                final PullImageResultCallback callback = new PullImageResultCallback();
+                dockerClient
+                    .pullImageCmd(imageName.getUnversionedPart())
+                    .withTag(imageName.getVersionPart())
+                    .exec(callback);
+                callback.awaitCompletion();
+                AVAILABLE_IMAGE_NAME_CACHE.add(imageName);
+                return;
+            } catch (Exception e) {
+                lastException = e;
+            }
+        }
+    }
 }
@@ -0,0 +1,156 @@
+package org.testcontainers.images.builder;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Image;
+import com.google.common.io.ByteStreams;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.utility.SharedPropertiesFile;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps images built by {@link ImageFromDockerfile} across JVM runs, tagged by a hash of their build context, so that
+ * an unchanged build context does not have to be built again.
+ * <p>
+ * Cached images are labelled with {@link #LABEL}. When a build context is used, the time is recorded in a file in the
+ * user's home directory, and the least recently used cached images are removed once there are more than the maximum
+ * number of them.
+ */
+@Slf4j
+class ImageBuildCache {
+
+    static final String LABEL = "org.testcontainers.build-cache";
+
+    private static final String REPOSITORY = "testcontainers/build-cache";
+
+    private static final SharedPropertiesFile INDEX = new SharedPropertiesFile(
+        new File(System.getProperty("user.home"), ".testcontainers-build-cache.properties"),
+        "Last use of images cached by Testcontainers' ImageFromDockerfile"
+    );
+
+    private final DockerClient dockerClient;
+
+    private final int maxSize;
+
+    ImageBuildCache(DockerClient dockerClient, int maxSize) {
+        this.dockerClient = dockerClient;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return an image name which is the same for every build context with the same paths, file modes and contents
+     */
+    static String imageNameFor(Map<String, Transferable> transferables) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (HashingTarArchiveOutputStream hashingArchive = new HashingTarArchiveOutputStream(digest)) {
+            new TreeMap<>(transferables).forEach((path, transferable) -> transferable.transferTo(hashingArchive, path));
+        } catch (IOException e) {
+            throw new RuntimeException("Can't hash build context", e);
+        }
+
+        StringBuilder tag = new StringBuilder(REPOSITORY).append(':');
+        for (byte b : Arrays.copyOf(digest.digest(), 16)) {
+            tag.append(String.format("%02x", b));
+        }
+        return tag.toString();
+    }
+
+    boolean contains(String imageName) {
+        try {
+            dockerClient.inspectImageCmd(imageName).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Record that the image has been used, and remove the least recently used cached images over the maximum.
+     */
+    void markUsed(String imageName) {
+        INDEX.update(lastUsed -> {
+            lastUsed.setProperty(imageName, Long.toString(System.currentTimeMillis()));
+
+            List<String> cachedImageNames = dockerClient.listImagesCmd().withLabelFilter(LABEL).exec().stream()
+                .map(Image::getRepoTags)
+                .filter(repoTags -> repoTags != null)
+                .flatMap(Arrays::stream)
+                .filter(repoTag -> repoTag.startsWith(REPOSITORY + ":"))
+                .sorted(Comparator.comparingLong(repoTag -> Long.parseLong(lastUsed.getProperty(repoTag, "0"))))
+                .collect(Collectors.toList());
+
+            for (int i = 0; i < cachedImageNames.size() - maxSize; i++) {
+                String evictedImageName = cachedImageNames.get(i);
+                if (evictedImageName.equals(imageName)) {
+                    continue;
+                }
+
+                log.info("Removing least recently used cached image {}", evictedImageName);
+                try {
+                    dockerClient.removeImageCmd(evictedImageName).exec();
+                } catch (DockerException e) {
+                    // e.g. still used by a container; try again next time
+                    log.debug("Unable to remove cached image {}", evictedImageName, e);
+                    continue;
+                }
+                lastUsed.remove(evictedImageName);
+            }
+
+            // Forget images which were removed by other means
+            lastUsed.stringPropertyNames().stream()
+                .filter(name -> !cachedImageNames.contains(name) && !name.equals(imageName))
+                .forEach(lastUsed::remove);
+        });
+    }
+
+    /**
+     * Hashes the names, modes, sizes and contents of the entries written to it, but not their modification times,
+     * which differ between runs.
+     */
+    private static class HashingTarArchiveOutputStream extends TarArchiveOutputStream {
+
+        private final MessageDigest digest;
+
+        private HashingTarArchiveOutputStream(MessageDigest digest) {
+            super(ByteStreams.nullOutputStream());
+            this.digest = digest;
+            setLongFileMode(LONGFILE_POSIX);
+            setBigNumberMode(BIGNUMBER_POSIX);
+        }
+
+        @Override
+        public void putArchiveEntry(ArchiveEntry archiveEntry) throws IOException {
+            TarArchiveEntry entry = (TarArchiveEntry) archiveEntry;
+            String header = entry.getName() + '\0' + entry.getMode() + '\0' + entry.getSize() + '\0' + entry.getLinkName() + '\0';
+            digest.update(header.getBytes(StandardCharsets.UTF_8));
+            super.putArchiveEntry(archiveEntry);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            digest.update(b, off, len);
+            super.write(b, off, len);
+        }
+    }
+}
@@ -18,6 +18,7 @@ import org.testcontainers.images.builder.traits.*;
 import org.testcontainers.utility.Base58;
 import org.testcontainers.utility.DockerLoggerFactory;
 import org.testcontainers.utility.LazyFuture;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
 import java.io.IOException;
 import java.io.PipedInputStream;
@@ -60,6 +61,8 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
 
     private boolean deleteOnExit = true;
 
+    private boolean buildCache = false;
+
     private final Map<String, Transferable> transferables = new HashMap<>();
 
     public ImageFromDockerfile() {
@@ -75,6 +78,23 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
         this.deleteOnExit = deleteOnExit;
     }
 
+    /**
+     * Reuse the image built from an identical build context, including in later JVM runs, instead of building it again.
+     * <p>
+     * The image is tagged with a hash of the paths, file modes and contents of the build context, and is not deleted
+     * on exit; the name passed to the constructor is not used. Only the least recently used cached images are kept, up
+     * to the {@code build.cache.size} configuration property.
+     * <p>
+     * Customizations of the build in {@link #configure(BuildImageCmd)} are not part of the hash.
+     *
+     * @param buildCache whether to reuse images built from an identical build context
+     * @return this
+     */
+    public ImageFromDockerfile withBuildCache(boolean buildCache) {
+        this.buildCache = buildCache;
+        return this;
+    }
+
     @Override
     public ImageFromDockerfile withFileFromTransferable(String path, Transferable transferable) {
         Transferable oldValue = transferables.put(path, transferable);
@@ -95,7 +115,19 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
 
         DockerClient dockerClient = DockerClientFactory.instance().client();
         try {
-            if (deleteOnExit) {
+            String imageName = dockerImageName;
+            ImageBuildCache cache = null;
+            if (buildCache) {
+                profiler.start("Hash build context");
+                cache = new ImageBuildCache(dockerClient, TestcontainersConfiguration.getInstance().getImageBuildCacheSize());
+                imageName = ImageBuildCache.imageNameFor(transferables);
+
+                if (cache.contains(imageName)) {
+                    logger.info("Reusing image {} built from an identical build context", imageName);
+                    cache.markUsed(imageName);
+                    return imageName;
+                }
+            } else if (deleteOnExit) {
                 imagesToDelete.add(dockerImageName);
             }
 
@@ -119,6 +151,14 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
             profiler.start("Configure image");
             BuildImageCmd buildImageCmd = dockerClient.buildImageCmd(in);
             configure(buildImageCmd);
+            if (cache != null) {
+                Map<String, String> labels = new HashMap<>();
+                if (buildImageCmd.getLabels() != null) {
+                    labels.putAll(buildImageCmd.getLabels());
+                }
+                labels.put(ImageBuildCache.LABEL, "true");
+                buildImageCmd.withTag(imageName).withLabels(labels);
+            }
 
             profiler.start("Build image");
             BuildImageResultCallback exec = buildImageCmd.exec(resultCallback);
@@ -140,7 +180,11 @@ public class ImageFromDockerfile extends LazyFuture<String> implements
             profiler.start("Wait for an image id");
             exec.awaitImageId();
 
-            return dockerImageName;
+            if (cache != null) {
+                cache.markUsed(imageName);
+            }
+
+            return imageName;
         } catch(IOException e) {
             throw new RuntimeException("Can't close DockerClient", e);
         } finally {
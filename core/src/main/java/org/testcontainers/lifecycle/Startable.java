@@ -1,9 +1,29 @@
 package org.testcontainers.lifecycle;
 
+import java.util.Collections;
+import java.util.Set;
+
 public interface Startable extends AutoCloseable {
 
+    /**
+     * @return the {@link Startable}s that have to be started before this one
+     * @see Startables#deepStart(java.util.Collection)
+     */
+    default Set<Startable> getDependencies() {
+        return Collections.emptySet();
+    }
+
     void start();
 
+    /**
+     * @return whether this has been started and not stopped since, so that {@link #start()} would do nothing. Startables
+     * that have been started already are not stopped when a {@link Startables#deepStart(java.util.Collection)} they
+     * take part in fails.
+     */
+    default boolean isStarted() {
+        return false;
+    }
+
     void stop();
 
     @Override
@@ -0,0 +1,173 @@
+package org.testcontainers.lifecycle;
+
+import com.google.common.collect.MapMaker;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Provides methods for starting several {@link Startable}s concurrently, honouring their
+ * {@link Startable#getDependencies() dependencies}.
+ */
+@Slf4j
+@UtilityClass
+public class Startables {
+
+    private static final ThreadLocal<Boolean> IS_WORKER_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private static final Executor EXECUTOR = Executors.newFixedThreadPool(
+        TestcontainersConfiguration.getInstance().getStartablesParallelism(),
+        DockerClientFactory.daemonThreadFactory("testcontainers-lifecycle-%d")
+    );
+
+    /**
+     * One lock per Startable (compared by identity), so that concurrent deep starts sharing a dependency start it once
+     */
+    private static final ConcurrentMap<Startable, Object> START_LOCKS = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * @see #deepStart(Stream)
+     */
+    public CompletableFuture<Void> deepStart(Collection<? extends Startable> startables) {
+        return deepStart(startables.stream());
+    }
+
+    /**
+     * Start every {@link Startable} and, transitively, their dependencies. Startables that do not depend on each other
+     * are started concurrently on a bounded pool, and every Startable is started at most once.
+     * <p>
+     * If any of them fails to start, the ones that were not started yet are skipped, and the ones that this call
+     * started are stopped again before the returned future completes exceptionally. Startables that had already been
+     * started, e.g. dependencies shared with other containers, are left running.
+     *
+     * @param startables a {@link Stream} of {@link Startable}s to start
+     * @return a {@link CompletableFuture} that resolves once all {@link Startable}s have started
+     */
+    public CompletableFuture<Void> deepStart(Stream<? extends Startable> startables) {
+        // Startables that are started from within a worker thread (e.g. a container starting its own dependencies)
+        // are started on the same thread; blocking a worker on other queued work could exhaust the bounded pool.
+        Executor executor = IS_WORKER_THREAD.get() ? Runnable::run : EXECUTOR;
+        return deepStart(startables, executor);
+    }
+
+    /**
+     * Same as {@link #deepStart(Stream)}, but runs every {@link Startable#start()} on the given {@link Executor}.
+     *
+     * @param startables a {@link Stream} of {@link Startable}s to start
+     * @param executor   the executor to start them with
+     * @return a {@link CompletableFuture} that resolves once all {@link Startable}s have started
+     */
+    public CompletableFuture<Void> deepStart(Stream<? extends Startable> startables, Executor executor) {
+        StartGraph graph = new StartGraph(executor);
+        startables.forEach(startable -> graph.schedule(startable, Collections.newSetFromMap(new IdentityHashMap<>())));
+
+        return CompletableFuture.allOf(graph.futures.values().toArray(new CompletableFuture<?>[0]))
+            .<Void>handle((__, throwable) -> {
+                if (throwable == null) {
+                    return null;
+                }
+
+                graph.stopStarted();
+                throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+            });
+    }
+
+    private static class StartGraph {
+
+        private final Executor executor;
+
+        private final Map<Startable, CompletableFuture<Void>> futures = new IdentityHashMap<>();
+
+        /**
+         * Startables that were not started before this deep start, and that it has started (or tried to)
+         */
+        private final List<Startable> started = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        private StartGraph(Executor executor) {
+            this.executor = executor;
+        }
+
+        private CompletableFuture<Void> schedule(Startable startable, Set<Startable> path) {
+            CompletableFuture<Void> existing = futures.get(startable);
+            if (existing != null) {
+                return existing;
+            }
+
+            if (!path.add(startable)) {
+                throw new IllegalArgumentException("Circular dependency detected involving " + startable);
+            }
+
+            CompletableFuture<?>[] dependencies = startable.getDependencies().stream()
+                .map(dependency -> schedule(dependency, path))
+                .toArray(CompletableFuture<?>[]::new);
+
+            path.remove(startable);
+
+            CompletableFuture<Void> future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                if (failed.get()) {
+                    throw new CancellationException("Not starting " + startable + " as another Startable failed to start");
+                }
+
+                synchronized (START_LOCKS.computeIfAbsent(startable, __ -> new Object())) {
+                    if (startable.isStarted()) {
+                        return;
+                    }
+
+                    started.add(startable);
+                    boolean wasWorkerThread = IS_WORKER_THREAD.get();
+                    IS_WORKER_THREAD.set(true);
+                    try {
+                        startable.start();
+                    } finally {
+                        IS_WORKER_THREAD.set(wasWorkerThread);
+                    }
+                }
+            }, executor);
+
+            future.whenComplete((__, throwable) -> {
+                if (throwable != null) {
+                    failed.set(true);
+                }
+            });
+
+            futures.put(startable, future);
+            return future;
+        }
+
+        private void stopStarted() {
+            List<Startable> toStop;
+            synchronized (started) {
+                toStop = new ArrayList<>(started);
+            }
+            Collections.reverse(toStop);
+
+            log.debug("Stopping {} Startables after a failed deep start", toStop.size());
+            for (Startable startable : toStop) {
+                try {
+                    startable.stop();
+                } catch (Exception e) {
+                    log.warn("Failed to stop {} after a failed deep start", startable, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package org.testcontainers.utility;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import com.github.dockerjava.core.command.EventsResultCallback;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Follows the Docker event stream for container state changes ({@link #EVENTS}) once per session, so that waiting for
+ * a container to change state doesn't need polling.
+ * <p>
+ * Container state obtained through {@link #inspect(String)} is cached for a short time, and forgotten as soon as an
+ * event for the container is received, or this JVM starts, stops, kills or removes the container (see
+ * {@link #containerChanged(String)}). If the event stream is not available, nothing is cached and waiting falls back
+ * to polling.
+ */
+@Slf4j
+public final class ContainerEventMonitor {
+
+    static final String[] EVENTS = {"start", "die", "oom", "health_status", "destroy"};
+
+    private static final long START_TIMEOUT_SECONDS = 5;
+
+    private static final long MAX_POLL_INTERVAL_MILLIS = 1000;
+
+    private static final long RECONNECT_INTERVAL_MILLIS = 30_000;
+
+    private static volatile ContainerEventMonitor instance;
+
+    private final DockerClient dockerClient;
+
+    private final long cacheTtlMillis;
+
+    private final ConcurrentMap<String, Set<Semaphore>> waiters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, CachedInspection> inspections = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented for every event of a container, so that inspections which raced with an event are not cached
+     */
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private volatile boolean connected = false;
+
+    private EventsResultCallback stream;
+
+    private long lastConnectAttempt;
+
+    public static synchronized ContainerEventMonitor instance() {
+        if (instance == null) {
+            instance = new ContainerEventMonitor(
+                DockerClientFactory.instance().client(),
+                TestcontainersConfiguration.getInstance().getContainerStateCacheTtlMillis()
+            );
+            instance.connect();
+        }
+        return instance;
+    }
+
+    /**
+     * Forget the cached state of a container because this JVM has changed it, without waiting for the event. Does
+     * nothing if the monitor hasn't been used yet, as nothing is cached then.
+     *
+     * @param containerId the container
+     */
+    public static void containerChanged(String containerId) {
+        ContainerEventMonitor monitor = instance;
+        if (monitor != null && containerId != null) {
+            monitor.invalidate(containerId);
+        }
+    }
+
+    ContainerEventMonitor(DockerClient dockerClient, long cacheTtlMillis) {
+        this.dockerClient = dockerClient;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    /**
+     * @return whether events are currently being received
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Inspect a container, using a recent result if no event has been received for the container since.
+     *
+     * @param containerId the container to inspect
+     * @return the state of the container
+     */
+    public InspectContainerResponse inspect(String containerId) {
+        long now = System.currentTimeMillis();
+        long generation = generationOf(containerId).get();
+        CachedInspection cached = inspections.get(containerId);
+        if (connected && cached != null && cached.generation == generation && now - cached.inspectedAt < cacheTtlMillis) {
+            return cached.response;
+        }
+
+        InspectContainerResponse response = dockerClient.inspectContainerCmd(containerId).exec();
+        if (connected && cacheTtlMillis > 0) {
+            inspections.put(containerId, new CachedInspection(response, generation, now));
+        }
+        return response;
+    }
+
+    /**
+     * Forget the cached state of a container.
+     *
+     * @param containerId the container
+     */
+    public void invalidate(String containerId) {
+        generationOf(containerId).incrementAndGet();
+        inspections.remove(containerId);
+    }
+
+    /**
+     * Wait until a condition about a container is true. The condition is evaluated straight away, and again whenever
+     * an event for the container is received, or at least every {@code maxPollInterval}. If events are not available,
+     * it is evaluated with a backoff of up to a second.
+     *
+     * @param containerId     the container that the condition is about
+     * @param timeout         how long to wait
+     * @param maxPollInterval longest time between evaluations even if no event is received, e.g. because the condition
+     *                        depends on time passing, or null to rely on events only
+     * @param condition       the condition
+     * @return whether the condition became true before the timeout
+     */
+    public boolean waitUntil(String containerId, Duration timeout, Duration maxPollInterval, BooleanSupplier condition) throws InterruptedException {
+        ensureConnected();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Semaphore signal = new Semaphore(0);
+        waiters.compute(containerId, (__, signals) -> {
+            Set<Semaphore> result = signals != null ? signals : ConcurrentHashMap.newKeySet();
+            result.add(signal);
+            return result;
+        });
+        try {
+            long pollIntervalMillis = 5;
+            while (true) {
+                if (condition.getAsBoolean()) {
+                    return true;
+                }
+
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+
+                long waitMillis = remainingMillis;
+                if (!connected) {
+                    waitMillis = Math.min(waitMillis, pollIntervalMillis);
+                    pollIntervalMillis = Math.min(pollIntervalMillis * 2, MAX_POLL_INTERVAL_MILLIS);
+                } else if (maxPollInterval != null) {
+                    waitMillis = Math.min(waitMillis, Math.min(pollIntervalMillis, maxPollInterval.toMillis()));
+                    pollIntervalMillis = Math.min(pollIntervalMillis * 2, maxPollInterval.toMillis());
+                }
+
+                signal.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+                signal.drainPermits();
+            }
+        } finally {
+            waiters.computeIfPresent(containerId, (__, signals) -> {
+                signals.remove(signal);
+                return signals.isEmpty() ? null : signals;
+            });
+        }
+    }
+
+    void onEvent(Event event) {
+        if (event.getType() != null && event.getType() != EventType.CONTAINER) {
+            return;
+        }
+
+        String containerId = event.getId();
+        if (containerId == null) {
+            return;
+        }
+
+        log.trace("Container {} event: {}", containerId, event.getStatus());
+
+        invalidate(containerId);
+        if ("destroy".equals(event.getStatus())) {
+            generations.remove(containerId);
+        }
+
+        Set<Semaphore> signals = waiters.get(containerId);
+        if (signals != null) {
+            signals.forEach(Semaphore::release);
+        }
+    }
+
+    private void onDisconnected() {
+        connected = false;
+        inspections.clear();
+        // Wake everyone up, to fall back to polling
+        waiters.values().forEach(signals -> signals.forEach(Semaphore::release));
+    }
+
+    private void ensureConnected() {
+        if (!connected) {
+            connect();
+        }
+    }
+
+    synchronized void connect() {
+        long now = System.currentTimeMillis();
+        if (connected || (stream != null && now - lastConnectAttempt < RECONNECT_INTERVAL_MILLIS)) {
+            return;
+        }
+        lastConnectAttempt = now;
+
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (Exception ignored) {
+            }
+        }
+
+        stream = new EventsResultCallback() {
+            @Override
+            public void onNext(Event event) {
+                onEvent(event);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.debug("Docker event stream failed, falling back to polling", throwable);
+                onDisconnected();
+                super.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                onDisconnected();
+                super.onComplete();
+            }
+        };
+
+        try {
+            dockerClient.eventsCmd().withEventFilter(EVENTS).exec(stream);
+            connected = stream.awaitStarted(START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.debug("Unable to follow Docker events, falling back to polling", e);
+        }
+    }
+
+    private AtomicLong generationOf(String containerId) {
+        return generations.computeIfAbsent(containerId, __ -> new AtomicLong());
+    }
+
+    private static class CachedInspection {
+        private final InspectContainerResponse response;
+        private final long generation;
+        private final long inspectedAt;
+
+        private CachedInspection(InspectContainerResponse response, long generation, long inspectedAt) {
+            this.response = response;
+            this.generation = generation;
+            this.inspectedAt = inspectedAt;
+        }
+    }
+}
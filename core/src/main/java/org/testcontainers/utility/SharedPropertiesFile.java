@@ -0,0 +1,89 @@
+package org.testcontainers.utility;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * A properties file that several JVMs may update at the same time, e.g. an index of cached images in the user's home
+ * directory.
+ * <p>
+ * Updates are made under a lock on a <code>.lock</code> file next to it, so that no update is lost, and the file is
+ * replaced atomically, so that it can be read at any time without locking.
+ */
+@Slf4j
+public final class SharedPropertiesFile {
+
+    private final File file;
+
+    private final String comment;
+
+    public SharedPropertiesFile(File file, String comment) {
+        this.file = file;
+        this.comment = comment;
+    }
+
+    /**
+     * @return the current properties, or none if the file does not exist or can't be read
+     */
+    public Properties read() {
+        Properties properties = new Properties();
+        if (file.exists()) {
+            try (InputStream input = Files.newInputStream(file.toPath())) {
+                properties.load(input);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Could not read {}, starting a new one", file, e);
+                return new Properties();
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Read the properties, change them and write them back, while no other thread or JVM can do the same.
+     *
+     * @param update changes the properties
+     */
+    public void update(Consumer<Properties> update) {
+        // File locks are held by the whole JVM, so threads of this JVM have to take turns first
+        synchronized (SharedPropertiesFile.class) {
+            Path lockFile = new File(file.getPath() + ".lock").toPath();
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Properties properties = read();
+                    update.accept(properties);
+                    write(properties);
+                } finally {
+                    lock.release();
+                }
+            } catch (IOException e) {
+                log.warn("Could not lock {}, so it is not updated", file, e);
+            }
+        }
+    }
+
+    private void write(Properties properties) throws IOException {
+        Path target = file.toPath();
+        Path temporary = Files.createTempFile(target.toAbsolutePath().getParent(), file.getName(), ".tmp");
+        try {
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                properties.store(output, comment);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.testcontainers.utility;
 
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.output.LogBuffer;
 
 import java.io.*;
 import java.net.MalformedURLException;
@@ -74,6 +75,46 @@ public class TestcontainersConfiguration {
         return Boolean.parseBoolean((String) properties.getOrDefault("checks.disable", "false"));
     }
 
+    public int getStartablesParallelism() {
+        return Integer.parseInt((String) properties.getOrDefault("startables.parallelism", "8"));
+    }
+
+    public long getContainerLogBufferBytes() {
+        return Long.parseLong((String) properties.getOrDefault("container.log.buffer.bytes", "1048576"));
+    }
+
+    public LogBuffer.OverflowPolicy getContainerLogBufferPolicy() {
+        return LogBuffer.OverflowPolicy.valueOf((String) properties.getOrDefault("container.log.buffer.policy", "DROP_OLDEST"));
+    }
+
+    public int getImagePullParallelism() {
+        return Integer.parseInt((String) properties.getOrDefault("pull.parallelism", "4"));
+    }
+
+    public int getImageBuildCacheSize() {
+        return Integer.parseInt((String) properties.getOrDefault("build.cache.size", "16"));
+    }
+
+    public long getContainerStateCacheTtlMillis() {
+        return Long.parseLong((String) properties.getOrDefault("container.state.cache.ttl.millis", "1000"));
+    }
+
+    public int getProbeConcurrency() {
+        return Integer.parseInt((String) properties.getOrDefault("probe.concurrency", "8"));
+    }
+
+    public long getProbeMaxIntervalMillis() {
+        return Long.parseLong((String) properties.getOrDefault("probe.max.interval.millis", "1000"));
+    }
+
+    public int getInitScriptBatchSize() {
+        return Integer.parseInt((String) properties.getOrDefault("initscript.batch.size", "100"));
+    }
+
+    public int getPrebakedImageCacheSize() {
+        return Integer.parseInt((String) properties.getOrDefault("prebaked.images.max", "10"));
+    }
+
     public String getDockerClientStrategyClassName() {
         return (String) properties.get("docker.client.strategy");
     }
@@ -82,6 +123,14 @@ public class TestcontainersConfiguration {
         return properties.getProperty("transport.type", "okhttp");
     }
 
+    public int getTransportPoolSize() {
+        return Integer.parseInt((String) properties.getOrDefault("transport.pool.size", "0"));
+    }
+
+    public long getTransportPoolKeepAliveSeconds() {
+        return Long.parseLong((String) properties.getOrDefault("transport.pool.keepalive.seconds", "30"));
+    }
+
     @Synchronized
     public boolean updateGlobalConfig(@NonNull String prop, @NonNull String value) {
         try {
@@ -0,0 +1,188 @@
+package org.testcontainers.containers;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class ComposeFileModelTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsVersionOneFiles() throws IOException {
+        ComposeFileModel model = model(Collections.emptyMap(), "redis:\n  image: redis\n");
+
+        assertEquals("services are at the top level", "redis", model.getServices().get("redis").getImage());
+        assertTrue("services use the default network", model.getNetworks().containsKey(ComposeFileModel.DEFAULT_NETWORK));
+    }
+
+    @Test
+    public void mergesFiles() throws IOException {
+        ComposeFileModel model = model(Collections.emptyMap(),
+            "version: '2'\n" +
+                "services:\n" +
+                "  db:\n" +
+                "    image: postgres:9\n" +
+                "    command: postgres -c fsync=off\n" +
+                "    ports: ['5432']\n" +
+                "    environment:\n" +
+                "      A: a\n",
+            "version: '2'\n" +
+                "services:\n" +
+                "  db:\n" +
+                "    image: postgres:10\n" +
+                "    command: [postgres]\n" +
+                "    ports: ['15432:5432']\n" +
+                "    environment:\n" +
+                "      B: b\n"
+        );
+
+        ComposeFileModel.Service db = model.getServices().get("db");
+        assertEquals("later files replace values", "postgres:10", db.getImage());
+        assertEquals("later files replace commands", Collections.singletonList("postgres"), db.getCommand());
+        assertEquals("lists are concatenated", Arrays.asList("5432", "15432:5432"), db.getPorts());
+        assertEquals("mappings are merged", ImmutableMap.of("A", "a", "B", "b"), db.getEnvironment());
+    }
+
+    @Test
+    public void substitutesVariables() throws IOException {
+        ComposeFileModel model = model(ImmutableMap.of("TAG", "3.2", "EMPTY", ""),
+            "version: '2'\n" +
+                "services:\n" +
+                "  redis:\n" +
+                "    image: redis:${TAG}\n" +
+                "    environment:\n" +
+                "      - PLAIN=$TAG\n" +
+                "      - DEFAULT=${MISSING:-fallback}\n" +
+                "      - EMPTY_DEFAULT=${EMPTY:-fallback}\n" +
+                "      - SET_DEFAULT=${EMPTY-fallback}\n" +
+                "      - ESCAPED=$$TAG\n"
+        );
+
+        ComposeFileModel.Service redis = model.getServices().get("redis");
+        assertEquals("variables are substituted", "redis:3.2", redis.getImage());
+        assertEquals("all forms of variables are substituted", ImmutableMap.of(
+            "PLAIN", "3.2",
+            "DEFAULT", "fallback",
+            "EMPTY_DEFAULT", "fallback",
+            "SET_DEFAULT", "",
+            "ESCAPED", "$TAG"
+        ), redis.getEnvironment());
+
+        assertThrows("required variables must be set", ContainerLaunchException.class, () ->
+            ComposeFileModel.interpolate("${MISSING:?must be set}", Collections.emptyMap()));
+    }
+
+    @Test
+    public void readsDependenciesAndNetworks() throws IOException {
+        ComposeFileModel model = model(Collections.emptyMap(),
+            "version: '2.1'\n" +
+                "services:\n" +
+                "  app:\n" +
+                "    image: app\n" +
+                "    depends_on:\n" +
+                "      db:\n" +
+                "        condition: service_healthy\n" +
+                "    links: ['cache:redis']\n" +
+                "    networks:\n" +
+                "      back:\n" +
+                "        aliases: [application]\n" +
+                "  db:\n" +
+                "    image: postgres\n" +
+                "    networks: [back]\n" +
+                "  cache:\n" +
+                "    image: redis\n" +
+                "networks:\n" +
+                "  back:\n" +
+                "  outside:\n" +
+                "    external: true\n"
+        );
+
+        ComposeFileModel.Service app = model.getServices().get("app");
+        assertEquals("dependencies are read with their conditions",
+            ImmutableMap.of("db", "service_healthy", "cache", "service_started"), app.getDependsOn());
+        assertEquals("links are read with their aliases", ImmutableMap.of("cache", "redis"), app.getLinks());
+        assertEquals("networks are read with their aliases",
+            Collections.singletonList("application"), app.getNetworks().get("back"));
+
+        Map<String, Map<String, Object>> networks = model.getNetworks();
+        assertEquals("the default network is used by cache, and the declared networks are kept",
+            Arrays.asList("default", "back", "outside"), Arrays.asList(networks.keySet().toArray()));
+        assertEquals("networks are named after the project", "project_back",
+            ComposeFileModel.resourceName("project", "back", networks.get("back")));
+        assertEquals("external networks keep their name", "outside",
+            ComposeFileModel.resourceName("project", "outside", networks.get("outside")));
+    }
+
+    @Test
+    public void readsVariablesFromEnvFile() throws IOException {
+        Files.write(new File(folder.getRoot(), ComposeFileModel.ENV_FILE).toPath(), (
+            "# comment\n" +
+                "\n" +
+                "TAG=3.2\n" +
+                "NAME=\"from env file\"\n"
+        ).getBytes(StandardCharsets.UTF_8));
+
+        ComposeFileModel model = model(ImmutableMap.of("NAME", "from environment"),
+            "version: '2'\n" +
+                "services:\n" +
+                "  redis:\n" +
+                "    image: redis:${TAG}\n" +
+                "    environment:\n" +
+                "      - NAME=${NAME}\n"
+        );
+
+        ComposeFileModel.Service redis = model.getServices().get("redis");
+        assertEquals("variables are read from the env file", "redis:3.2", redis.getImage());
+        assertEquals("the environment takes precedence over the env file", "from environment", redis.getEnvironment().get("NAME"));
+        assertEquals("quotes are removed from values", "from env file",
+            ComposeFileModel.readEnvFile(new File(folder.getRoot(), ComposeFileModel.ENV_FILE)).get("NAME"));
+    }
+
+    @Test
+    public void namesContainers() throws IOException {
+        ComposeFileModel model = model(Collections.emptyMap(),
+            "version: '2'\n" +
+                "services:\n" +
+                "  db:\n" +
+                "    image: postgres\n" +
+                "    container_name: my-db\n" +
+                "  redis:\n" +
+                "    image: redis\n"
+        );
+
+        assertEquals("container_name is used", "my-db", model.getServices().get("db").getContainerName("project", 1));
+        assertEquals("containers are named after the project and service", "project_redis_2",
+            model.getServices().get("redis").getContainerName("project", 2));
+    }
+
+    @Test
+    public void splitsCommands() {
+        assertEquals("commands are split on whitespace, respecting quotes",
+            Arrays.asList("sh", "-c", "echo 'hello world'", "it's"),
+            ComposeFileModel.splitCommand("sh -c \"echo 'hello world'\"  it\\'s"));
+    }
+
+    private ComposeFileModel model(Map<String, String> environment, String... contents) throws IOException {
+        File[] files = new File[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            files[i] = folder.newFile("docker-compose-" + i + ".yml");
+            Files.write(files[i].toPath(), contents[i].getBytes(StandardCharsets.UTF_8));
+        }
+        return new ComposeFileModel(Arrays.asList(files), environment);
+    }
+}
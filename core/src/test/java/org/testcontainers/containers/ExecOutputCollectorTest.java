@@ -0,0 +1,109 @@
+package org.testcontainers.containers;
+
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import com.google.common.io.ByteStreams;
+import org.junit.Test;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+/**
+ * Runs the scripts of {@link ExecOutputCollector} in a shell on the test host, and feeds the output back in small
+ * frames, like Docker would.
+ */
+public class ExecOutputCollectorTest {
+
+    @Test
+    public void separatesOutputAndExitCodes() throws Exception {
+        ExecOutputCollector collector = new ExecOutputCollector();
+        String script = collector.scriptLine(0, "echo", "first") +
+            collector.scriptLine(1, "sh", "-c", "echo \"it's\" >&2; exit 3") +
+            collector.scriptLine(2, "printf", "%s", "no newline, ünïcödé");
+
+        runInShell(script, collector);
+
+        Container.ExecResult first = collector.awaitResult(0);
+        assertEquals("the output of the first command", "first\n", first.getStdout());
+        assertEquals("the first command has no stderr", "", first.getStderr());
+        assertEquals("the first command succeeds", 0, first.getExitCode());
+
+        Container.ExecResult second = collector.awaitResult(1);
+        assertEquals("the second command has no stdout", "", second.getStdout());
+        assertEquals("quotes are kept", "it's\n", second.getStderr());
+        assertEquals("the exit code of the second command", 3, second.getExitCode());
+
+        Container.ExecResult third = collector.awaitResult(2);
+        assertEquals("output without a trailing newline", "no newline, ünïcödé", third.getStdout());
+        assertEquals("the third command succeeds", 0, third.getExitCode());
+    }
+
+    @Test
+    public void separatesOutputThatIsNotUtf8() throws Exception {
+        ExecOutputCollector collector = new ExecOutputCollector();
+        runInShell(collector.scriptLine(0, "printf", "\\377\\376") + collector.scriptLine(1, "echo", "second"), collector);
+
+        assertEquals("invalid output is decoded as far as possible", "\uFFFD\uFFFD", collector.awaitResult(0).getStdout());
+        assertEquals("the output of the next command", "second\n", collector.awaitResult(1).getStdout());
+    }
+
+    @Test
+    public void sendsOutputToConsumer() throws Exception {
+        ExecOutputCollector collector = new ExecOutputCollector();
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        collector.setOutputConsumer(frame -> {
+            ByteArrayOutputStream stream = frame.getType() == OutputFrame.OutputType.STDOUT ? stdout : stderr;
+            stream.write(frame.getBytes(), 0, frame.getBytes().length);
+        });
+        runInShell(collector.scriptLine(0, "sh", "-c", "echo some output; echo some errors >&2; exit 2"), collector);
+
+        Container.ExecResult result = collector.awaitResult(0);
+        assertEquals("stdout is sent to the consumer", "some output\n", stdout.toString("UTF-8"));
+        assertEquals("stderr is sent to the consumer", "some errors\n", stderr.toString("UTF-8"));
+        assertEquals("output sent to the consumer is not kept", "", result.getStdout());
+        assertEquals("the exit code is returned", 2, result.getExitCode());
+    }
+
+    @Test
+    public void failsIfTheShellEndsEarly() throws Exception {
+        ExecOutputCollector collector = new ExecOutputCollector();
+        runInShell(collector.scriptLine(0, "true") + "exit 0\n" + collector.scriptLine(1, "true"), collector);
+
+        assertEquals("the first command completes", 0, collector.awaitResult(0).getExitCode());
+        assertThrows("the second command never completes", IllegalStateException.class, () -> collector.awaitResult(1));
+        assertTrue("the shell has ended", collector.isCompleted());
+    }
+
+    private static void runInShell(String script, ExecOutputCollector collector) throws Exception {
+        Process process = new ProcessBuilder("/bin/sh", "-c", script).start();
+        process.getOutputStream().close();
+
+        CompletableFuture<Void> stdout = CompletableFuture.runAsync(() -> feed(process.getInputStream(), StreamType.STDOUT, collector));
+        CompletableFuture<Void> stderr = CompletableFuture.runAsync(() -> feed(process.getErrorStream(), StreamType.STDERR, collector));
+        stdout.get();
+        stderr.get();
+        process.waitFor();
+        collector.onComplete();
+    }
+
+    private static void feed(InputStream stream, StreamType streamType, ExecOutputCollector collector) {
+        try {
+            byte[] output = ByteStreams.toByteArray(stream);
+            // Split into frames of a few bytes, which may split characters and markers
+            for (int i = 0; i < output.length; i += 7) {
+                collector.onNext(new Frame(streamType, Arrays.copyOfRange(output, i, Math.min(i + 7, output.length))));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
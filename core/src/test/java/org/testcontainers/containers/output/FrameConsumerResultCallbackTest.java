@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -157,6 +158,43 @@ public class FrameConsumerResultCallbackTest {
         assertEquals(payload, consumer.toUtf8String());
     }
 
+    @Test
+    public void reconstructUnicodeBrokenAtAnyPosition() throws IOException {
+        String payload = "Tест 测试 \uD83D\uDE00\nnext";
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        for (int split = 1; split < payloadBytes.length; split++) {
+            FrameConsumerResultCallback callback = new FrameConsumerResultCallback();
+            ToStringConsumer consumer = new ToStringConsumer();
+            callback.addConsumer(OutputType.STDOUT, consumer);
+            callback.onNext(new Frame(StreamType.RAW, Arrays.copyOfRange(payloadBytes, 0, split)));
+            callback.onNext(new Frame(StreamType.RAW, Arrays.copyOfRange(payloadBytes, split, payloadBytes.length)));
+            callback.close();
+            assertEquals("split at byte " + split, payload, consumer.toUtf8String());
+        }
+    }
+
+    @Test
+    public void carriageReturnLineFeedSplitAcrossFrames() throws IOException {
+        FrameConsumerResultCallback callback = new FrameConsumerResultCallback();
+        BasicConsumer consumer = new BasicConsumer();
+        callback.addConsumer(OutputType.STDOUT, consumer);
+        callback.onNext(new Frame(StreamType.RAW, "first\r".getBytes()));
+        callback.onNext(new Frame(StreamType.RAW, "\nsecond\r\n\nfourth".getBytes()));
+        callback.close();
+        assertEquals("first\nsecond\n\nfourth\n", consumer.toString());
+    }
+
+    @Test
+    public void removeColorCodesSplitAcrossFrames() throws IOException {
+        FrameConsumerResultCallback callback = new FrameConsumerResultCallback();
+        ToStringConsumer consumer = new ToStringConsumer();
+        callback.addConsumer(OutputType.STDOUT, consumer);
+        callback.onNext(new Frame(StreamType.RAW, "\u001B[0;3".getBytes()));
+        callback.onNext(new Frame(StreamType.RAW, "2mTest\u001B[0m\n\u001B[not a color code\n".getBytes()));
+        callback.close();
+        assertEquals("Test\n\u001B[not a color code", consumer.toUtf8String());
+    }
+
     private static class BasicConsumer implements Consumer<OutputFrame> {
         private boolean firstLine = true;
         private StringBuilder input = new StringBuilder();
@@ -0,0 +1,103 @@
+package org.testcontainers.containers.output;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertFalse;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class LogBufferTest {
+
+    @Test
+    public void dropsOldestFramesOverBudget() {
+        LogBuffer buffer = new LogBuffer(10);
+        for (int i = 0; i < 5; i++) {
+            buffer.accept(frame("line" + i));
+        }
+
+        assertEquals("only the most recent frames are kept", "line3,line4", replay(buffer));
+        assertEquals("dropped frames are counted", 3L, buffer.getDroppedFrames());
+        assertEquals("dropped bytes are counted", 15L, buffer.getDroppedBytes());
+        assertTrue("buffered bytes stay within the budget", buffer.getBufferedBytes() <= 10);
+    }
+
+    @Test
+    public void spillsOldestFramesToFile() {
+        try (LogBuffer buffer = new LogBuffer(10, LogBuffer.OverflowPolicy.SPILL_TO_FILE)) {
+            for (int i = 0; i < 5; i++) {
+                buffer.accept(frame("line" + i));
+            }
+            buffer.accept(new OutputFrame(OutputFrame.OutputType.STDERR, "error".getBytes(StandardCharsets.UTF_8)));
+
+            assertEquals("all frames are replayed in order", "line0,line1,line2,line3,line4,error", replay(buffer));
+            assertEquals("no frames are dropped", 0L, buffer.getDroppedFrames());
+            assertEquals("spilled frames are counted", 4L, buffer.getSpilledFrames());
+        }
+    }
+
+    @Test
+    public void ignoresFramesAfterClose() {
+        LogBuffer buffer = new LogBuffer(10, LogBuffer.OverflowPolicy.SPILL_TO_FILE);
+        buffer.close();
+        for (int i = 0; i < 5; i++) {
+            buffer.accept(frame("line" + i));
+        }
+
+        assertEquals("nothing is kept", "", replay(buffer));
+        assertEquals("nothing is spilled", 0L, buffer.getSpilledFrames());
+    }
+
+    @Test
+    public void keepsOutputTypeOfSpilledFrames() {
+        try (LogBuffer buffer = new LogBuffer(0, LogBuffer.OverflowPolicy.SPILL_TO_FILE)) {
+            buffer.accept(new OutputFrame(OutputFrame.OutputType.STDERR, "error".getBytes(StandardCharsets.UTF_8)));
+
+            List<OutputFrame> replayed = new ArrayList<>();
+            buffer.replay(replayed::add);
+            assertEquals("spilled frame keeps its type", OutputFrame.OutputType.STDERR, replayed.get(0).getType());
+        }
+    }
+
+    @Test
+    public void recordsEndOfOutput() throws InterruptedException {
+        LogBuffer buffer = new LogBuffer(10);
+        assertFalse("end is not received yet", buffer.waitUntilEnd(10, TimeUnit.MILLISECONDS));
+
+        buffer.accept(frame("last"));
+        buffer.accept(OutputFrame.END);
+
+        assertTrue("end is received", buffer.waitUntilEnd(10, TimeUnit.MILLISECONDS));
+        assertEquals("end is not kept as a frame", 1, buffer.getFrames().size());
+    }
+
+    @Test
+    public void backsBoundedToStringConsumer() {
+        ToStringConsumer consumer = new ToStringConsumer(new LogBuffer(11));
+        consumer.accept(frame("first line"));
+        consumer.accept(frame("second"));
+        consumer.accept(frame("third"));
+        consumer.accept(OutputFrame.END);
+
+        assertEquals("only recent output is kept", "second\nthird", consumer.toUtf8String());
+    }
+
+    private static String replay(LogBuffer buffer) {
+        StringBuilder replayed = new StringBuilder();
+        buffer.replay(frame -> {
+            if (replayed.length() > 0) {
+                replayed.append(',');
+            }
+            replayed.append(frame.getUtf8String());
+        });
+        return replayed.toString();
+    }
+
+    private static OutputFrame frame(String text) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, text.getBytes(StandardCharsets.UTF_8));
+    }
+}
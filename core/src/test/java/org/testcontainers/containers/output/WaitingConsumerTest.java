@@ -0,0 +1,130 @@
+package org.testcontainers.containers.output;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class WaitingConsumerTest {
+
+    @Test(timeout = 5_000)
+    public void matchesBufferedFrames() throws TimeoutException {
+        WaitingConsumer consumer = new WaitingConsumer();
+        consumer.accept(frame("first"));
+        consumer.accept(frame("second"));
+
+        consumer.waitUntil(frame -> frame.getUtf8String().equals("first"), 1, TimeUnit.SECONDS);
+
+        assertEquals("frames are consumed until the first match", 0, consumer.getFrames().size());
+    }
+
+    @Test(timeout = 5_000)
+    public void wakesUpWhenMatchingFrameArrives() throws Exception {
+        WaitingConsumer consumer = new WaitingConsumer();
+
+        CompletableFuture<Long> waited = CompletableFuture.supplyAsync(() -> {
+            try {
+                consumer.waitUntil(frame -> frame.getUtf8String().equals("ready"), 5, TimeUnit.SECONDS);
+                return System.nanoTime();
+            } catch (TimeoutException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        waitForWaiters(consumer, 1);
+        consumer.accept(frame("not yet"));
+        long sentAt = System.nanoTime();
+        consumer.accept(frame("ready"));
+
+        long latencyMillis = TimeUnit.NANOSECONDS.toMillis(waited.get() - sentAt);
+        assertTrue("waiting thread is woken up without polling delay (" + latencyMillis + "ms)", latencyMillis < 100);
+    }
+
+    @Test(timeout = 5_000)
+    public void supportsConcurrentWaitersWithDifferentPredicates() throws Exception {
+        WaitingConsumer consumer = new WaitingConsumer();
+
+        CompletableFuture<Void> first = waitAsync(consumer, "one", 1);
+        CompletableFuture<Void> second = waitAsync(consumer, "two", 2);
+
+        waitForWaiters(consumer, 2);
+        consumer.accept(frame("two"));
+        consumer.accept(frame("one"));
+        consumer.accept(frame("two"));
+
+        first.get();
+        second.get();
+        assertTrue("every waiter saw every frame", first.isDone() && second.isDone());
+    }
+
+    @Test(timeout = 5_000)
+    public void buffersFramesArrivingAfterTheConditionIsMet() throws Exception {
+        WaitingConsumer consumer = new WaitingConsumer();
+
+        CompletableFuture<Void> first = waitAsync(consumer, "one", 1);
+        waitForWaiters(consumer, 1);
+        consumer.accept(frame("one"));
+        consumer.accept(frame("two"));
+        first.get();
+
+        consumer.waitUntil(frame -> frame.getUtf8String().equals("two"), 1, TimeUnit.SECONDS);
+        assertEquals("the frame after the match was kept for the next wait", 0, consumer.getFrames().size());
+    }
+
+    @Test(timeout = 5_000)
+    public void waitsForEnd() throws TimeoutException {
+        WaitingConsumer consumer = new WaitingConsumer();
+
+        assertThrows("times out before the end of output", TimeoutException.class,
+            () -> {
+                consumer.waitUntilEnd(50, TimeUnit.MILLISECONDS);
+                return true;
+            });
+
+        consumer.accept(frame("last line"));
+        consumer.accept(OutputFrame.END);
+        consumer.waitUntilEnd(1, TimeUnit.SECONDS);
+    }
+
+    @Test(timeout = 5_000)
+    public void dropsOldestBufferedFramesOverBudget() throws TimeoutException {
+        WaitingConsumer consumer = new WaitingConsumer().withMaxBufferedBytes(10);
+        consumer.accept(frame("first"));
+        consumer.accept(frame("second"));
+        consumer.accept(frame("third"));
+
+        assertEquals("oldest frames were dropped", 2L, consumer.getDroppedFrames());
+        assertThrows("dropped frame cannot be matched", TimeoutException.class,
+            () -> {
+                consumer.waitUntil(frame -> frame.getUtf8String().equals("first"), 50, TimeUnit.MILLISECONDS, 1);
+                return true;
+            });
+    }
+
+    private static CompletableFuture<Void> waitAsync(WaitingConsumer consumer, String text, int times) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                consumer.waitUntil(frame -> frame.getUtf8String().equals(text), 5, TimeUnit.SECONDS, times);
+            } catch (TimeoutException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private static void waitForWaiters(WaitingConsumer consumer, int count) {
+        // Frames are buffered while nobody waits, so make sure the waiting threads have registered
+        while (consumer.getWaiterCount() < count) {
+            Thread.yield();
+        }
+    }
+
+    private static OutputFrame frame(String text) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, text.getBytes(StandardCharsets.UTF_8));
+    }
+}
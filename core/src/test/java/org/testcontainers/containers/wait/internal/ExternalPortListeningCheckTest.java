@@ -63,6 +63,37 @@ public class ExternalPortListeningCheckTest {
 
     }
 
+    @Test
+    public void manyListening() throws Exception {
+        ServerSocket[] sockets = new ServerSocket[20];
+        ImmutableSet.Builder<Integer> ports = ImmutableSet.builder();
+        for (int i = 0; i < sockets.length; i++) {
+            sockets[i] = new ServerSocket(0);
+            ports.add(sockets[i].getLocalPort());
+        }
+
+        try {
+            final ExternalPortListeningCheck check = new ExternalPortListeningCheck(mockContainer, ports.build());
+
+            VisibleAssertions.assertTrue("ExternalPortListeningCheck identifies many listening ports", check.call());
+        } finally {
+            for (ServerSocket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void unresolvableHost() {
+        when(mockContainer.getContainerIpAddress()).thenReturn("unresolvable.invalid");
+
+        final ExternalPortListeningCheck check = new ExternalPortListeningCheck(mockContainer, ImmutableSet.of(listeningSocket1.getLocalPort()));
+
+        assertThrows("ExternalPortListeningCheck reports a port on an unresolvable host as not listening",
+                IllegalStateException.class,
+                (Runnable) check::call);
+    }
+
     @After
     public void tearDown() throws Exception {
         listeningSocket1.close();
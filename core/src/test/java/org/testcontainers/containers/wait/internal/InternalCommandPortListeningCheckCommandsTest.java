@@ -0,0 +1,96 @@
+package org.testcontainers.containers.wait.internal;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.junit.Assume.assumeTrue;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertFalse;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+/**
+ * Runs the commands of {@link InternalCommandPortListeningCheck} on the test host, which is expected to be Linux.
+ */
+public class InternalCommandPortListeningCheckCommandsTest {
+
+    private ServerSocket listeningSocket1;
+    private ServerSocket listeningSocket2;
+    private int nonListeningPort;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue("/bin/sh and /proc/net/tcp are available", new File("/bin/sh").exists() && new File("/proc/net/tcp").exists());
+
+        listeningSocket1 = new ServerSocket(0);
+        listeningSocket2 = new ServerSocket(0);
+
+        ServerSocket nonListeningSocket = new ServerSocket(0);
+        nonListeningPort = nonListeningSocket.getLocalPort();
+        nonListeningSocket.close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (listeningSocket1 != null) {
+            listeningSocket1.close();
+            listeningSocket2.close();
+        }
+    }
+
+    @Test
+    public void oneCommandPerWayOfTesting() {
+        String[][] commands = InternalCommandPortListeningCheck.commandsFor(ImmutableSet.of(8080, 1234, 80));
+
+        assertEquals("there is one command for each way of testing, covering all ports", 3, commands.length);
+        assertTrue("ports are tested in /proc/net/tcp as 4 hex digits", commands[0][2].contains(":0050$") && commands[0][2].contains(":1f90$"));
+        assertTrue("ports are tested with nc in order", commands[1][2].contains("nc -vz -w 1 localhost 80 && nc -vz -w 1 localhost 1234 && nc -vz -w 1 localhost 8080"));
+        assertTrue("ports are tested with bash", commands[2][2].contains("</dev/tcp/localhost/80 && </dev/tcp/localhost/1234 && </dev/tcp/localhost/8080"));
+    }
+
+    @Test
+    public void procNetTcpCommand() throws Exception {
+        String[][] commands = InternalCommandPortListeningCheck.commandsFor(listeningPorts());
+        assertTrue("/proc/net/tcp command detects listening ports", run(commands[0]).contains("TESTCONTAINERS_SUCCESS"));
+
+        commands = InternalCommandPortListeningCheck.commandsFor(ImmutableSet.of(listeningSocket1.getLocalPort(), nonListeningPort));
+        assertFalse("/proc/net/tcp command detects a non-listening port among many", run(commands[0]).contains("TESTCONTAINERS_SUCCESS"));
+    }
+
+    @Test
+    public void bashCommand() throws Exception {
+        String[][] commands = InternalCommandPortListeningCheck.commandsFor(listeningPorts());
+        String stdout = run(commands[2]);
+        assumeTrue("bash is available", !stdout.contains("TESTCONTAINERS_UNSUPPORTED"));
+        assertTrue("bash command detects listening ports", stdout.contains("TESTCONTAINERS_SUCCESS"));
+
+        commands = InternalCommandPortListeningCheck.commandsFor(ImmutableSet.of(listeningSocket1.getLocalPort(), nonListeningPort));
+        assertFalse("bash command detects a non-listening port among many", run(commands[2]).contains("TESTCONTAINERS_SUCCESS"));
+    }
+
+    @Test
+    public void missingToolIsReported() throws Exception {
+        String[] command = InternalCommandPortListeningCheck.commandsFor(listeningPorts())[1].clone();
+        command[2] = command[2].replace("command -v nc ", "command -v testcontainers-no-such-tool ");
+
+        assertTrue("a command reports when its tool is missing", run(command).contains("TESTCONTAINERS_UNSUPPORTED"));
+    }
+
+    private Set<Integer> listeningPorts() {
+        return ImmutableSet.of(listeningSocket1.getLocalPort(), listeningSocket2.getLocalPort());
+    }
+
+    private static String run(String[] command) throws Exception {
+        Process process = new ProcessBuilder(command).start();
+        String stdout = IOUtils.toString(process.getInputStream(), StandardCharsets.UTF_8);
+        process.waitFor();
+        return stdout;
+    }
+}
@@ -0,0 +1,65 @@
+package org.testcontainers.containers.wait.strategy;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class ConcurrentWaitsTest {
+
+    @Mock
+    private WaitStrategyTarget target1;
+    @Mock
+    private WaitStrategyTarget target2;
+    @Mock
+    private WaitStrategy strategy1;
+    @Mock
+    private WaitStrategy strategy2;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void waitsForEachTargetAtTheSameTime() {
+        CountDownLatch bothWaiting = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothWaiting.countDown();
+            assertTrue("the other target is waited for at the same time", bothWaiting.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(strategy1).waitUntilReady(any());
+        doAnswer(invocation -> {
+            bothWaiting.countDown();
+            assertTrue("the other target is waited for at the same time", bothWaiting.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(strategy2).waitUntilReady(any());
+
+        ConcurrentWaits.waitForAll(ImmutableMap.of(target1, strategy1, target2, strategy2), Duration.ofSeconds(30));
+
+        verify(strategy1).waitUntilReady(target1);
+        verify(strategy2).waitUntilReady(target2);
+    }
+
+    @Test
+    public void failsWhenOneTargetIsNotReady() {
+        doThrow(new IllegalStateException("not ready")).when(strategy2).waitUntilReady(any());
+
+        assertThrows("the failure of one target fails the wait", IllegalStateException.class, () -> {
+            ConcurrentWaits.waitForAll(ImmutableMap.of(target1, strategy1, target2, strategy2), Duration.ofSeconds(30));
+            return true;
+        });
+    }
+}
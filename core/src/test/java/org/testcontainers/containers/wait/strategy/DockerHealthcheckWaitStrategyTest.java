@@ -9,6 +9,7 @@ import org.testcontainers.images.builder.ImageFromDockerfile;
 import java.time.Duration;
 
 import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
 
 public class DockerHealthcheckWaitStrategyTest {
 
@@ -33,4 +34,15 @@ public class DockerHealthcheckWaitStrategyTest {
         container.withCommand("tail", "-f", "/dev/null");
         assertThrows("Container launch fails when unhealthy", ContainerLaunchException.class, container::start);
     }
+
+    @Test
+    public void containerStartFailsQuicklyIfContainerExits() {
+        container.withCommand("sh", "-c", "sleep 2; exit 1")
+            .waitingFor(Wait.forHealthcheck().withStartupTimeout(Duration.ofSeconds(60)));
+
+        long startedAt = System.nanoTime();
+        assertThrows("Container launch fails when the container exits", ContainerLaunchException.class, container::start);
+        assertTrue("Container launch fails without waiting for the timeout",
+            Duration.ofNanos(System.nanoTime() - startedAt).getSeconds() < 30);
+    }
 }
@@ -0,0 +1,150 @@
+package org.testcontainers.containers.wait.strategy;
+
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.google.common.collect.ImmutableSet;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.testcontainers.containers.ContainerLaunchException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+/**
+ * Tests for {@link HttpWaitStrategy} against an HTTP server on the test host.
+ */
+public class HttpWaitStrategyProbeTest {
+
+    private HttpServer server;
+    private WaitStrategyTarget target;
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger healthRequests = new AtomicInteger();
+    private final CountDownLatch releaseStream = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+
+        server.createContext("/health", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            if (healthRequests.incrementAndGet() < 5) {
+                respond(exchange, 503, "starting");
+            } else {
+                respond(exchange, 200, "{\n  \"status\": \"green\"\n}");
+            }
+        });
+        server.createContext("/other", exchange -> respond(exchange, 200, "ok"));
+        server.createContext("/stream", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write("ready\n".getBytes(StandardCharsets.UTF_8));
+                body.flush();
+                releaseStream.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+
+        int port = server.getAddress().getPort();
+        InspectContainerResponse containerInfo = mock(InspectContainerResponse.class);
+        when(containerInfo.getName()).thenReturn("test");
+
+        target = mock(WaitStrategyTarget.class);
+        when(target.getContainerInfo()).thenReturn(containerInfo);
+        when(target.getContainerIpAddress()).thenReturn("127.0.0.1");
+        when(target.getLivenessCheckPortNumbers()).thenReturn(ImmutableSet.of(port));
+        when(target.getMappedPort(anyInt())).thenReturn(port);
+    }
+
+    @After
+    public void tearDown() {
+        releaseStream.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void reusesConnectionBetweenAttempts() {
+        new HttpWaitStrategy()
+            .forPath("/health")
+            .withRateLimiter(new ProbeScheduler(0, 0))
+            .waitUntilReady(target);
+
+        assertEquals("the endpoint is probed until it is ready", 5, healthRequests.get());
+        assertEquals("all probes use the same connection", 1, clientPorts.size());
+    }
+
+    @Test
+    public void responsePredicateKeepsJoiningLines() {
+        new HttpWaitStrategy()
+            .forPath("/health")
+            .forResponsePredicate(response -> response.equals("{  \"status\": \"green\"}"))
+            .withRateLimiter(new ProbeScheduler(0, 0))
+            .waitUntilReady(target);
+    }
+
+    @Test
+    public void responseLinePredicateStopsReadingWhenMatched() {
+        long startedAt = System.nanoTime();
+        new HttpWaitStrategy()
+            .forPath("/stream")
+            .forResponseLineMatching(line -> line.equals("ready"))
+            .withReadTimeout(Duration.ofSeconds(20))
+            .waitUntilReady(target);
+
+        assertTrue("the rest of the response is not waited for",
+            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt) < 10);
+    }
+
+    @Test
+    public void waitsForAllEndpoints() {
+        new HttpWaitStrategy()
+            .forPath("/other")
+            .forEndpoint(8080, "/health")
+            .withRateLimiter(new ProbeScheduler(0, 0))
+            .waitUntilReady(target);
+
+        assertEquals("the additional endpoint is probed until it is ready", 5, healthRequests.get());
+    }
+
+    @Test
+    public void failsWhenAnEndpointIsNeverReady() {
+        WaitStrategy strategy = new HttpWaitStrategy()
+            .forPath("/other")
+            .forEndpoint(8080, "/missing")
+            .withStartupTimeout(Duration.ofSeconds(2));
+
+        assertThrows("the wait fails if one of the endpoints is not ready", ContainerLaunchException.class, () -> {
+            strategy.waitUntilReady(target);
+            return true;
+        });
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.testcontainers.containers.wait.strategy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class ProbeSchedulerTest {
+
+    @Test
+    public void backsOffExponentiallyUpToMaximum() {
+        ProbeScheduler scheduler = new ProbeScheduler(5, 40);
+
+        List<Long> intervals = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            intervals.add(scheduler.getWaitBeforeNextInvocation());
+        }
+
+        assertEquals("first probe is immediate, then the interval doubles up to the maximum",
+            "[0, 5, 10, 20, 40, 40]", intervals.toString());
+
+        scheduler.reset();
+        assertEquals("reset makes the next probe immediate", 0L, scheduler.getWaitBeforeNextInvocation());
+    }
+
+    @Test
+    public void countsProbesSinceReset() throws Exception {
+        ProbeScheduler scheduler = new ProbeScheduler(0, 0);
+        for (int i = 0; i < 3; i++) {
+            scheduler.getWhenReady(() -> true);
+        }
+        scheduler.doWhenReady(() -> {});
+        assertEquals("probes are counted", 4L, scheduler.getProbesIssued());
+
+        scheduler.reset();
+        assertEquals("reset clears the count", 0L, scheduler.getProbesIssued());
+    }
+
+    @Test
+    public void newScheduleStartsOver() throws Exception {
+        ProbeScheduler scheduler = new ProbeScheduler(5, 40);
+        scheduler.getWaitBeforeNextInvocation();
+        scheduler.getWhenReady(() -> true);
+
+        ProbeScheduler schedule = scheduler.newSchedule();
+        assertEquals("the first probe of a new schedule is immediate", 0L, schedule.getWaitBeforeNextInvocation());
+        assertEquals("a new schedule has no probes", 0L, schedule.getProbesIssued());
+        assertEquals("the original schedule is unaffected", 1L, scheduler.getProbesIssued());
+    }
+
+    @Test
+    public void limitsConcurrentProbesAcrossSchedulers() throws Exception {
+        Semaphore concurrentProbes = new Semaphore(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                ProbeScheduler scheduler = new ProbeScheduler(0, 0, concurrentProbes);
+                futures.add(executor.submit(() -> {
+                    return scheduler.getWhenReady(() -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        TimeUnit.MILLISECONDS.sleep(50);
+                        running.decrementAndGet();
+                        return true;
+                    });
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue("probe completes", future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("no more than the limit of probes ran at the same time", 2, maxRunning.get());
+        assertEquals("all permits are released", 2, concurrentProbes.availablePermits());
+    }
+
+    @Test
+    public void quickProbesAreNotDelayedByOtherTargets() throws Exception {
+        long startedAt = System.nanoTime();
+        for (int target = 0; target < 10; target++) {
+            ProbeScheduler scheduler = new ProbeScheduler();
+            scheduler.getWhenReady(() -> true);
+            scheduler.getWhenReady(() -> true);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        assertTrue("two probes for each of ten targets take well under a second, took " + elapsedMillis + "ms",
+            elapsedMillis < 1000);
+    }
+}
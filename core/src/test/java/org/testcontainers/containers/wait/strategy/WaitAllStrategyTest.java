@@ -0,0 +1,105 @@
+package org.testcontainers.containers.wait.strategy;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.rnorth.ducttape.TimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class WaitAllStrategyTest {
+
+    @Mock
+    private WaitStrategyTarget target;
+    @Mock
+    private WaitStrategy strategy1;
+    @Mock
+    private WaitStrategy strategy2;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void parallelWaitsForAllStrategiesAtTheSameTime() {
+        CountDownLatch bothWaiting = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothWaiting.countDown();
+            assertTrue("the other strategy is waited for at the same time", bothWaiting.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(strategy1).waitUntilReady(eq(target));
+        doAnswer(invocation -> {
+            bothWaiting.countDown();
+            assertTrue("the other strategy is waited for at the same time", bothWaiting.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(strategy2).waitUntilReady(eq(target));
+
+        new WaitAllStrategy()
+            .withStrategy(strategy1)
+            .withStrategy(strategy2)
+            .inParallel()
+            .waitUntilReady(target);
+
+        verify(strategy1).waitUntilReady(target);
+        verify(strategy2).waitUntilReady(target);
+    }
+
+    @Test
+    public void parallelFailsWhenOneStrategyFailsAndCancelsTheOthers() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("not ready");
+        }).when(strategy1).waitUntilReady(eq(target));
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }).when(strategy2).waitUntilReady(eq(target));
+
+        final WaitStrategy underTest = new WaitAllStrategy()
+            .withStrategy(strategy1)
+            .withStrategy(strategy2)
+            .inParallel();
+
+        assertThrows("the failure of a strategy is reported", IllegalStateException.class, () -> {
+            underTest.waitUntilReady(target);
+            return true;
+        });
+        assertTrue("the other strategy is cancelled", Uninterruptibles.awaitUninterruptibly(interrupted, 5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void parallelAppliesOuterTimeout() {
+        doAnswer(invocation -> {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.SECONDS);
+            return null;
+        }).when(strategy1).waitUntilReady(eq(target));
+
+        final WaitStrategy underTest = new WaitAllStrategy()
+            .withStrategy(strategy1)
+            .inParallel()
+            .withStartupTimeout(Duration.ofMillis(10));
+
+        assertThrows("The outer strategy timeout applies", TimeoutException.class, () -> {
+            underTest.waitUntilReady(target);
+            return true;
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package org.testcontainers.containers.wait.strategy;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.rnorth.ducttape.TimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class WaitAnyStrategyTest {
+
+    @Mock
+    private WaitStrategyTarget target;
+    @Mock
+    private WaitStrategy strategy1;
+    @Mock
+    private WaitStrategy strategy2;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void passesWhenFirstStrategyPassesAndCancelsTheOthers() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(strategy1).waitUntilReady(eq(target));
+        doAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }).when(strategy2).waitUntilReady(eq(target));
+
+        Wait.forAnyOf(strategy1, strategy2).waitUntilReady(target);
+
+        assertTrue("the other strategy is cancelled", Uninterruptibles.awaitUninterruptibly(interrupted, 5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void passesWhenOneStrategyFailsAndAnotherPasses() {
+        doThrow(new IllegalStateException("not ready")).when(strategy1).waitUntilReady(eq(target));
+        doAnswer(invocation -> {
+            Thread.sleep(100);
+            return null;
+        }).when(strategy2).waitUntilReady(eq(target));
+
+        Wait.forAnyOf(strategy1, strategy2).waitUntilReady(target);
+    }
+
+    @Test
+    public void failsWhenAllStrategiesFail() {
+        doThrow(new IllegalStateException("first")).when(strategy1).waitUntilReady(eq(target));
+        doThrow(new IllegalStateException("second")).when(strategy2).waitUntilReady(eq(target));
+
+        try {
+            Wait.forAnyOf(strategy1, strategy2).waitUntilReady(target);
+        } catch (IllegalStateException e) {
+            assertEquals("the other failure is suppressed", 1, e.getSuppressed().length);
+            return;
+        }
+        throw new AssertionError("expected a failure");
+    }
+
+    @Test
+    public void appliesOuterTimeout() {
+        doAnswer(invocation -> {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.SECONDS);
+            return null;
+        }).when(strategy1).waitUntilReady(eq(target));
+
+        final WaitStrategy underTest = Wait.forAnyOf(strategy1).withStartupTimeout(Duration.ofMillis(10));
+
+        assertThrows("The outer strategy timeout applies", TimeoutException.class, () -> {
+            underTest.waitUntilReady(target);
+            return true;
+        });
+    }
+}
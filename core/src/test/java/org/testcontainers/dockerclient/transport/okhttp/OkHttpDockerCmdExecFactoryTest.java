@@ -0,0 +1,141 @@
+package org.testcontainers.dockerclient.transport.okhttp;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.core.DefaultDockerClientConfig;
+import com.github.dockerjava.core.DockerClientImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.scalasbt.ipcsocket.UnixDomainServerSocket;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class OkHttpDockerCmdExecFactoryTest {
+
+    private static final int CALLS = 50;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private StubDaemon daemon;
+
+    @Before
+    public void setUp() throws IOException {
+        daemon = new StubDaemon(temporaryFolder.getRoot().getAbsolutePath() + "/docker.sock");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        daemon.close();
+    }
+
+    @Test(timeout = 30_000)
+    public void opensConnectionPerCallWithoutPool() throws IOException {
+        try (DockerClient client = clientFor(new OkHttpDockerCmdExecFactory(0, 30))) {
+            for (int i = 0; i < CALLS; i++) {
+                client.pingCmd().exec();
+            }
+        }
+
+        assertEquals("every call opened a connection", CALLS, daemon.connections.get());
+    }
+
+    @Test(timeout = 30_000)
+    public void reusesConnectionsWithPool() throws IOException {
+        try (DockerClient client = clientFor(new OkHttpDockerCmdExecFactory(4, 30))) {
+            for (int i = 0; i < CALLS; i++) {
+                client.pingCmd().exec();
+                // POST requests make OkHttp probe pooled connections before reusing them
+                client.createContainerCmd("stub").exec();
+            }
+        }
+
+        assertTrue("connections were reused (" + daemon.connections.get() + " opened)", daemon.connections.get() < CALLS);
+        assertEquals("every call was answered", 2 * CALLS, daemon.requests.get());
+    }
+
+    private DockerClient clientFor(OkHttpDockerCmdExecFactory factory) {
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost("unix://" + daemon.socketPath)
+            .withDockerTlsVerify(false)
+            .build();
+        return DockerClientImpl.getInstance(config).withDockerCmdExecFactory(factory);
+    }
+
+    /**
+     * Answers every request on a unix socket with an empty JSON object, keeping connections alive.
+     */
+    private static class StubDaemon implements AutoCloseable {
+
+        private final String socketPath;
+
+        private final UnixDomainServerSocket serverSocket;
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private StubDaemon(String socketPath) throws IOException {
+            this.socketPath = socketPath;
+            this.serverSocket = new UnixDomainServerSocket(socketPath);
+
+            Thread acceptor = new Thread(() -> {
+                while (true) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        connections.incrementAndGet();
+                        Thread handler = new Thread(() -> serve(socket));
+                        handler.setDaemon(true);
+                        handler.start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private void serve(Socket socket) {
+            try (
+                Socket closedSocket = socket;
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                OutputStream output = socket.getOutputStream()
+            ) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int contentLength = 0;
+                    for (; line != null && !line.isEmpty(); line = reader.readLine()) {
+                        if (line.toLowerCase().startsWith("content-length:")) {
+                            contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                        }
+                    }
+                    // request bodies are JSON, so characters and bytes match up for ASCII content
+                    reader.skip(contentLength);
+
+                    requests.incrementAndGet();
+                    output.write("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 2\r\n\r\n{}".getBytes(StandardCharsets.UTF_8));
+                    output.flush();
+                }
+            } catch (IOException ignored) {
+                // connection closed by the client
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
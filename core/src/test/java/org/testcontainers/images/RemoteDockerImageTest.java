@@ -0,0 +1,44 @@
+package org.testcontainers.images;
+
+import org.junit.Test;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class RemoteDockerImageTest {
+
+    private final DockerImageName tinyImage = new DockerImageName(TestcontainersConfiguration.getInstance().getTinyImage());
+
+    @Test
+    public void prefetchMakesImagesAvailable() throws Exception {
+        RemoteDockerImage.prefetch(Arrays.asList(tinyImage, tinyImage)).get(2, TimeUnit.MINUTES);
+
+        assertTrue("prefetched image is in the image name cache", RemoteDockerImage.AVAILABLE_IMAGE_NAME_CACHE.contains(tinyImage));
+    }
+
+    @Test
+    public void concurrentResolvesOfSameImageSucceed() throws Exception {
+        List<CompletableFuture<String>> resolved = IntStream.range(0, 4)
+            .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                try {
+                    return new RemoteDockerImage(tinyImage.toString()).get();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }))
+            .collect(Collectors.toList());
+
+        for (CompletableFuture<String> imageName : resolved) {
+            assertEquals("every concurrent resolve returns the image name", tinyImage.toString(), imageName.get(2, TimeUnit.MINUTES));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.testcontainers.images.builder;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertNotEquals;
+
+public class ImageBuildCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void sameBuildContextHasSameImageName() {
+        assertEquals("image name only depends on the build context",
+            ImageBuildCache.imageNameFor(context("FROM alpine:3.5", 0100644)),
+            ImageBuildCache.imageNameFor(context("FROM alpine:3.5", 0100644)));
+    }
+
+    @Test
+    public void changedContentOrModeChangesImageName() {
+        String imageName = ImageBuildCache.imageNameFor(context("FROM alpine:3.5", 0100644));
+
+        assertNotEquals("changed content changes the image name",
+            imageName, ImageBuildCache.imageNameFor(context("FROM alpine:3.6", 0100644)));
+        assertNotEquals("changed file mode changes the image name",
+            imageName, ImageBuildCache.imageNameFor(context("FROM alpine:3.5", 0100755)));
+    }
+
+    @Test
+    public void modificationTimeDoesNotChangeImageName() throws Exception {
+        File file = temporaryFolder.newFile("script.sh");
+        Files.write(file.toPath(), "echo hello".getBytes(StandardCharsets.UTF_8));
+        Map<String, Transferable> transferables = new HashMap<>();
+        transferables.put("script.sh", MountableFile.forHostPath(file.getPath()));
+        String imageName = ImageBuildCache.imageNameFor(transferables);
+
+        file.setLastModified(file.lastModified() - 60_000);
+
+        assertEquals("touching a file does not change the image name", imageName, ImageBuildCache.imageNameFor(transferables));
+    }
+
+    private static Map<String, Transferable> context(String dockerfile, int fileMode) {
+        Map<String, Transferable> transferables = new HashMap<>();
+        transferables.put("Dockerfile", Transferable.of(dockerfile.getBytes(StandardCharsets.UTF_8), fileMode));
+        transferables.put("data/file.txt", Transferable.of("content".getBytes(StandardCharsets.UTF_8)));
+        return transferables;
+    }
+}
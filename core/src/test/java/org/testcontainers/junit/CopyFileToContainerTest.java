@@ -22,4 +22,21 @@ public class CopyFileToContainerTest {
             Assert.assertTrue(filesList.contains(fileName));
         }
     }
+
+    @Test
+    public void checkFilesCopiedWithPipelinedStartup() throws IOException, InterruptedException {
+        try(
+            GenericContainer container = new GenericContainer("alpine:latest")
+                .withCommand("sleep","3000")
+                .withPipelinedStartup(true)
+                .withCopyFileToContainer(MountableFile.forClasspathResource("/mappable-resource/"), containerPath)
+                .withCopyFileToContainer(MountableFile.forClasspathResource("test_copy_to_container.txt"), "/tmp/test_copy_to_container.txt")
+        ) {
+            container.start();
+            String filesList = container.execInContainer("ls","/tmp/mappable-resource").getStdout();
+            Assert.assertTrue(filesList.contains(fileName));
+            String copiedFile = container.execInContainer("ls","/tmp").getStdout();
+            Assert.assertTrue(copiedFile.contains("test_copy_to_container.txt"));
+        }
+    }
 }
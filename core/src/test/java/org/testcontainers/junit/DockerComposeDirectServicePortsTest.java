@@ -0,0 +1,37 @@
+package org.testcontainers.junit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.DockerComposeContainer;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class DockerComposeDirectServicePortsTest extends BaseDockerComposeTest {
+
+    @Rule
+    public DockerComposeContainer environment = new DockerComposeContainer(new File("src/test/resources/v2-compose-test.yml"))
+            .withDirectServicePorts(true)
+            .withExposedService("redis_1", REDIS_PORT);
+
+    @Override
+    protected DockerComposeContainer getEnvironment() {
+        return environment;
+    }
+
+    @Test
+    public void servicesAreReachedDirectly() {
+        int servicePort = environment.getServicePort("redis_1", REDIS_PORT);
+
+        boolean publishedByService = DockerClientFactory.instance().client().listContainersCmd()
+            .withLabelFilter(Collections.singletonMap("com.docker.compose.service", "redis"))
+            .exec().stream()
+            .flatMap(container -> Arrays.stream(container.getPorts()))
+            .anyMatch(port -> port.getPublicPort() != null && port.getPublicPort() == servicePort);
+        assertTrue("The port is published by the service container itself", publishedByService);
+    }
+}
@@ -0,0 +1,40 @@
+package org.testcontainers.junit;
+
+import org.junit.Test;
+import org.testcontainers.containers.DockerComposeContainer;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertNotEquals;
+
+/**
+ * Independent Compose environments can be started at the same time.
+ */
+public class DockerComposeParallelStartTest {
+
+    private static final int REDIS_PORT = 6379;
+
+    @Test
+    public void startsIndependentEnvironmentsConcurrently() throws Exception {
+        List<DockerComposeContainer> environments = Arrays.asList(
+            new DockerComposeContainer(new File("src/test/resources/v2-compose-test.yml")).withExposedService("redis_1", REDIS_PORT),
+            new DockerComposeContainer(new File("src/test/resources/v2-compose-test.yml")).withExposedService("redis_1", REDIS_PORT)
+        );
+
+        try {
+            CompletableFuture.allOf(environments.stream()
+                .map(environment -> CompletableFuture.runAsync(environment::start))
+                .toArray(CompletableFuture[]::new)
+            ).get();
+
+            assertNotEquals("each environment has its own services",
+                environments.get(0).getServicePort("redis_1", REDIS_PORT),
+                environments.get(1).getServicePort("redis_1", REDIS_PORT));
+        } finally {
+            environments.forEach(DockerComposeContainer::stop);
+        }
+    }
+}
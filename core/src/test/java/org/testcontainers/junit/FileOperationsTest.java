@@ -9,7 +9,9 @@ import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.utility.MountableFile;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Random;
 
 import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
 
@@ -36,6 +38,33 @@ public class FileOperationsTest {
         }
     }
 
+    @Test
+    public void copyLargeFileToContainerTest() throws Exception {
+        try (
+            GenericContainer alpineCopyToContainer = new GenericContainer("alpine:3.2")
+                .withCommand("top")
+        ) {
+            alpineCopyToContainer.start();
+
+            // larger than the pipe the archive is streamed through
+            File expectedFile = temporaryFolder.newFile("large_file.bin");
+            byte[] chunk = new byte[1024 * 1024];
+            new Random(42).nextBytes(chunk);
+            try (FileOutputStream output = new FileOutputStream(expectedFile)) {
+                for (int i = 0; i < 64; i++) {
+                    output.write(chunk);
+                }
+            }
+
+            alpineCopyToContainer.copyFileToContainer(MountableFile.forHostPath(expectedFile.getPath()), "/large_file.bin");
+
+            File actualFile = new File(temporaryFolder.getRoot().getAbsolutePath() + "/large_file_copy.bin");
+            alpineCopyToContainer.copyFileFromContainer("/large_file.bin", actualFile.getPath());
+
+            assertTrue("Files aren't same ", FileUtils.contentEquals(expectedFile, actualFile));
+        }
+    }
+
     @Test
     public void copyFileToContainerFolderTest() throws Exception {
         try (
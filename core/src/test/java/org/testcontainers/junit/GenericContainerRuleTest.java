@@ -18,6 +18,7 @@ import java.io.*;
 import java.net.Socket;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -320,6 +321,31 @@ public class GenericContainerRuleTest {
         // We expect to reach this point for modern Docker versions.
     }
 
+    @Test
+    public void testExecInContainerBatchAndSession() throws Exception {
+        Assume.assumeTrue(TestEnvironment.dockerExecutionDriverSupportsExec());
+
+        final List<GenericContainer.ExecResult> results = redis.execInContainerBatch(Arrays.asList(
+            new String[]{"redis-cli", "set", "batch", "value"},
+            new String[]{"redis-cli", "get", "batch"},
+            new String[]{"ls", "/does-not-exist"}
+        ));
+        assertEquals("Each command in the batch has a result", 3, results.size());
+        assertEquals("Commands in the batch run in order", "value", results.get(1).getStdout().trim());
+        assertEquals("The exit code of a successful command is returned", 0, results.get(1).getExitCode());
+        assertTrue("The exit code of a failed command is returned", results.get(2).getExitCode() != 0);
+        assertFalse("The stderr of a failed command is returned", results.get(2).getStderr().isEmpty());
+
+        redis.execInSession("cd", "/tmp");
+        final GenericContainer.ExecResult result = redis.execInSession("pwd");
+        assertEquals("The shell is kept between commands in a session", "/tmp", result.getStdout().trim());
+        assertEquals("The exit code of a command in a session is returned", 0, result.getExitCode());
+
+        assertThrows("A command that ends the shell has no result", IllegalStateException.class,
+            () -> redis.execInSession("exit"));
+        assertEquals("A new shell is started after the previous one has ended", "/data", redis.execInSession("pwd").getStdout().trim());
+    }
+
 
     @Test
     public void extraHostTest() throws IOException {
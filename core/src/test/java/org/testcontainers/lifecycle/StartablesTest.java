@@ -0,0 +1,172 @@
+package org.testcontainers.lifecycle;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertFalse;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertThrows;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class StartablesTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Test(timeout = 5_000)
+    public void startsDependenciesFirst() {
+        TestStartable database = new TestStartable("database");
+        TestStartable cache = new TestStartable("cache");
+        TestStartable application = new TestStartable("application", database, cache);
+
+        Startables.deepStart(Collections.singletonList(application)).join();
+
+        assertEquals("all startables were started", 3, events.size());
+        assertEquals("dependant was started last", "start application", events.get(2));
+        assertEquals("every startable was started once", 1, database.starts.get());
+    }
+
+    @Test(timeout = 5_000)
+    public void startsIndependentStartablesConcurrently() {
+        CountDownLatch bothStarting = new CountDownLatch(2);
+        TestStartable first = new TestStartable("first", bothStarting);
+        TestStartable second = new TestStartable("second", bothStarting);
+
+        Startables.deepStart(Arrays.asList(first, second)).join();
+
+        assertTrue("both startables were starting at the same time", first.sawOtherStarting && second.sawOtherStarting);
+    }
+
+    @Test(timeout = 5_000)
+    public void stopsStartedStartablesOnFailure() {
+        TestStartable database = new TestStartable("database");
+        TestStartable broken = new TestStartable("broken", database) {
+            @Override
+            public void start() {
+                super.start();
+                throw new IllegalStateException("boom");
+            }
+        };
+        TestStartable application = new TestStartable("application", broken);
+
+        assertThrows("deep start fails", CompletionException.class,
+            () -> Startables.deepStart(Collections.singletonList(application)).join());
+
+        assertTrue("started dependency was stopped", events.contains("stop database"));
+        assertFalse("dependant of failed startable was not started", events.contains("start application"));
+    }
+
+    @Test(timeout = 5_000)
+    public void leavesAlreadyStartedDependenciesRunningOnFailure() {
+        TestStartable shared = new TestStartable("shared");
+        shared.start();
+        TestStartable broken = new TestStartable("broken", shared) {
+            @Override
+            public void start() {
+                super.start();
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThrows("deep start fails", CompletionException.class,
+            () -> Startables.deepStart(Collections.singletonList(broken)).join());
+
+        assertFalse("dependency started elsewhere was not stopped", events.contains("stop shared"));
+        assertTrue("failed startable was stopped", events.contains("stop broken"));
+    }
+
+    @Test(timeout = 5_000)
+    public void startsSharedDependencyOnceAcrossConcurrentDeepStarts() {
+        CountDownLatch bothStarting = new CountDownLatch(2);
+        TestStartable shared = new TestStartable("shared", bothStarting);
+        TestStartable first = new TestStartable("first", shared);
+        TestStartable second = new TestStartable("second", shared);
+
+        CompletableFuture<Void> firstStart = Startables.deepStart(Collections.singletonList(first));
+        CompletableFuture<Void> secondStart = Startables.deepStart(Collections.singletonList(second));
+        CompletableFuture.allOf(firstStart, secondStart).join();
+
+        assertEquals("shared dependency was started once", 1, shared.starts.get());
+    }
+
+    @Test
+    public void detectsCircularDependencies() {
+        TestStartable first = new TestStartable("first");
+        TestStartable second = new TestStartable("second", first);
+        first.dependencies.add(second);
+
+        assertThrows("circular dependency is rejected", IllegalArgumentException.class,
+            () -> Startables.deepStart(Collections.singletonList(first)));
+    }
+
+    private class TestStartable implements Startable {
+
+        private final String name;
+
+        private final Set<Startable> dependencies;
+
+        private final CountDownLatch startingLatch;
+
+        private final AtomicInteger starts = new AtomicInteger();
+
+        private volatile boolean sawOtherStarting;
+
+        private volatile boolean started;
+
+        TestStartable(String name, Startable... dependencies) {
+            this(name, null, dependencies);
+        }
+
+        TestStartable(String name, CountDownLatch startingLatch, Startable... dependencies) {
+            this.name = name;
+            this.startingLatch = startingLatch;
+            this.dependencies = new HashSet<>(Arrays.asList(dependencies));
+        }
+
+        @Override
+        public Set<Startable> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public void start() {
+            starts.incrementAndGet();
+            if (startingLatch != null) {
+                startingLatch.countDown();
+                try {
+                    sawOtherStarting = startingLatch.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            started = true;
+            events.add("start " + name);
+        }
+
+        @Override
+        public boolean isStarted() {
+            return started;
+        }
+
+        @Override
+        public void stop() {
+            started = false;
+            events.add("stop " + name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
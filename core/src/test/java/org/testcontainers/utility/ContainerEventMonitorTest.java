@@ -0,0 +1,147 @@
+package org.testcontainers.utility;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.EventsCmd;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Event;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertFalse;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
+
+public class ContainerEventMonitorTest {
+
+    private static final String CONTAINER_ID = "abc123";
+
+    private DockerClient dockerClient;
+    private EventsCmd eventsCmd;
+    private InspectContainerCmd inspectContainerCmd;
+
+    @Before
+    public void setUp() {
+        dockerClient = mock(DockerClient.class);
+        eventsCmd = mock(EventsCmd.class);
+        inspectContainerCmd = mock(InspectContainerCmd.class);
+
+        when(dockerClient.eventsCmd()).thenReturn(eventsCmd);
+        when(eventsCmd.withEventFilter(anyVararg())).thenReturn(eventsCmd);
+        when(dockerClient.inspectContainerCmd(anyString())).thenReturn(inspectContainerCmd);
+        when(inspectContainerCmd.exec()).thenReturn(mock(InspectContainerResponse.class));
+    }
+
+    @Test
+    public void cachesInspectionUntilEvent() {
+        ContainerEventMonitor monitor = connectedMonitor();
+
+        monitor.inspect(CONTAINER_ID);
+        monitor.inspect(CONTAINER_ID);
+        verify(inspectContainerCmd, times(1)).exec();
+
+        monitor.onEvent(new Event("die", CONTAINER_ID, "alpine", System.currentTimeMillis()));
+        monitor.inspect(CONTAINER_ID);
+        verify(inspectContainerCmd, times(2)).exec();
+    }
+
+    @Test
+    public void inspectionIsForgottenWhenChanged() {
+        ContainerEventMonitor monitor = connectedMonitor();
+
+        monitor.inspect(CONTAINER_ID);
+        monitor.invalidate(CONTAINER_ID);
+        monitor.inspect(CONTAINER_ID);
+        verify(inspectContainerCmd, times(2)).exec();
+    }
+
+    @Test
+    public void doesNotConnectOnInspect() {
+        ContainerEventMonitor monitor = new ContainerEventMonitor(dockerClient, 60_000);
+
+        monitor.inspect(CONTAINER_ID);
+        monitor.inspect(CONTAINER_ID);
+        verify(dockerClient, times(0)).eventsCmd();
+        verify(inspectContainerCmd, times(2)).exec();
+    }
+
+    @Test
+    public void waitUntilIsWokenByEvents() throws Exception {
+        ContainerEventMonitor monitor = connectedMonitor();
+        AtomicBoolean healthy = new AtomicBoolean();
+        AtomicInteger evaluations = new AtomicInteger();
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(() -> {
+                healthy.set(true);
+                monitor.onEvent(new Event("health_status: healthy", CONTAINER_ID, "alpine", System.currentTimeMillis()));
+            }, 500, TimeUnit.MILLISECONDS);
+
+            long startedAt = System.nanoTime();
+            boolean result = monitor.waitUntil(CONTAINER_ID, Duration.ofSeconds(30), null, () -> {
+                evaluations.incrementAndGet();
+                return healthy.get();
+            });
+
+            assertTrue("the condition is met", result);
+            assertTrue("the event wakes the waiter up", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt) < 10);
+            assertTrue("the condition is not polled, evaluated " + evaluations.get() + " times", evaluations.get() <= 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void waitUntilTimesOut() throws Exception {
+        ContainerEventMonitor monitor = connectedMonitor();
+
+        assertFalse("the condition is not met before the timeout",
+            monitor.waitUntil(CONTAINER_ID, Duration.ofMillis(100), null, () -> false));
+    }
+
+    @Test
+    public void pollsWithoutEvents() throws Exception {
+        when(eventsCmd.exec(any())).thenThrow(new RuntimeException("events not supported"));
+        ContainerEventMonitor monitor = new ContainerEventMonitor(dockerClient, 1000);
+        monitor.connect();
+
+        monitor.inspect(CONTAINER_ID);
+        monitor.inspect(CONTAINER_ID);
+        verify(inspectContainerCmd, times(2)).exec();
+
+        AtomicInteger evaluations = new AtomicInteger();
+        assertTrue("the condition is polled", monitor.waitUntil(CONTAINER_ID, Duration.ofSeconds(30), null,
+            () -> evaluations.incrementAndGet() == 5));
+        assertFalse("the monitor is not connected", monitor.isConnected());
+    }
+
+    private ContainerEventMonitor connectedMonitor() {
+        doAnswer(invocation -> {
+            ResultCallback<?> callback = (ResultCallback<?>) invocation.getArguments()[0];
+            callback.onStart(() -> {
+            });
+            return callback;
+        }).when(eventsCmd).exec(any());
+
+        ContainerEventMonitor monitor = new ContainerEventMonitor(dockerClient, 60_000);
+        monitor.connect();
+        assertTrue("the monitor is connected", monitor.isConnected());
+        return monitor;
+    }
+}
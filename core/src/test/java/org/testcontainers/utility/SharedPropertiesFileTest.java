@@ -0,0 +1,38 @@
+package org.testcontainers.utility;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+
+public class SharedPropertiesFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void keepsEveryConcurrentUpdate() {
+        SharedPropertiesFile file = new SharedPropertiesFile(new File(temporaryFolder.getRoot(), "index.properties"), "test");
+
+        CompletableFuture.allOf(IntStream.range(0, 20)
+            .mapToObj(i -> CompletableFuture.runAsync(() -> file.update(properties -> properties.setProperty("key" + i, "value"))))
+            .toArray(CompletableFuture<?>[]::new)
+        ).join();
+
+        Properties properties = file.read();
+        assertEquals("no update was lost", 20, properties.size());
+    }
+
+    @Test
+    public void readsNothingFromAMissingFile() {
+        SharedPropertiesFile file = new SharedPropertiesFile(new File(temporaryFolder.getRoot(), "missing.properties"), "test");
+
+        assertEquals("no properties", 0, file.read().size());
+    }
+}
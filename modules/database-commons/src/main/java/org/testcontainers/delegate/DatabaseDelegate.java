@@ -1,6 +1,7 @@
 package org.testcontainers.delegate;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Database delegate
@@ -21,6 +22,20 @@ public interface DatabaseDelegate extends AutoCloseable {
      */
     void execute(Collection<String> statements, String scriptPath, boolean continueOnError, boolean ignoreFailedDrops);
 
+    /**
+     * Execute statements which only modify data, such as INSERTs, in as few round trips as the database allows
+     *
+     * By default they are executed one by one
+     *
+     * @param statements  the statements
+     * @param lineNumbers the line of the script that each statement starts on
+     */
+    default void executeBatch(List<String> statements, List<Integer> lineNumbers, String scriptPath, boolean continueOnError, boolean ignoreFailedDrops) {
+        for (int i = 0; i < statements.size(); i++) {
+            execute(statements.get(i), scriptPath, lineNumbers.get(i), continueOnError, ignoreFailedDrops);
+        }
+    }
+
     /**
      * Close connection to the database
      *
@@ -0,0 +1,333 @@
+package org.testcontainers.ext;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.delegate.DatabaseDelegate;
+
+import javax.script.ScriptException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Runs init scripts from the classpath in phases.
+ * <p>
+ * Phases run one after the other, in the order they were added. The scripts of a phase are independent of each
+ * other, so they run at the same time, each with its own {@link DatabaseDelegate} and so its own connection. Each
+ * entry of a phase may be:
+ * <ul>
+ * <li>a script, e.g. <code>db/schema.sql</code></li>
+ * <li>a directory, standing for the <code>.sql</code> files directly within it, e.g. <code>db/reference-data</code></li>
+ * <li>a pattern with <code>*</code> or <code>?</code> in the file name, e.g. <code>db/reference-data/*.sql</code></li>
+ * </ul>
+ * Scripts matched by a directory or pattern are ordered by name.
+ */
+@Slf4j
+public class ScriptPipeline {
+
+    private static final String PHASE_SEPARATOR = ";";
+
+    private static final String SCRIPT_SEPARATOR = ",";
+
+    private static final ThreadFactory THREAD_FACTORY = DockerClientFactory.daemonThreadFactory("testcontainers-init-script-%d");
+
+    private final List<List<String>> phases = new ArrayList<>();
+
+    /**
+     * Parse a pipeline from its text form, in which phases are separated by <code>;</code> and the scripts of a
+     * phase by <code>,</code>, e.g. <code>db/schema.sql;db/reference-data/*.sql</code>. A single script is a
+     * pipeline of one phase.
+     *
+     * @param pipeline the text form of the pipeline
+     * @return the pipeline
+     */
+    public static ScriptPipeline parse(String pipeline) {
+        ScriptPipeline result = new ScriptPipeline();
+        for (String phase : pipeline.split(PHASE_SEPARATOR)) {
+            String[] scripts = Arrays.stream(phase.split(SCRIPT_SEPARATOR))
+                .map(String::trim)
+                .filter(it -> !it.isEmpty())
+                .toArray(String[]::new);
+            if (scripts.length > 0) {
+                result.addPhase(scripts);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parse a pipeline like {@link #parse(String)}, unless there is a script or directory with the whole text as its
+     * name, which is then a pipeline of that script only. This keeps init scripts whose names contain <code>;</code>
+     * or <code>,</code> working.
+     *
+     * @param pipeline    the text form of the pipeline, or the name of a single script
+     * @param classLoader the class loader to look for a script of that name with
+     * @return the pipeline
+     */
+    public static ScriptPipeline parse(String pipeline, ClassLoader classLoader) {
+        if (classLoader.getResource(pipeline) != null) {
+            return new ScriptPipeline().addPhase(pipeline);
+        }
+        return parse(pipeline);
+    }
+
+    /**
+     * Add a phase, which runs once all earlier phases have finished.
+     *
+     * @param scripts scripts, directories or patterns that may run at the same time
+     * @return this
+     */
+    public ScriptPipeline addPhase(String... scripts) {
+        if (scripts.length > 0) {
+            phases.add(Collections.unmodifiableList(Arrays.asList(scripts)));
+        }
+        return this;
+    }
+
+    public List<List<String>> getPhases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    public boolean isEmpty() {
+        return phases.isEmpty();
+    }
+
+    /**
+     * Find the scripts that each phase stands for.
+     *
+     * @param classLoader the class loader to load scripts with
+     * @return the scripts of each phase
+     * @throws ScriptUtils.ScriptLoadException if a script can't be found, or a directory or pattern matches none
+     */
+    public List<List<String>> resolve(ClassLoader classLoader) {
+        List<List<String>> resolved = new ArrayList<>();
+        for (List<String> phase : phases) {
+            List<String> scripts = new ArrayList<>();
+            for (String entry : phase) {
+                for (String script : resolve(entry, classLoader)) {
+                    if (!scripts.contains(script)) {
+                        scripts.add(script);
+                    }
+                }
+            }
+            resolved.add(scripts);
+        }
+        return resolved;
+    }
+
+    /**
+     * Run the scripts.
+     *
+     * @param delegates   creates a delegate for each script, which is closed once the script has run
+     * @param parallelism how many scripts may run at the same time
+     * @param classLoader the class loader to load scripts with
+     * @return how long each script took, in the order they were declared
+     */
+    public Map<String, Duration> run(Supplier<DatabaseDelegate> delegates, int parallelism, ClassLoader classLoader) {
+        long start = System.currentTimeMillis();
+        Map<String, Duration> timings = new ConcurrentHashMap<>();
+        List<List<String>> resolved = resolve(classLoader);
+
+        for (List<String> phase : resolved) {
+            if (phase.size() == 1 || parallelism <= 1) {
+                for (String script : phase) {
+                    timings.put(script, runScript(script, delegates.get(), classLoader));
+                }
+                continue;
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, phase.size()), THREAD_FACTORY);
+            try {
+                List<CompletableFuture<Void>> scripts = phase.stream()
+                    .map(script -> CompletableFuture.runAsync(
+                        () -> timings.put(script, runScript(script, delegates.get(), classLoader)), executor))
+                    .collect(Collectors.toList());
+
+                // wait for all of them, so that no script of this phase is still running when the failure is reported
+                RuntimeException failure = null;
+                for (CompletableFuture<Void> script : scripts) {
+                    try {
+                        script.join();
+                    } catch (CompletionException e) {
+                        if (failure == null) {
+                            failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        Map<String, Duration> orderedTimings = new LinkedHashMap<>();
+        resolved.forEach(phase -> phase.forEach(script -> orderedTimings.put(script, timings.get(script))));
+        log.info("Executed {} init scripts in {} phases in {} ms: {}", orderedTimings.size(), resolved.size(),
+            System.currentTimeMillis() - start, orderedTimings.entrySet().stream()
+                .map(it -> it.getKey() + " (" + it.getValue().toMillis() + " ms)")
+                .collect(Collectors.joining(", ")));
+        return orderedTimings;
+    }
+
+    private static Duration runScript(String script, DatabaseDelegate delegate, ClassLoader classLoader) {
+        URL resource = classLoader.getResource(script);
+        if (resource == null) {
+            throw new ScriptUtils.ScriptLoadException("Could not load classpath init script: " + script + ". Resource not found.");
+        }
+
+        long start = System.nanoTime();
+        try (Reader reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+            ScriptUtils.executeDatabaseScript(delegate, script, reader);
+        } catch (IOException e) {
+            log.warn("Could not load classpath init script: {}", script);
+            throw new ScriptUtils.ScriptLoadException("Could not load classpath init script: " + script, e);
+        } catch (ScriptException e) {
+            log.error("Error while executing init script: {}", script, e);
+            throw new ScriptUtils.UncategorizedScriptException("Error while executing init script: " + script, e);
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    static List<String> resolve(String entry, ClassLoader classLoader) {
+        String path = entry.endsWith("/") ? entry.substring(0, entry.length() - 1) : entry;
+        int slash = path.lastIndexOf('/');
+        String directory = slash >= 0 ? path.substring(0, slash) : "";
+        String name = path.substring(slash + 1);
+
+        if (name.contains("*") || name.contains("?")) {
+            List<String> matches = listScripts(directory, globToRegex(name), classLoader);
+            if (matches.isEmpty()) {
+                throw new ScriptUtils.ScriptLoadException("No classpath init scripts match " + entry);
+            }
+            return matches;
+        }
+
+        URL resource = classLoader.getResource(path);
+        if (resource == null) {
+            throw new ScriptUtils.ScriptLoadException("Could not load classpath init script: " + entry + ". Resource not found.");
+        }
+        if (isDirectory(resource)) {
+            List<String> scripts = listScripts(path, Pattern.compile(".*\\.sql"), classLoader);
+            if (scripts.isEmpty()) {
+                throw new ScriptUtils.ScriptLoadException("No classpath init scripts in directory " + entry);
+            }
+            return scripts;
+        }
+        return Collections.singletonList(path);
+    }
+
+    /**
+     * @return the scripts directly within the given directory, in all classpath roots, whose names match
+     */
+    private static List<String> listScripts(String directory, Pattern namePattern, ClassLoader classLoader) {
+        TreeSet<String> names = new TreeSet<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources(directory);
+            while (roots.hasMoreElements()) {
+                names.addAll(listFiles(roots.nextElement(), directory));
+            }
+        } catch (IOException e) {
+            throw new ScriptUtils.ScriptLoadException("Could not list classpath directory " + directory, e);
+        }
+
+        String prefix = directory.isEmpty() ? "" : directory + "/";
+        return names.stream()
+            .filter(it -> namePattern.matcher(it).matches())
+            .map(it -> prefix + it)
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> listFiles(URL directoryUrl, String directory) throws IOException {
+        List<String> names = new ArrayList<>();
+        if ("file".equals(directoryUrl.getProtocol())) {
+            File[] files = toFile(directoryUrl).listFiles(File::isFile);
+            if (files != null) {
+                Arrays.stream(files).map(File::getName).forEach(names::add);
+            }
+        } else if ("jar".equals(directoryUrl.getProtocol())) {
+            String prefix = directory.isEmpty() ? "" : directory + "/";
+            JarURLConnection connection = (JarURLConnection) directoryUrl.openConnection();
+            connection.setUseCaches(false);
+            try (JarFile jarFile = connection.getJarFile()) {
+                Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    JarEntry jarEntry = entries.nextElement();
+                    String name = jarEntry.getName();
+                    if (!jarEntry.isDirectory() && name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0) {
+                        names.add(name.substring(prefix.length()));
+                    }
+                }
+            }
+        } else {
+            log.warn("Can't list init scripts in {}, only files and jars are supported", directoryUrl);
+        }
+        return names;
+    }
+
+    private static boolean isDirectory(URL resource) {
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                return toFile(resource).isDirectory();
+            }
+            if ("jar".equals(resource.getProtocol())) {
+                URLConnection connection = resource.openConnection();
+                connection.setUseCaches(false);
+                JarEntry jarEntry = ((JarURLConnection) connection).getJarEntry();
+                return jarEntry != null && jarEntry.isDirectory();
+            }
+        } catch (IOException e) {
+            log.debug("Could not check whether {} is a directory", resource, e);
+        }
+        return false;
+    }
+
+    private static File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException e) {
+            return new File(url.getPath());
+        }
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,222 @@
+package org.testcontainers.ext;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Reads the statements of an SQL script one at a time, without loading the whole script into memory.
+ * <p>
+ * Statements are split the same way as {@link ScriptUtils#splitSqlScript}: separators within single-quoted literals
+ * are ignored, line and block comments are removed and adjacent whitespace is collapsed. If the script turns out not
+ * to contain the separator at all, it is split on {@link ScriptUtils#FALLBACK_STATEMENT_SEPARATOR} instead, which is
+ * the only case in which the script is held in memory.
+ */
+public class ScriptStatementReader implements Closeable {
+
+    private final Reader reader;
+    private final String resource;
+    private final String separator;
+    private final String commentPrefix;
+    private final String blockCommentStartDelimiter;
+    private final String blockCommentEndDelimiter;
+
+    /**
+     * Characters read ahead of the current position
+     */
+    private final StringBuilder lookahead = new StringBuilder();
+
+    /**
+     * The script so far, as long as no separator has been found
+     */
+    private StringBuilder unseparated = new StringBuilder();
+
+    private ScriptStatementReader fallback;
+
+    private boolean endOfScript = false;
+
+    private int currentLine = 1;
+
+    private int statementLine = 0;
+
+    public ScriptStatementReader(Reader reader, String resource) {
+        this(reader, resource, ScriptUtils.DEFAULT_STATEMENT_SEPARATOR, ScriptUtils.DEFAULT_COMMENT_PREFIX,
+            ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+    }
+
+    public ScriptStatementReader(Reader reader, String resource, String separator, String commentPrefix,
+                                 String blockCommentStartDelimiter, String blockCommentEndDelimiter) {
+        this.reader = reader;
+        this.resource = resource;
+        this.separator = separator != null ? separator : ScriptUtils.DEFAULT_STATEMENT_SEPARATOR;
+        this.commentPrefix = commentPrefix;
+        this.blockCommentStartDelimiter = blockCommentStartDelimiter;
+        this.blockCommentEndDelimiter = blockCommentEndDelimiter;
+        if (ScriptUtils.FALLBACK_STATEMENT_SEPARATOR.equals(this.separator)) {
+            unseparated = null;
+        }
+    }
+
+    /**
+     * @return the next statement, or null at the end of the script
+     * @throws IOException if the script can't be read
+     */
+    public String readStatement() throws IOException {
+        if (fallback != null) {
+            String statement = fallback.readStatement();
+            statementLine = fallback.getLineNumber();
+            return statement;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        boolean inLiteral = false;
+        boolean inEscape = false;
+        int c;
+        while ((c = read()) != -1) {
+            char ch = (char) c;
+            if (inEscape) {
+                inEscape = false;
+                sb.append(ch);
+                continue;
+            }
+            // MySQL style escapes
+            if (ch == '\\') {
+                inEscape = true;
+                append(sb, ch);
+                continue;
+            }
+            if (ch == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (!inLiteral) {
+                if (lookingAt(ch, separator)) {
+                    skip(separator.length() - 1);
+                    // from here on, the script doesn't need to be kept for the fallback
+                    unseparated = null;
+                    if (sb.length() > 0) {
+                        return sb.toString();
+                    }
+                    continue;
+                } else if (lookingAt(ch, commentPrefix)) {
+                    // skip over any content from the start of the comment to the EOL
+                    if (!skipPast("\n")) {
+                        // if there's no EOL, we must be at the end of the script
+                        break;
+                    }
+                    continue;
+                } else if (lookingAt(ch, blockCommentStartDelimiter)) {
+                    skip(blockCommentStartDelimiter.length() - 1);
+                    if (!skipPast(blockCommentEndDelimiter)) {
+                        throw new ScriptUtils.ScriptParseException(String.format("Missing block comment end delimiter [%s].",
+                            blockCommentEndDelimiter), resource);
+                    }
+                    continue;
+                } else if (ch == ' ' || ch == '\n' || ch == '\t') {
+                    // avoid multiple adjacent whitespace characters
+                    if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                        ch = ' ';
+                    } else {
+                        continue;
+                    }
+                }
+            }
+            append(sb, ch);
+        }
+
+        endOfScript = true;
+        if (unseparated != null && unseparated.length() > 0) {
+            // No separator in the whole script, so split it on the fallback separator instead
+            fallback = new ScriptStatementReader(new StringReader(unseparated.toString()), resource,
+                ScriptUtils.FALLBACK_STATEMENT_SEPARATOR, commentPrefix, blockCommentStartDelimiter, blockCommentEndDelimiter);
+            unseparated = null;
+            return readStatement();
+        }
+        return sb.length() > 0 ? sb.toString() : null;
+    }
+
+    /**
+     * @return the line of the script that the last statement read started on
+     */
+    public int getLineNumber() {
+        return statementLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(StringBuilder sb, char ch) {
+        if (sb.length() == 0) {
+            statementLine = currentLine;
+        }
+        sb.append(ch);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (lookahead.length() > 0) {
+            c = lookahead.charAt(0);
+            lookahead.deleteCharAt(0);
+        } else if (endOfScript) {
+            return -1;
+        } else {
+            c = reader.read();
+        }
+        if (c == -1) {
+            return -1;
+        }
+        if (unseparated != null) {
+            unseparated.append((char) c);
+        }
+        if (c == '\n') {
+            currentLine++;
+        }
+        return c;
+    }
+
+    /**
+     * @return whether the given text starts at the character just read
+     */
+    private boolean lookingAt(char current, String text) throws IOException {
+        if (text.isEmpty() || current != text.charAt(0)) {
+            return false;
+        }
+        while (lookahead.length() < text.length() - 1) {
+            int c = reader.read();
+            if (c == -1) {
+                return false;
+            }
+            lookahead.append((char) c);
+        }
+        for (int i = 1; i < text.length(); i++) {
+            if (lookahead.charAt(i - 1) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skip(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            read();
+        }
+    }
+
+    /**
+     * Skip up to and including the given text.
+     *
+     * @return false if the end of the script was reached first
+     */
+    private boolean skipPast(String text) throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (lookingAt((char) c, text)) {
+                skip(text.length() - 1);
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -16,17 +16,20 @@
 
 package org.testcontainers.ext;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.delegate.DatabaseDelegate;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
 import javax.script.ScriptException;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -227,8 +230,9 @@ public abstract class ScriptUtils {
 				LOGGER.warn("Could not load classpath init script: {}", initScriptPath);
 				throw new ScriptLoadException("Could not load classpath init script: " + initScriptPath + ". Resource not found.");
 			}
-			String scripts = IOUtils.toString(resource, StandardCharsets.UTF_8);
-			executeDatabaseScript(databaseDelegate, initScriptPath, scripts);
+			try (Reader script = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+				executeDatabaseScript(databaseDelegate, initScriptPath, script);
+			}
 		} catch (IOException e) {
 			LOGGER.warn("Could not load classpath init script: {}", initScriptPath);
 			throw new ScriptLoadException("Could not load classpath init script: " + initScriptPath, e);
@@ -242,6 +246,20 @@ public abstract class ScriptUtils {
         executeDatabaseScript(databaseDelegate, scriptPath, script, false, false, DEFAULT_COMMENT_PREFIX, DEFAULT_STATEMENT_SEPARATOR, DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER);
     }
 
+    /**
+     * Execute the given database script, reading it statement by statement.
+     *
+     * @param databaseDelegate database delegate for script execution
+     * @param scriptPath the resource the script was loaded from, for error messages
+     * @param script reader for the script content; not closed by this method
+     * @throws ScriptException if an error occurred while executing the SQL script
+     */
+    public static void executeDatabaseScript(DatabaseDelegate databaseDelegate, String scriptPath, Reader script) throws ScriptException {
+        executeDatabaseScript(databaseDelegate, scriptPath, script, false, false, DEFAULT_COMMENT_PREFIX, DEFAULT_STATEMENT_SEPARATOR,
+            DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER,
+            TestcontainersConfiguration.getInstance().getInitScriptBatchSize());
+    }
+
     /**
 	 * Execute the given database script.
 	 * <p>Statement separators and comments will be removed before executing
@@ -269,31 +287,61 @@ public abstract class ScriptUtils {
 			boolean ignoreFailedDrops, String commentPrefix, String separator, String blockCommentStartDelimiter,
 			String blockCommentEndDelimiter) throws ScriptException {
 
+		executeDatabaseScript(databaseDelegate, scriptPath, new StringReader(script), continueOnError, ignoreFailedDrops,
+			commentPrefix, separator, blockCommentStartDelimiter, blockCommentEndDelimiter,
+			TestcontainersConfiguration.getInstance().getInitScriptBatchSize());
+	}
+
+	/**
+	 * Execute the given database script, reading it statement by statement.
+	 * <p>Runs of consecutive data modification statements ({@code INSERT}, {@code UPDATE}, {@code DELETE} and
+	 * {@code MERGE}) are passed to {@link DatabaseDelegate#executeBatch} in groups of up to {@code batchSize};
+	 * any other statement is executed on its own, after the pending group. With {@code continueOnError}, every
+	 * statement is executed on its own, as drivers differ in which statements of a failed batch they keep.
+	 *
+	 * @param script reader for the script content; not closed by this method
+	 * @param batchSize the maximum number of statements to group together; {@code 1} disables batching
+	 * @see #executeDatabaseScript(DatabaseDelegate, String, String, boolean, boolean, String, String, String, String)
+	 */
+	public static void executeDatabaseScript(DatabaseDelegate databaseDelegate, String scriptPath, Reader script, boolean continueOnError,
+			boolean ignoreFailedDrops, String commentPrefix, String separator, String blockCommentStartDelimiter,
+			String blockCommentEndDelimiter, int batchSize) throws ScriptException {
+
 		try {
 			if (LOGGER.isInfoEnabled()) {
 				LOGGER.info("Executing database script from " + scriptPath);
 			}
 
 			long startTime = System.currentTimeMillis();
-			List<String> statements = new LinkedList<>();
+			int statementCount = 0;
 
-			if (separator == null) {
-				separator = DEFAULT_STATEMENT_SEPARATOR;
-			}
-			if (!containsSqlScriptDelimiters(script, separator)) {
-				separator = FALLBACK_STATEMENT_SEPARATOR;
-			}
-
-			splitSqlScript(scriptPath, script, separator, commentPrefix, blockCommentStartDelimiter,
-				blockCommentEndDelimiter, statements);
+			ScriptStatementReader statements = new ScriptStatementReader(script, scriptPath, separator, commentPrefix,
+				blockCommentStartDelimiter, blockCommentEndDelimiter);
 
 			try (DatabaseDelegate closeableDelegate = databaseDelegate) {
-				closeableDelegate.execute(statements, scriptPath, continueOnError, ignoreFailedDrops);
+				List<String> batch = new ArrayList<>();
+				List<Integer> batchLineNumbers = new ArrayList<>();
+
+				String statement;
+				while ((statement = statements.readStatement()) != null) {
+					statementCount++;
+					if (batchSize > 1 && !continueOnError && isBatchable(statement)) {
+						batch.add(statement);
+						batchLineNumbers.add(statements.getLineNumber());
+						if (batch.size() >= batchSize) {
+							flushBatch(closeableDelegate, batch, batchLineNumbers, scriptPath, continueOnError, ignoreFailedDrops);
+						}
+						continue;
+					}
+					flushBatch(closeableDelegate, batch, batchLineNumbers, scriptPath, continueOnError, ignoreFailedDrops);
+					closeableDelegate.execute(statement, scriptPath, statements.getLineNumber(), continueOnError, ignoreFailedDrops);
+				}
+				flushBatch(closeableDelegate, batch, batchLineNumbers, scriptPath, continueOnError, ignoreFailedDrops);
 			}
 
 			long elapsedTime = System.currentTimeMillis() - startTime;
 			if (LOGGER.isInfoEnabled()) {
-				LOGGER.info("Executed database script from " + scriptPath + " in " + elapsedTime + " ms.");
+				LOGGER.info("Executed database script from " + scriptPath + " (" + statementCount + " statements) in " + elapsedTime + " ms.");
 			}
 		}
 		catch (Exception ex) {
@@ -302,8 +350,28 @@ public abstract class ScriptUtils {
 			}
 
 			throw new UncategorizedScriptException(
-				"Failed to execute database script from resource [" + script + "]", ex);
+				"Failed to execute database script from resource [" + scriptPath + "]", ex);
+		}
+	}
+
+	private static boolean isBatchable(String statement) {
+		String lowerCase = statement.trim().toLowerCase();
+		return lowerCase.startsWith("insert") || lowerCase.startsWith("update")
+			|| lowerCase.startsWith("delete") || lowerCase.startsWith("merge");
+	}
+
+	private static void flushBatch(DatabaseDelegate databaseDelegate, List<String> batch, List<Integer> lineNumbers,
+			String scriptPath, boolean continueOnError, boolean ignoreFailedDrops) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		if (batch.size() == 1) {
+			databaseDelegate.execute(batch.get(0), scriptPath, lineNumbers.get(0), continueOnError, ignoreFailedDrops);
+		} else {
+			databaseDelegate.executeBatch(batch, lineNumbers, scriptPath, continueOnError, ignoreFailedDrops);
 		}
+		batch.clear();
+		lineNumbers.clear();
 	}
 
 	public static class ScriptLoadException extends RuntimeException {
@@ -316,7 +384,7 @@ public abstract class ScriptUtils {
 		}
 	}
 
-	private static class ScriptParseException extends RuntimeException {
+	static class ScriptParseException extends RuntimeException {
 		public ScriptParseException(String format, String scriptPath) {
 			super(String.format(format, scriptPath));
 		}
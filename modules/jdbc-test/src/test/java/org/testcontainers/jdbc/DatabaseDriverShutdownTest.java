@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
+import static org.rnorth.visibleassertions.VisibleAssertions.assertNotEquals;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertNotNull;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertNull;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
@@ -42,6 +43,22 @@ public class DatabaseDriverShutdownTest {
         assertTrue("Database container is running as expected", container.isRunning());
     }
 
+    @Test
+    public void shouldReplaceStoppedContainerFromWarmPool() throws SQLException {
+        final String jdbcUrl = "jdbc:tc:postgresql:9.6.8://hostname/databasename?TC_WARM_POOL=1";
+
+        String firstContainerId;
+        try (Connection connection = DriverManager.getConnection(jdbcUrl)) {
+            firstContainerId = ContainerDatabaseDriver.getContainer(jdbcUrl).getContainerId();
+        }
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl)) {
+            JdbcDatabaseContainer<?> container = ContainerDatabaseDriver.getContainer(jdbcUrl);
+            assertTrue("Database container is running as expected", container.isRunning());
+            assertNotEquals("A fresh container from the warm pool is used", firstContainerId, container.getContainerId());
+        }
+    }
+
     private void getConnectionAndClose(String jdbcUrl) throws SQLException {
         try (Connection connection = DriverManager.getConnection(jdbcUrl)) {
             assertNotNull("Obtained connection as expected", connection);
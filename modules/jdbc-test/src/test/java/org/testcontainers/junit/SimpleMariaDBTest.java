@@ -8,6 +8,7 @@ import org.apache.commons.lang.SystemUtils;
 import org.junit.Test;
 import org.testcontainers.containers.MariaDBContainer;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -86,6 +87,26 @@ public class SimpleMariaDBTest {
         }
     }
 
+    @Test
+    public void testSnapshotAndRestore() throws SQLException {
+        try (MariaDBContainer mariadb = (MariaDBContainer) new MariaDBContainer()
+            .withInitScript("somepath/init_mariadb.sql")) {
+            mariadb.start();
+            mariadb.snapshot();
+
+            try (Connection connection = mariadb.createConnection("")) {
+                connection.createStatement().execute("INSERT INTO bar (foo) VALUES ('changed by a test')");
+            }
+            mariadb.restore();
+
+            try (Connection connection = mariadb.createConnection("")) {
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM bar");
+                resultSet.next();
+                assertEquals("Restoring the snapshot undoes changes made after it", 1, resultSet.getInt(1));
+            }
+        }
+    }
+
     @NonNull
     protected ResultSet performQuery(MariaDBContainer containerRule, String sql) throws SQLException {
         HikariConfig hikariConfig = new HikariConfig();
@@ -5,6 +5,7 @@ import static org.junit.Assume.assumeFalse;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
 import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -161,6 +162,26 @@ public class SimpleMySQLTest {
         }
     }
 
+    @Test
+    public void testSnapshotAndRestore() throws SQLException {
+        try (MySQLContainer mysql = (MySQLContainer) new MySQLContainer()
+            .withInitScript("somepath/init_mysql.sql")) {
+            mysql.start();
+            mysql.snapshot();
+
+            try (Connection connection = mysql.createConnection("")) {
+                connection.createStatement().execute("INSERT INTO bar (foo) VALUES ('changed by a test')");
+            }
+            mysql.restore();
+
+            try (Connection connection = mysql.createConnection("")) {
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM bar");
+                resultSet.next();
+                assertEquals("Restoring the snapshot undoes changes made after it", 1, resultSet.getInt(1));
+            }
+        }
+    }
+
     @NonNull
     protected ResultSet performQuery(MySQLContainer containerRule, String sql) throws SQLException {
         HikariConfig hikariConfig = new HikariConfig();
@@ -5,12 +5,17 @@ import com.zaxxer.hikari.HikariDataSource;
 import org.junit.Test;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.images.PrebakedImageCache;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.rnorth.visibleassertions.VisibleAssertions.assertEquals;
+import static org.rnorth.visibleassertions.VisibleAssertions.assertTrue;
 
 /**
  * @author richardnorth
@@ -42,6 +47,78 @@ public class SimplePostgreSQLTest {
         }
     }
 
+    @Test
+    public void testInitScriptsInPhases() throws SQLException {
+        try (PostgreSQLContainer postgres = new PostgreSQLContainer<>()
+                .withInitScript("somepath/init_phases/schema.sql")
+                .withInitScripts("somepath/init_phases/data")) {
+            postgres.start();
+
+            ResultSet resultSet = performQuery(postgres, "SELECT COUNT(*) FROM bar");
+            assertEquals("The scripts of the second phase run after the table is created", 2, resultSet.getInt(1));
+            assertEquals("Each script's timing is reported", Arrays.asList(
+                "somepath/init_phases/schema.sql",
+                "somepath/init_phases/data/hello.sql",
+                "somepath/init_phases/data/world.sql"
+            ), new ArrayList<>(postgres.getInitScriptTimings().keySet()));
+        }
+    }
+
+    @Test
+    public void testSnapshotAndRestore() throws SQLException {
+        try (PostgreSQLContainer postgres = new PostgreSQLContainer<>()
+                .withInitScript("somepath/init_postgresql.sql")) {
+            postgres.start();
+            postgres.snapshot();
+
+            try (Connection connection = postgres.createConnection("")) {
+                connection.createStatement().execute("INSERT INTO bar (foo) VALUES ('changed by a test')");
+            }
+            postgres.restore();
+
+            try (Connection connection = postgres.createConnection("")) {
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT COUNT(*) FROM bar");
+                resultSet.next();
+                assertEquals("Restoring the snapshot undoes changes made after it", 1, resultSet.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testDataSource() throws SQLException {
+        try (PostgreSQLContainer postgres = new PostgreSQLContainer<>()
+                .withInitScript("somepath/init_postgresql.sql")) {
+            postgres.start();
+
+            for (int i = 0; i < 3; i++) {
+                try (Connection connection = postgres.getDataSource().getConnection();
+                     ResultSet resultSet = connection.createStatement().executeQuery("SELECT foo FROM bar")) {
+                    resultSet.next();
+                    assertEquals("Value from init script should equal real value", "hello world", resultSet.getString(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrebakedImage() throws SQLException {
+        for (int run = 0; run < 2; run++) {
+            try (PostgreSQLContainer postgres = new PostgreSQLContainer<>()
+                    .withInitScript("somepath/init_postgresql.sql")
+                    .withPrebakedImage(true)) {
+                postgres.start();
+
+                ResultSet resultSet = performQuery(postgres, "SELECT foo FROM bar");
+                assertEquals("Value from init script should equal real value", "hello world", resultSet.getString(1));
+
+                if (run == 1) {
+                    assertTrue("The second container starts from the prebaked image",
+                        postgres.getDockerImageName().startsWith(PrebakedImageCache.REPOSITORY));
+                }
+            }
+        }
+    }
+
     private ResultSet performQuery(JdbcDatabaseContainer container, String sql) throws SQLException {
         HikariConfig hikariConfig = new HikariConfig();
         hikariConfig.setJdbcUrl(container.getJdbcUrl());
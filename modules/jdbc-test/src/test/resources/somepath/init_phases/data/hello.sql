@@ -0,0 +1 @@
+INSERT INTO bar (foo) VALUES ('hello');
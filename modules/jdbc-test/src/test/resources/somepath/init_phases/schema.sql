@@ -0,0 +1,3 @@
+CREATE TABLE bar (
+  foo VARCHAR(255)
+);
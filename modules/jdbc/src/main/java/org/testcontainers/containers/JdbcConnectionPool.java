@@ -0,0 +1,219 @@
+package org.testcontainers.containers;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * A small, bounded pool of connections to a database container.
+ * <p>
+ * Connections are created when needed, up to the maximum size, and kept once they are closed by the caller. Closing
+ * the pool closes the idle connections straight away, and the ones in use once they are closed by the caller.
+ */
+@Slf4j
+final class JdbcConnectionPool implements DataSource, AutoCloseable {
+
+    private final Callable<Connection> connectionFactory;
+
+    private final int maxSize;
+
+    private final long acquireTimeoutMillis;
+
+    private final Semaphore permits;
+
+    private final Deque<Connection> idle = new ArrayDeque<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * @param connectionFactory    opens a new connection
+     * @param maxSize              how many connections may be open at the same time
+     * @param acquireTimeoutMillis how long to wait for a connection when all of them are in use
+     */
+    JdbcConnectionPool(Callable<Connection> connectionFactory, int maxSize, long acquireTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Connection pool size must be at least 1, but was " + maxSize);
+        }
+        this.connectionFactory = connectionFactory;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a connection, all " + maxSize + " are in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            Connection connection;
+            while ((connection = pollIdle()) != null) {
+                if (!connection.isClosed()) {
+                    return pooled(connection);
+                }
+            }
+
+            connection = connectionFactory.call();
+            if (connection == null) {
+                throw new SQLException("Driver did not accept the JDBC URL");
+            }
+            return pooled(connection);
+        } catch (Exception e) {
+            permits.release();
+            if (e instanceof SQLException) {
+                throw (SQLException) e;
+            }
+            throw new SQLException("Could not create new connection", e);
+        }
+    }
+
+    /**
+     * Close the idle connections, e.g. because the database has closed them. Connections in use are not affected.
+     */
+    void evictIdle() {
+        Connection connection;
+        while ((connection = pollIdle()) != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        evictIdle();
+    }
+
+    private synchronized Connection pollIdle() {
+        return idle.pollFirst();
+    }
+
+    private void release(Connection connection) {
+        try {
+            if (closed || connection.isClosed()) {
+                closeQuietly(connection);
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            synchronized (this) {
+                idle.addFirst(connection);
+            }
+            if (closed) {
+                // the pool was closed while the connection was being returned
+                evictIdle();
+            }
+        } catch (SQLException e) {
+            log.debug("Discarding connection which could not be reset", e);
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return a connection which is returned to the pool when closed
+     */
+    private Connection pooled(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        release(connection);
+                    }
+                    return null;
+                case "isClosed":
+                    return released.get() || connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled " + connection;
+                default:
+                    if (released.get()) {
+                        throw new SQLException("Connection has been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        });
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Could not close JDBC connection", e);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are made with the container's username and password");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
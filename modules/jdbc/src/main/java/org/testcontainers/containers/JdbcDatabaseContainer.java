@@ -2,24 +2,40 @@ package org.testcontainers.containers;
 
 import lombok.NonNull;
 import com.github.dockerjava.api.command.InspectContainerResponse;
+import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
 import org.rnorth.ducttape.ratelimits.RateLimiter;
 import org.rnorth.ducttape.ratelimits.RateLimiterBuilder;
 import org.rnorth.ducttape.unreliables.Unreliables;
 import org.testcontainers.containers.traits.LinkableContainer;
+import org.testcontainers.containers.wait.strategy.HostPortWaitStrategy;
 import org.testcontainers.delegate.DatabaseDelegate;
+import org.testcontainers.ext.ScriptPipeline;
 import org.testcontainers.ext.ScriptUtils;
+import org.testcontainers.images.PrebakedImageCache;
 import org.testcontainers.jdbc.JdbcDatabaseDelegate;
 import org.testcontainers.utility.MountableFile;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 /**
  * Base class for containers that expose a JDBC connection
@@ -28,25 +44,46 @@ import java.util.concurrent.TimeUnit;
  */
 public abstract class JdbcDatabaseContainer<SELF extends JdbcDatabaseContainer<SELF>> extends GenericContainer<SELF> implements LinkableContainer {
 
+    /**
+     * Name of the snapshot taken and restored by {@link #snapshot()} and {@link #restore()}
+     */
+    public static final String DEFAULT_SNAPSHOT_NAME = "default";
+
+    private static final Pattern SNAPSHOT_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_]+");
+
     private static final Object DRIVER_LOAD_MUTEX = new Object();
     private Driver driver;
-    private String initScriptPath;
+    private ScriptPipeline initScripts = new ScriptPipeline();
+    private volatile Map<String, Duration> initScriptTimings = Collections.emptyMap();
     protected Map<String, String> parameters = new HashMap<>();
+    private final Set<String> snapshots = ConcurrentHashMap.newKeySet();
+
+    private final String baseImageName;
+    private boolean prebakedImage = false;
+    private String prebakedImageName;
+    private boolean initializedByImage = false;
 
-    private static final RateLimiter DB_CONNECT_RATE_LIMIT = RateLimiterBuilder.newBuilder()
+    private final RateLimiter connectRateLimit = RateLimiterBuilder.newBuilder()
         .withRate(10, TimeUnit.SECONDS)
         .withConstantThroughput()
         .build();
 
+    private volatile Duration timeToFirstConnection;
+    private volatile long connectionAttempts;
+
     private int startupTimeoutSeconds = 120;
     private int connectTimeoutSeconds = 120;
+    private int connectionPoolSize = 5;
+    private JdbcConnectionPool connectionPool;
 
     public JdbcDatabaseContainer(@NonNull final String dockerImageName) {
         super(dockerImageName);
+        this.baseImageName = dockerImageName;
     }
 
     public JdbcDatabaseContainer(@NonNull final Future<String> image) {
         super(image);
+        this.baseImageName = null;
     }
 
     /**
@@ -116,38 +153,185 @@ public abstract class JdbcDatabaseContainer<SELF extends JdbcDatabaseContainer<S
         return self();
     }
 
+    /**
+     * Set how many connections {@link #getDataSource()} keeps open at most.
+     *
+     * @param connectionPoolSize the maximum number of connections
+     * @return self
+     */
+    public SELF withConnectionPoolSize(int connectionPoolSize) {
+        this.connectionPoolSize = connectionPoolSize;
+        return self();
+    }
+
+    /**
+     * @return how many connections {@link #getDataSource()} keeps open at most, which is also how many init scripts
+     * of a phase run at the same time
+     */
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    /**
+     * Run an init script from the classpath once the container has started, instead of any set before.
+     *
+     * @param initScriptPath a script, a directory of scripts or a pattern such as <code>db/*.sql</code>
+     * @return self
+     */
     public SELF withInitScript(String initScriptPath) {
-        this.initScriptPath = initScriptPath;
+        this.initScripts = new ScriptPipeline().addPhase(initScriptPath);
         return self();
     }
 
-    @Override
-    protected void waitUntilContainerStarted() {
-        // Repeatedly try and open a connection to the DB and execute a test query
+    /**
+     * Add a phase of init scripts, which runs once the init scripts set before have run. The scripts of a phase run
+     * at the same time, on up to {@link #getConnectionPoolSize()} connections.
+     *
+     * @param initScriptPaths scripts, directories of scripts or patterns such as <code>db/data/*.sql</code>
+     * @return self
+     * @see ScriptPipeline
+     */
+    public SELF withInitScripts(String... initScriptPaths) {
+        this.initScripts.addPhase(initScriptPaths);
+        return self();
+    }
 
-        logger().info("Waiting for database connection to become available at {} using query '{}'", getJdbcUrl(), getTestQueryString());
-        Unreliables.retryUntilSuccess(getStartupTimeoutSeconds(), TimeUnit.SECONDS, () -> {
+    /**
+     * Run the init script only once: commit the container to an image after the init script has run, and start from
+     * that image whenever the same image, configuration and init script are used again.
+     *
+     * @param prebakedImage whether to start from, and commit, an image with the init script applied
+     * @return self
+     * @see PrebakedImageCache
+     */
+    public SELF withPrebakedImage(boolean prebakedImage) {
+        this.prebakedImage = prebakedImage;
+        return self();
+    }
 
-            if (!isRunning()) {
-                throw new ContainerLaunchException("Container failed to start");
+    @Override
+    protected void doStart() {
+        if (prebakedImage && !initScripts.isEmpty() && supportsPrebakedImage()) {
+            PrebakedImageCache cache = PrebakedImageCache.getInstance();
+            prebakedImageName = cache.imageName(prebakedImageKey());
+            initializedByImage = cache.isAvailable(prebakedImageName);
+            if (initializedByImage) {
+                logger().info("Starting from image {}, which already has init scripts {} applied", prebakedImageName, initScripts.getPhases());
+                setDockerImageName(prebakedImageName);
             }
+        }
+        super.doStart();
+    }
+
+    /**
+     * Template method for keeping the database's data out of volumes, which are not included when the container is
+     * committed to an image. Called before the container is configured, and only if {@link #withPrebakedImage(boolean)}
+     * is used. Containers which don't override it start as usual, without a prebaked image.
+     *
+     * @throws UnsupportedOperationException if the container doesn't support prebaked images
+     */
+    protected void configureForPrebakedImage() {
+        throw new UnsupportedOperationException("Prebaked images are not supported by " + getClass().getSimpleName());
+    }
 
-            try (Connection connection = createConnection("")) {
-                boolean success = connection.createStatement().execute(JdbcDatabaseContainer.this.getTestQueryString());
+    private boolean supportsPrebakedImage() {
+        try {
+            configureForPrebakedImage();
+            return true;
+        } catch (UnsupportedOperationException e) {
+            logger().warn("{}, so the init script is run as usual", e.getMessage());
+            return false;
+        }
+    }
 
-                if (success) {
-                    logger().info("Obtained a connection to container ({})", JdbcDatabaseContainer.this.getJdbcUrl());
-                    return null;
-                } else {
-                    throw new SQLException("Failed to execute test query");
+    /**
+     * @return everything that affects the state of the database once the init script has run
+     */
+    private String prebakedImageKey() {
+        StringBuilder scripts = new StringBuilder();
+        for (List<String> phase : initScripts.resolve(ScriptUtils.class.getClassLoader())) {
+            scripts.append("phase\n");
+            for (String initScriptPath : phase) {
+                URL resource = ScriptUtils.class.getClassLoader().getResource(initScriptPath);
+                try {
+                    scripts.append(initScriptPath).append('\n').append(IOUtils.toString(resource, StandardCharsets.UTF_8)).append('\n');
+                } catch (IOException e) {
+                    throw new ScriptUtils.ScriptLoadException("Could not load classpath init script: " + initScriptPath, e);
                 }
             }
-        });
+        }
+
+        String databaseName;
+        try {
+            databaseName = getDatabaseName();
+        } catch (UnsupportedOperationException e) {
+            databaseName = "";
+        }
+
+        return String.join("\n",
+            getClass().getName(),
+            baseImageName != null ? baseImageName : getDockerImageName(),
+            databaseName,
+            getUsername(),
+            getPassword(),
+            new TreeMap<>(parameters).toString(),
+            new TreeMap<>(getEnvMap()).toString(),
+            Arrays.toString(getCommandParts()),
+            scripts
+        );
+    }
+
+    @Override
+    protected void waitUntilContainerStarted() {
+        long startedAt = System.nanoTime();
+        Duration timeout = Duration.ofSeconds(getStartupTimeoutSeconds());
+
+        // Waiting for the port is much cheaper than trying to connect, so do that first
+        logger().info("Waiting for database port to open");
+        new HostPortWaitStrategy()
+            .withStartupTimeout(timeout)
+            .waitUntilReady(this);
+
+        logger().info("Waiting for database connection to become available at {} using query '{}'", getJdbcUrl(), getTestQueryString());
+        JdbcReadinessProbe probe = new JdbcReadinessProbe(() -> connect(""), getTestQueryString(), this::isRunning);
+        probe.waitUntilReady(timeout.minus(Duration.ofNanos(System.nanoTime() - startedAt)));
+
+        timeToFirstConnection = Duration.ofNanos(System.nanoTime() - startedAt);
+        connectionAttempts = probe.getAttempts();
+        logger().info("Obtained a connection to container ({}) after {} ms and {} connection attempts",
+            getJdbcUrl(), timeToFirstConnection.toMillis(), connectionAttempts);
+    }
+
+    /**
+     * @return how long the container took from being started until it accepted a JDBC connection, or null if it
+     * has not been started
+     */
+    public Duration getTimeToFirstConnection() {
+        return timeToFirstConnection;
+    }
+
+    /**
+     * @return how many connection attempts were made until the container accepted a JDBC connection
+     */
+    public long getConnectionAttempts() {
+        return connectionAttempts;
     }
 
     @Override
     protected void containerIsStarted(InspectContainerResponse containerInfo) {
+        if (initializedByImage) {
+            return;
+        }
+
         runInitScriptIfRequired();
+
+        if (prebakedImageName != null) {
+            try {
+                PrebakedImageCache.getInstance().commit(getContainerId(), prebakedImageName);
+            } catch (Exception e) {
+                logger().warn("Could not commit image {}, the init script will be run again next time", prebakedImageName, e);
+            }
+        }
     }
 
     /**
@@ -179,22 +363,27 @@ public abstract class JdbcDatabaseContainer<SELF extends JdbcDatabaseContainer<S
      * @throws SQLException if there is a repeated failure to create the connection
      */
     public Connection createConnection(String queryString) throws SQLException {
-        final Properties info = new Properties();
-        info.put("user", this.getUsername());
-        info.put("password", this.getPassword());
-        final String url = constructUrlForConnection(queryString);
-
-        final Driver jdbcDriverInstance = getJdbcDriverInstance();
-
         try {
             return Unreliables.retryUntilSuccess(getConnectTimeoutSeconds(), TimeUnit.SECONDS, () ->
-                DB_CONNECT_RATE_LIMIT.getWhenReady(() ->
-                    jdbcDriverInstance.connect(url, info)));
+                connectRateLimit.getWhenReady(() -> connect(queryString)));
         } catch (Exception e) {
             throw new SQLException("Could not create new connection", e);
         }
     }
 
+    /**
+     * Make a single attempt to connect to the database.
+     *
+     * @return a Connection, or null if the driver does not accept the URL
+     */
+    private Connection connect(String queryString) throws SQLException {
+        final Properties info = new Properties();
+        info.put("user", this.getUsername());
+        info.put("password", this.getPassword());
+
+        return getJdbcDriverInstance().connect(constructUrlForConnection(queryString), info);
+    }
+
     /**
      * Template method for constructing the JDBC URL to be used for creating {@link Connection}s.
      * This should be overridden if the JDBC URL and query string concatenation or URL string
@@ -218,11 +407,117 @@ public abstract class JdbcDatabaseContainer<SELF extends JdbcDatabaseContainer<S
     }
 
     /**
-     * Load init script content and apply it to the database if initScriptPath is set
+     * Load init script content and apply it to the database if any init scripts are set
      */
     protected void runInitScriptIfRequired() {
-        if (initScriptPath != null) {
-            ScriptUtils.runInitScript(getDatabaseDelegate(), initScriptPath);
+        if (!initScripts.isEmpty()) {
+            initScriptTimings = initScripts.run(this::getDatabaseDelegate, connectionPoolSize, ScriptUtils.class.getClassLoader());
+        }
+    }
+
+    /**
+     * @return how long each init script took to run, in the order they ran, or an empty map if none have run, e.g.
+     * because the container was started from a prebaked image
+     */
+    public Map<String, Duration> getInitScriptTimings() {
+        return initScriptTimings;
+    }
+
+    /**
+     * Capture the current state of the database, so that it can be brought back with {@link #restore()}.
+     * <p>
+     * Typically called once the container has started and its init script has run, so that each test can
+     * {@link #restore()} a clean database rather than start a new container.
+     *
+     * @throws UnsupportedOperationException if this type of database does not support snapshots
+     */
+    public void snapshot() {
+        snapshot(DEFAULT_SNAPSHOT_NAME);
+    }
+
+    /**
+     * Capture the current state of the database as a named snapshot, replacing any earlier snapshot with that name.
+     * <p>
+     * Connections to the database may be closed while the snapshot is taken.
+     *
+     * @param name the name of the snapshot; letters, digits and underscores only
+     * @throws UnsupportedOperationException if this type of database does not support snapshots
+     */
+    public void snapshot(@NonNull String name) {
+        if (!SNAPSHOT_NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Snapshot names may only contain letters, digits and underscores: " + name);
+        }
+
+        long start = System.currentTimeMillis();
+        createSnapshot(name);
+        evictIdleConnections();
+        snapshots.add(name);
+        logger().info("Took database snapshot '{}' in {} ms", name, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Bring the database back to the state captured by {@link #snapshot()}.
+     */
+    public void restore() {
+        restore(DEFAULT_SNAPSHOT_NAME);
+    }
+
+    /**
+     * Bring the database back to the state captured by {@link #snapshot(String)}. The snapshot is kept, so it can be
+     * restored again.
+     * <p>
+     * Connections to the database are closed by the restore, so connection pools should be able to replace them.
+     *
+     * @param name the name of the snapshot
+     */
+    public void restore(@NonNull String name) {
+        if (!snapshots.contains(name)) {
+            throw new IllegalArgumentException("No database snapshot named '" + name + "' has been taken");
+        }
+
+        long start = System.currentTimeMillis();
+        restoreSnapshot(name);
+        evictIdleConnections();
+        logger().info("Restored database snapshot '{}' in {} ms", name, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Template method for capturing the state of the database. Implementations may assume that the name is safe to
+     * use in identifiers and file names.
+     *
+     * @param name the name of the snapshot
+     */
+    protected void createSnapshot(String name) {
+        throw new UnsupportedOperationException("Snapshots are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Template method for bringing back a state captured by {@link #createSnapshot(String)}.
+     *
+     * @param name the name of the snapshot
+     */
+    protected void restoreSnapshot(String name) {
+        throw new UnsupportedOperationException("Snapshots are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Run a command in the container, failing if it does not exit successfully.
+     *
+     * @param command the command and its arguments
+     */
+    protected void execSnapshotCommand(String... command) {
+        ExecResult result;
+        try {
+            result = execInContainer(command);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not run database snapshot command", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running database snapshot command", e);
+        }
+
+        if (result.getExitCode() != null && result.getExitCode() != 0) {
+            throw new IllegalStateException("Database snapshot command failed with exit code " + result.getExitCode() + ": " + result.getStderr());
         }
     }
 
@@ -253,6 +548,38 @@ public abstract class JdbcDatabaseContainer<SELF extends JdbcDatabaseContainer<S
         return connectTimeoutSeconds;
     }
 
+    /**
+     * Get a pool of connections to the database, which is also used to run the init script. Connections are returned
+     * to the pool when they are closed, and the pool is closed when the container is stopped.
+     *
+     * @return a DataSource for the database in this container
+     * @see #withConnectionPoolSize(int)
+     */
+    public synchronized DataSource getDataSource() {
+        if (connectionPool == null) {
+            connectionPool = new JdbcConnectionPool(() -> createConnection(""), connectionPoolSize,
+                TimeUnit.SECONDS.toMillis(getConnectTimeoutSeconds()));
+        }
+        return connectionPool;
+    }
+
+    private synchronized void evictIdleConnections() {
+        if (connectionPool != null) {
+            connectionPool.evictIdle();
+        }
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (connectionPool != null) {
+                connectionPool.close();
+                connectionPool = null;
+            }
+        }
+        super.stop();
+    }
+
     protected DatabaseDelegate getDatabaseDelegate() {
         return new JdbcDatabaseDelegate(this, "");
     }
@@ -0,0 +1,173 @@
+package org.testcontainers.containers;
+
+import org.testcontainers.DockerClientFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Waits until a database accepts JDBC connections and answers a test query.
+ * <p>
+ * A new connection attempt is started every {@value #MIN_INTERVAL_MILLIS}-{@value #MAX_INTERVAL_MILLIS} ms, without
+ * waiting for earlier attempts to fail, as a connection attempt to a database that is still starting can take much
+ * longer than that to fail. At most {@value #MAX_ATTEMPTS_IN_FLIGHT} attempts run at the same time, and an attempt
+ * that takes longer than {@value #ATTEMPT_TIMEOUT_MILLIS} ms is abandoned. The first attempt to succeed ends the wait.
+ */
+final class JdbcReadinessProbe {
+
+    static final long MIN_INTERVAL_MILLIS = 50;
+
+    static final long MAX_INTERVAL_MILLIS = 150;
+
+    static final int MAX_ATTEMPTS_IN_FLIGHT = 3;
+
+    static final long ATTEMPT_TIMEOUT_MILLIS = 10_000;
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(
+        DockerClientFactory.daemonThreadFactory("testcontainers-jdbc-probe-%d")
+    );
+
+    private final Callable<Connection> connectionFactory;
+
+    private final String testQuery;
+
+    private final BooleanSupplier isRunning;
+
+    private long attempts;
+
+    private Duration timeToReady;
+
+    /**
+     * @param connectionFactory opens a single connection, without retrying
+     * @param testQuery         a query which succeeds once the database is ready
+     * @param isRunning         whether the database is still running, so that the wait can end early if not
+     */
+    JdbcReadinessProbe(Callable<Connection> connectionFactory, String testQuery, BooleanSupplier isRunning) {
+        this.connectionFactory = connectionFactory;
+        this.testQuery = testQuery;
+        this.isRunning = isRunning;
+    }
+
+    /**
+     * Wait until a connection attempt succeeds.
+     *
+     * @param timeout how long to wait
+     * @throws ContainerLaunchException if no attempt succeeds in time, or the database stops running
+     */
+    void waitUntilReady(Duration timeout) {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + timeout.toNanos();
+
+        CompletionService<Void> completionService = new ExecutorCompletionService<>(EXECUTOR);
+        List<Future<Void>> inFlight = new ArrayList<>();
+        List<Long> inFlightSince = new ArrayList<>();
+        Throwable lastFailure = null;
+        attempts = 0;
+
+        try {
+            while (true) {
+                if (!isRunning.getAsBoolean()) {
+                    throw new ContainerLaunchException("Container failed to start");
+                }
+
+                long now = System.nanoTime();
+                if (now - deadline >= 0) {
+                    String message = "Timed out waiting for database to accept JDBC connections after " + attempts + " attempts";
+                    throw lastFailure instanceof Exception
+                        ? new ContainerLaunchException(message, (Exception) lastFailure)
+                        : new ContainerLaunchException(message);
+                }
+
+                abandonSlowAttempts(inFlight, inFlightSince, now);
+                if (inFlight.size() < MAX_ATTEMPTS_IN_FLIGHT) {
+                    inFlight.add(completionService.submit(this::attempt));
+                    inFlightSince.add(now);
+                    attempts++;
+                }
+
+                long interval = ThreadLocalRandom.current().nextLong(MIN_INTERVAL_MILLIS, MAX_INTERVAL_MILLIS + 1);
+                Future<Void> completed = completionService.poll(interval, TimeUnit.MILLISECONDS);
+                while (completed != null) {
+                    int index = inFlight.indexOf(completed);
+                    if (index >= 0) {
+                        inFlight.remove(index);
+                        inFlightSince.remove(index);
+                    }
+                    try {
+                        completed.get();
+                        timeToReady = Duration.ofNanos(System.nanoTime() - startedAt);
+                        return;
+                    } catch (ExecutionException e) {
+                        lastFailure = e.getCause();
+                    } catch (CancellationException e) {
+                        // abandoned attempt
+                    }
+                    completed = completionService.poll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContainerLaunchException("Interrupted while waiting for database to accept JDBC connections", e);
+        } finally {
+            inFlight.forEach(it -> it.cancel(true));
+        }
+    }
+
+    /**
+     * @return the number of connection attempts made during the most recent wait
+     */
+    long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return how long the most recent wait took until a connection succeeded, or null if none has
+     */
+    Duration getTimeToReady() {
+        return timeToReady;
+    }
+
+    private Void attempt() throws Exception {
+        try (Connection connection = connectionFactory.call()) {
+            if (connection == null) {
+                throw new SQLException("Driver did not accept the JDBC URL");
+            }
+            try (Statement statement = connection.createStatement()) {
+                if (!statement.execute(testQuery)) {
+                    throw new SQLException("Failed to execute test query");
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void abandonSlowAttempts(List<Future<Void>> inFlight, List<Long> inFlightSince, long now) {
+        Iterator<Future<Void>> futures = inFlight.iterator();
+        Iterator<Long> startTimes = inFlightSince.iterator();
+        while (futures.hasNext()) {
+            Future<Void> future = futures.next();
+            long since = startTimes.next();
+            if (TimeUnit.NANOSECONDS.toMillis(now - since) > ATTEMPT_TIMEOUT_MILLIS) {
+                future.cancel(true);
+                futures.remove();
+                startTimes.remove();
+            }
+        }
+    }
+}
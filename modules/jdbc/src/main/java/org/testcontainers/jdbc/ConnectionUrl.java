@@ -33,6 +33,10 @@ public class ConnectionUrl {
 
     private boolean inDaemonMode = false;
 
+    private int warmPoolSize = 0;
+
+    private boolean prebakedImage = false;
+
     private Optional<String> databaseHost = Optional.empty();
 
     private Optional<Integer> databasePort = Optional.empty();
@@ -127,6 +131,10 @@ public class ConnectionUrl {
         Matcher daemonMatcher = Patterns.DAEMON_MATCHING_PATTERN.matcher(this.getUrl());
         inDaemonMode = daemonMatcher.matches() && Boolean.parseBoolean(daemonMatcher.group(2));
 
+        warmPoolSize = Integer.parseInt(containerParameters.getOrDefault("TC_WARM_POOL", "0"));
+
+        prebakedImage = initScriptPath.isPresent() && Boolean.parseBoolean(containerParameters.get("TC_PREBAKED_IMAGE"));
+
     }
 
     /**
@@ -1,20 +1,23 @@
 package org.testcontainers.jdbc;
 
-import org.apache.commons.io.IOUtils;
 import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 import org.testcontainers.containers.JdbcDatabaseContainerProvider;
-import org.testcontainers.delegate.DatabaseDelegate;
+import org.testcontainers.ext.ScriptPipeline;
 import org.testcontainers.ext.ScriptUtils;
 
-import javax.script.ScriptException;
-import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 /**
@@ -27,20 +30,42 @@ import java.util.logging.Logger;
  * using the database's standard driver implementation, connected to the container.
  * <p>
  * If <code>TC_INITSCRIPT</code> is set in <i>querystring</i>, it will be used as the path for an init script that
- * should be run to initialize the database after the container is created. This should be a classpath resource.
+ * should be run to initialize the database after the container is created. This should be a classpath resource, and
+ * may also be a directory or pattern such as <code>db/data/*.sql</code>. Several scripts may be given, separated by
+ * <code>,</code> to run them at the same time, and by <code>;</code> to run them in phases one after the other.
  * <p>
  * Similarly <code>TC_INITFUNCTION</code> may be a method reference for a function that can initialize the database.
  * Such a function must accept a javax.sql.Connection as its only parameter.
  * An example of a valid method reference would be <code>com.myapp.SomeClass::initFunction</code>
+ * <p>
+ * If <code>TC_WARM_POOL</code> is set to a number in <i>querystring</i>, that many additional containers are started
+ * and initialized in the background, so that once the container for the URL is stopped (because its last connection
+ * was closed), the next connection gets a fresh container without waiting for it to start.
+ * <p>
+ * Containers for different URLs are started concurrently.
  */
 public class ContainerDatabaseDriver implements Driver {
 
     private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(ContainerDatabaseDriver.class);
 
-    private Driver delegate;
-    private static final Map<String, Set<Connection>> containerConnections = new HashMap<>();
-    private static final Map<String, JdbcDatabaseContainer> jdbcUrlContainerCache = new HashMap<>();
-    private static final Set<String> initializedContainers = new HashSet<>();
+    private volatile Driver delegate;
+    private static final Map<String, Set<Connection>> containerConnections = new ConcurrentHashMap<>();
+    private static final Map<String, JdbcDatabaseContainer> jdbcUrlContainerCache = new ConcurrentHashMap<>();
+    private static final Set<String> initializedContainers = ConcurrentHashMap.newKeySet();
+
+    /*
+     * One lock per JDBC URL, so that containers for different URLs do not wait for each other
+     */
+    private static final ConcurrentMap<String, Object> jdbcUrlLocks = new ConcurrentHashMap<>();
+
+    /*
+     * Containers started ahead of time for JDBC URLs with TC_WARM_POOL
+     */
+    private static final ConcurrentMap<String, Queue<CompletableFuture<JdbcDatabaseContainer<?>>>> warmPools = new ConcurrentHashMap<>();
+
+    private static final Executor WARM_POOL_EXECUTOR = Executors.newCachedThreadPool(
+        DockerClientFactory.daemonThreadFactory("testcontainers-jdbc-warm-pool-%d")
+    );
 
     static {
         load();
@@ -60,7 +85,7 @@ public class ContainerDatabaseDriver implements Driver {
     }
 
     @Override
-    public synchronized Connection connect(String url, final Properties info) throws SQLException {
+    public Connection connect(String url, final Properties info) throws SQLException {
 
         /*
           The driver should return "null" if it realizes it is the wrong kind of driver to connect to the given URL.
@@ -71,7 +96,7 @@ public class ContainerDatabaseDriver implements Driver {
 
         ConnectionUrl connectionUrl = ConnectionUrl.newInstance(url);
 
-        synchronized (jdbcUrlContainerCache) {
+        synchronized (lockFor(connectionUrl.getUrl())) {
 
             String queryString = connectionUrl.getQueryString().orElse("");
             /*
@@ -83,37 +108,25 @@ public class ContainerDatabaseDriver implements Driver {
 
                 LOGGER.debug("Container not found in cache, creating new instance");
 
-                Map<String, String> parameters = connectionUrl.getContainerParameters();
-
-                /*
-                  Find a matching container type using ServiceLoader.
-                 */
-                ServiceLoader<JdbcDatabaseContainerProvider> databaseContainers = ServiceLoader.load(JdbcDatabaseContainerProvider.class);
-                for (JdbcDatabaseContainerProvider candidateContainerType : databaseContainers) {
-                    if (candidateContainerType.supports(connectionUrl.getDatabaseType())) {
-                        container = candidateContainerType.newInstance(connectionUrl);
-                        delegate = container.getJdbcDriverInstance();
-                    }
-                }
+                container = takeFromWarmPool(connectionUrl);
                 if (container == null) {
-                    throw new UnsupportedOperationException("Database name " + connectionUrl.getDatabaseType() + " not supported");
+                    container = newContainer(connectionUrl);
+
+                    /*
+                      Cache the container before starting to prevent race conditions when a connection
+                      pool is started up
+                     */
+                    jdbcUrlContainerCache.put(connectionUrl.getUrl(), container);
+
+                    /*
+                      Start the container
+                     */
+                    container.start();
+                } else {
+                    jdbcUrlContainerCache.put(connectionUrl.getUrl(), container);
                 }
 
-                /*
-                  Cache the container before starting to prevent race conditions when a connection
-                  pool is started up
-                 */
-                jdbcUrlContainerCache.put(url, container);
-
-                /*
-                  Pass possible container-specific parameters
-                 */
-                container.setParameters(parameters);
-
-                /*
-                  Start the container
-                 */
-                container.start();
+                fillWarmPool(connectionUrl);
             }
 
             /*
@@ -125,17 +138,107 @@ public class ContainerDatabaseDriver implements Driver {
               If this container has not been initialized, AND
               an init script or function has been specified, use it
              */
-            if (!initializedContainers.contains(container.getContainerId())) {
-                DatabaseDelegate databaseDelegate = new JdbcDatabaseDelegate(container, queryString);
-                runInitScriptIfRequired(connectionUrl, databaseDelegate);
-                runInitFunctionIfRequired(connectionUrl, connection);
-                initializedContainers.add(container.getContainerId());
-            }
+            initializeIfRequired(container, connectionUrl, connection);
 
             return wrapConnection(connection, container, connectionUrl);
         }
     }
 
+    private static Object lockFor(String jdbcUrl) {
+        return jdbcUrlLocks.computeIfAbsent(jdbcUrl, k -> new Object());
+    }
+
+    private JdbcDatabaseContainer<?> newContainer(ConnectionUrl connectionUrl) {
+        JdbcDatabaseContainer<?> container = null;
+
+        /*
+          Find a matching container type using ServiceLoader.
+         */
+        ServiceLoader<JdbcDatabaseContainerProvider> databaseContainers = ServiceLoader.load(JdbcDatabaseContainerProvider.class);
+        for (JdbcDatabaseContainerProvider candidateContainerType : databaseContainers) {
+            if (candidateContainerType.supports(connectionUrl.getDatabaseType())) {
+                container = candidateContainerType.newInstance(connectionUrl);
+                delegate = container.getJdbcDriverInstance();
+            }
+        }
+        if (container == null) {
+            throw new UnsupportedOperationException("Database name " + connectionUrl.getDatabaseType() + " not supported");
+        }
+
+        /*
+          Pass possible container-specific parameters
+         */
+        container.setParameters(connectionUrl.getContainerParameters());
+
+        /*
+          Let the container run the init script, so that it can be baked into an image
+         */
+        if (connectionUrl.isPrebakedImage()) {
+            ScriptPipeline initScripts = ScriptPipeline.parse(connectionUrl.getInitScriptPath().get(), Thread.currentThread().getContextClassLoader());
+            for (List<String> phase : initScripts.getPhases()) {
+                container.withInitScripts(phase.toArray(new String[0]));
+            }
+            container.withPrebakedImage(true);
+        }
+        return container;
+    }
+
+    private void initializeIfRequired(JdbcDatabaseContainer<?> container, ConnectionUrl connectionUrl, Connection connection) throws SQLException {
+        if (!initializedContainers.contains(container.getContainerId())) {
+            if (!connectionUrl.isPrebakedImage()) {
+                runInitScriptIfRequired(connectionUrl, container);
+            }
+            runInitFunctionIfRequired(connectionUrl, connection);
+            initializedContainers.add(container.getContainerId());
+        }
+    }
+
+    /**
+     * Take a container that was started (and initialized) ahead of time for this URL, if any.
+     *
+     * @return a started container, or null if there is no warm pool for this URL or starting the container failed
+     */
+    private JdbcDatabaseContainer<?> takeFromWarmPool(ConnectionUrl connectionUrl) {
+        Queue<CompletableFuture<JdbcDatabaseContainer<?>>> warmPool = warmPools.get(connectionUrl.getUrl());
+        CompletableFuture<JdbcDatabaseContainer<?>> warmContainer = warmPool != null ? warmPool.poll() : null;
+        if (warmContainer == null) {
+            return null;
+        }
+
+        try {
+            JdbcDatabaseContainer<?> container = warmContainer.join();
+            LOGGER.debug("Using container {} from warm pool", container.getContainerId());
+            return container;
+        } catch (CompletionException e) {
+            LOGGER.warn("Container from warm pool failed to start, starting a new one", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Start containers in the background until the warm pool for this URL has as many as TC_WARM_POOL asks for.
+     */
+    private void fillWarmPool(ConnectionUrl connectionUrl) {
+        int warmPoolSize = connectionUrl.getWarmPoolSize();
+        if (warmPoolSize <= 0) {
+            return;
+        }
+
+        Queue<CompletableFuture<JdbcDatabaseContainer<?>>> warmPool = warmPools.computeIfAbsent(connectionUrl.getUrl(), k -> new ConcurrentLinkedQueue<>());
+        while (warmPool.size() < warmPoolSize) {
+            warmPool.add(CompletableFuture.supplyAsync(() -> {
+                JdbcDatabaseContainer<?> container = newContainer(connectionUrl);
+                container.start();
+                try (Connection connection = container.createConnection(connectionUrl.getQueryString().orElse(""))) {
+                    initializeIfRequired(container, connectionUrl, connection);
+                } catch (SQLException e) {
+                    container.stop();
+                    throw new CompletionException(e);
+                }
+                return container;
+            }, WARM_POOL_EXECUTOR));
+        }
+    }
 
     /**
      * Wrap the connection, setting up a callback to be called when the connection is closed.
@@ -151,47 +254,43 @@ public class ContainerDatabaseDriver implements Driver {
 
         final boolean isDaemon = connectionUrl.isInDaemonMode();
 
-        Set<Connection> connections = containerConnections.computeIfAbsent(container.getContainerId(), k -> new HashSet<>());
+        Set<Connection> connections = containerConnections.computeIfAbsent(container.getContainerId(), k -> ConcurrentHashMap.newKeySet());
 
         connections.add(connection);
 
         final Set<Connection> finalConnections = connections;
 
         return new ConnectionWrapper(connection, () -> {
-            finalConnections.remove(connection);
-            if (!isDaemon && finalConnections.isEmpty()) {
-                container.stop();
-                jdbcUrlContainerCache.remove(connectionUrl.getUrl());
+            synchronized (lockFor(connectionUrl.getUrl())) {
+                finalConnections.remove(connection);
+                if (!isDaemon && finalConnections.isEmpty()) {
+                    container.stop();
+                    jdbcUrlContainerCache.remove(connectionUrl.getUrl());
+                }
             }
         });
     }
 
     /**
-     * Run an init script from the classpath.
+     * Run the init scripts from the classpath, in phases as described by {@link ScriptPipeline#parse(String, ClassLoader)}. The
+     * scripts of a phase run at the same time, each on its own connection.
      *
-     * @param connectionUrl    {@link ConnectionUrl} instance representing JDBC Url with init script.
-     * @param databaseDelegate database delegate to apply init scripts to the database
+     * @param connectionUrl {@link ConnectionUrl} instance representing JDBC Url with init script.
+     * @param container     the container to apply the init scripts to
      * @throws SQLException on script or DB error
      */
-    private void runInitScriptIfRequired(final ConnectionUrl connectionUrl, DatabaseDelegate databaseDelegate) throws SQLException {
+    private void runInitScriptIfRequired(final ConnectionUrl connectionUrl, JdbcDatabaseContainer<?> container) throws SQLException {
         if (connectionUrl.getInitScriptPath().isPresent()) {
             String initScriptPath = connectionUrl.getInitScriptPath().get();
+            String queryString = connectionUrl.getQueryString().orElse("");
             try {
-                URL resource = Thread.currentThread().getContextClassLoader().getResource(initScriptPath);
-
-                if (resource == null) {
-                    LOGGER.warn("Could not load classpath init script: {}", initScriptPath);
-                    throw new SQLException("Could not load classpath init script: " + initScriptPath + ". Resource not found.");
-                }
-
-                String sql = IOUtils.toString(resource, StandardCharsets.UTF_8);
-                ScriptUtils.executeDatabaseScript(databaseDelegate, initScriptPath, sql);
-            } catch (IOException e) {
-                LOGGER.warn("Could not load classpath init script: {}", initScriptPath);
-                throw new SQLException("Could not load classpath init script: " + initScriptPath, e);
-            } catch (ScriptException e) {
-                LOGGER.error("Error while executing init script: {}", initScriptPath, e);
-                throw new SQLException("Error while executing init script: " + initScriptPath, e);
+                ScriptPipeline.parse(initScriptPath, Thread.currentThread().getContextClassLoader()).run(
+                    () -> new JdbcDatabaseDelegate(container, queryString),
+                    container.getConnectionPoolSize(),
+                    Thread.currentThread().getContextClassLoader()
+                );
+            } catch (ScriptUtils.ScriptLoadException | ScriptUtils.UncategorizedScriptException e) {
+                throw new SQLException(e.getMessage(), e);
             }
         }
     }
@@ -251,13 +350,20 @@ public class ContainerDatabaseDriver implements Driver {
      * tested and cleanup is needed to limit resource usage.
      */
     public static void killContainers() {
-        synchronized (jdbcUrlContainerCache) {
-            jdbcUrlContainerCache.values().forEach(JdbcDatabaseContainer::stop);
-            jdbcUrlContainerCache.clear();
-            containerConnections.clear();
-            initializedContainers.clear();
+        for (String jdbcUrl : jdbcUrlLocks.keySet()) {
+            killContainer(jdbcUrl);
         }
-
+        jdbcUrlContainerCache.clear();
+        containerConnections.clear();
+        initializedContainers.clear();
+
+        warmPools.values().forEach(warmPool -> {
+            CompletableFuture<JdbcDatabaseContainer<?>> warmContainer;
+            while ((warmContainer = warmPool.poll()) != null) {
+                warmContainer.thenAccept(JdbcDatabaseContainer::stop);
+            }
+        });
+        warmPools.clear();
     }
 
     /**
@@ -268,13 +374,16 @@ public class ContainerDatabaseDriver implements Driver {
      * @param jdbcUrl the JDBC URL of the container which should be killed
      */
     public static void killContainer(String jdbcUrl) {
-        synchronized (jdbcUrlContainerCache) {
+        synchronized (lockFor(jdbcUrl)) {
             JdbcDatabaseContainer container = jdbcUrlContainerCache.get(jdbcUrl);
             if (container != null) {
+                String containerId = container.getContainerId();
                 container.stop();
                 jdbcUrlContainerCache.remove(jdbcUrl);
-                containerConnections.remove(container.getContainerId());
-                initializedContainers.remove(container.getContainerId());
+                if (containerId != null) {
+                    containerConnections.remove(containerId);
+                    initializedContainers.remove(containerId);
+                }
             }
         }
     }
@@ -286,8 +395,6 @@ public class ContainerDatabaseDriver implements Driver {
      * @return an instance of database container or <code>null</code> if no container associated with JDBC URL
      */
     static JdbcDatabaseContainer getContainer(String jdbcUrl) {
-        synchronized (jdbcUrlContainerCache) {
-            return jdbcUrlContainerCache.get(jdbcUrl);
-        }
+        return jdbcUrlContainerCache.get(jdbcUrl);
     }
 }
@@ -1,11 +1,6 @@
 package org.testcontainers.jdbc;
 
-import lombok.extern.slf4j.Slf4j;
-import org.testcontainers.exception.ConnectionCreationException;
-
 import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Statement;
 
 /**
  * Containerless jdbc database delegate
@@ -14,7 +9,6 @@ import java.sql.Statement;
  *
  * @see org.testcontainers.ext.ScriptUtils
  */
-@Slf4j
 public class ContainerLessJdbcDelegate extends JdbcDatabaseDelegate {
 
     private Connection connection;
@@ -25,12 +19,15 @@ public class ContainerLessJdbcDelegate extends JdbcDatabaseDelegate {
     }
 
     @Override
-    protected Statement createNewConnection() {
-        try {
-            return connection.createStatement();
-        } catch (SQLException e) {
-            log.error("Could create JDBC statement");
-            throw new ConnectionCreationException("Could create JDBC statement", e);
-        }
+    protected Connection createNewConnection() {
+        return connection;
+    }
+
+    /**
+     * The connection belongs to the caller, so only the statement is closed
+     */
+    @Override
+    protected void closeConnectionQuietly(Connection connection) {
+        closeStatementQuietly();
     }
 }
@@ -6,19 +6,26 @@ import org.testcontainers.delegate.AbstractDatabaseDelegate;
 import org.testcontainers.exception.ConnectionCreationException;
 import org.testcontainers.ext.ScriptUtils;
 
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 /**
  * JDBC database delegate
+ * <p>
+ * Connections without a query string are taken from the container's {@link JdbcDatabaseContainer#getDataSource() pool},
+ * and returned to it when the delegate is closed.
  *
  * @author Eugeny Karpov
  */
 @Slf4j
-public class JdbcDatabaseDelegate extends AbstractDatabaseDelegate<Statement> {
+public class JdbcDatabaseDelegate extends AbstractDatabaseDelegate<Connection> {
 
     private JdbcDatabaseContainer container;
     private String queryString;
+    private Statement statement;
 
     public JdbcDatabaseDelegate(JdbcDatabaseContainer container, String queryString) {
         this.container = container;
@@ -26,20 +33,38 @@ public class JdbcDatabaseDelegate extends AbstractDatabaseDelegate<Statement> {
     }
 
     @Override
-    protected Statement createNewConnection() {
+    protected Connection createNewConnection() {
         try {
-            return container.createConnection(queryString).createStatement();
+            if (queryString == null || queryString.isEmpty()) {
+                return container.getDataSource().getConnection();
+            }
+            return container.createConnection(queryString);
         } catch (SQLException e) {
             log.error("Could not obtain JDBC connection");
             throw new ConnectionCreationException("Could not obtain JDBC connection", e);
         }
     }
 
+    /**
+     * Get or create the statement that scripts are executed with
+     */
+    protected Statement getStatement() {
+        if (statement == null) {
+            try {
+                statement = getConnection().createStatement();
+            } catch (SQLException e) {
+                log.error("Could not create JDBC statement");
+                throw new ConnectionCreationException("Could not create JDBC statement", e);
+            }
+        }
+        return statement;
+    }
+
 
     @Override
     public void execute(String statement, String scriptPath, int lineNumber, boolean continueOnError, boolean ignoreFailedDrops) {
         try {
-            boolean rowsAffected = getConnection().execute(statement);
+            boolean rowsAffected = getStatement().execute(statement);
             log.debug("{} returned as updateCount for SQL: {}", rowsAffected, statement);
         } catch (SQLException ex) {
             boolean dropStatement = statement.trim().toLowerCase().startsWith("drop");
@@ -52,11 +77,82 @@ public class JdbcDatabaseDelegate extends AbstractDatabaseDelegate<Statement> {
     }
 
     @Override
-    protected void closeConnectionQuietly(Statement statement) {
+    public void executeBatch(List<String> statements, List<Integer> lineNumbers, String scriptPath, boolean continueOnError, boolean ignoreFailedDrops) {
+        if (continueOnError) {
+            // Drivers differ in what they keep of a failed batch (pgjdbc rolls all of it back), so the statements
+            // which didn't fail can't be told apart; run them one by one instead
+            for (int i = 0; i < statements.size(); i++) {
+                execute(statements.get(i), scriptPath, lineNumbers.get(i), true, ignoreFailedDrops);
+            }
+            return;
+        }
+
+        Statement statement = getStatement();
         try {
-            statement.close();
+            for (String sql : statements) {
+                statement.addBatch(sql);
+            }
+            int[] updateCounts = statement.executeBatch();
+            log.debug("{} statements executed as a batch", updateCounts.length);
+        } catch (SQLException ex) {
+            clearBatchQuietly(statement);
+            int failed = failedIndex(ex);
+            if (failed >= statements.size()) {
+                // the driver couldn't tell which statement failed
+                failed = 0;
+            }
+            throw new ScriptUtils.ScriptStatementFailedException(statements.get(failed), lineNumbers.get(failed), scriptPath, ex);
+        }
+    }
+
+    /**
+     * @return the index within the batch of the first statement that failed
+     */
+    private static int failedIndex(SQLException ex) {
+        if (!(ex instanceof BatchUpdateException)) {
+            return 0;
+        }
+        int[] updateCounts = ((BatchUpdateException) ex).getUpdateCounts();
+        if (updateCounts == null) {
+            return 0;
+        }
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                return i;
+            }
+        }
+        // drivers which stop at the first failure only report counts for the statements before it
+        return updateCounts.length;
+    }
+
+    private static void clearBatchQuietly(Statement statement) {
+        try {
+            statement.clearBatch();
+        } catch (SQLException e) {
+            log.debug("Could not clear JDBC batch", e);
+        }
+    }
+
+    @Override
+    protected void closeConnectionQuietly(Connection connection) {
+        closeStatementQuietly();
+        try {
+            connection.close();
         } catch (Exception e) {
             log.error("Could not close JDBC connection", e);
         }
     }
+
+    protected void closeStatementQuietly() {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.close();
+        } catch (Exception e) {
+            log.error("Could not close JDBC statement", e);
+        } finally {
+            statement = null;
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package org.testcontainers.containers;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JdbcConnectionPoolTest {
+
+    private final List<FakeConnection> created = new ArrayList<>();
+
+    @Test
+    public void reusesClosedConnections() throws SQLException {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::newConnection, 2, 100);
+
+        Connection first = pool.getConnection();
+        first.close();
+        assertTrue("a returned connection looks closed to the caller", first.isClosed());
+
+        pool.getConnection().close();
+
+        assertEquals("the connection is reused", 1, created.size());
+        assertFalse("the underlying connection is kept open", created.get(0).closed.get());
+    }
+
+    @Test
+    public void boundsTheNumberOfConnections() throws SQLException {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::newConnection, 2, 100);
+        pool.getConnection();
+        pool.getConnection();
+
+        try {
+            pool.getConnection();
+            fail("no more than the maximum number of connections are handed out");
+        } catch (SQLException e) {
+            assertEquals("only the maximum number of connections are created", 2, created.size());
+        }
+    }
+
+    @Test
+    public void resetsTransactionsOfReturnedConnections() throws SQLException {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::newConnection, 1, 100);
+        Connection connection = pool.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        assertTrue("the open transaction is rolled back", created.get(0).rolledBack.get());
+        assertTrue("auto-commit is restored", pool.getConnection().getAutoCommit());
+    }
+
+    @Test
+    public void closesConnectionsWhenClosed() throws SQLException {
+        JdbcConnectionPool pool = new JdbcConnectionPool(this::newConnection, 2, 100);
+        Connection inUse = pool.getConnection();
+        pool.getConnection().close();
+
+        pool.close();
+        assertTrue("idle connections are closed with the pool", created.get(1).closed.get());
+        assertFalse("connections in use are left open", created.get(0).closed.get());
+
+        inUse.close();
+        assertTrue("connections in use are closed once they are returned", created.get(0).closed.get());
+    }
+
+    private Connection newConnection() {
+        FakeConnection connection = new FakeConnection();
+        created.add(connection);
+        return connection.proxy;
+    }
+
+    private static class FakeConnection {
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean autoCommit = new AtomicBoolean(true);
+        private final AtomicBoolean rolledBack = new AtomicBoolean();
+
+        private final Connection proxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    closed.set(true);
+                    return null;
+                case "isClosed":
+                    return closed.get();
+                case "getAutoCommit":
+                    return autoCommit.get();
+                case "setAutoCommit":
+                    autoCommit.set((Boolean) args[0]);
+                    return null;
+                case "rollback":
+                    rolledBack.set(true);
+                    return null;
+                default:
+                    return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package org.testcontainers.containers;
+
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JdbcReadinessProbeTest {
+
+    @Test
+    public void waitsUntilAConnectionSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+        JdbcReadinessProbe probe = new JdbcReadinessProbe(() -> {
+            if (attempts.incrementAndGet() < 4) {
+                throw new SQLException("not ready yet");
+            }
+            return connection();
+        }, "SELECT 1", () -> true);
+
+        probe.waitUntilReady(Duration.ofSeconds(10));
+
+        assertTrue("attempts are made until one succeeds", probe.getAttempts() >= 4);
+        assertNotNull("the time to the first connection is recorded", probe.getTimeToReady());
+    }
+
+    @Test
+    public void doesNotWaitForSlowAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        JdbcReadinessProbe probe = new JdbcReadinessProbe(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                // like a connection attempt that hangs while the database is starting
+                Thread.sleep(30_000);
+            }
+            return connection();
+        }, "SELECT 1", () -> true);
+
+        long startedAt = System.currentTimeMillis();
+        probe.waitUntilReady(Duration.ofSeconds(20));
+
+        assertTrue("later attempts succeed while the first one hangs", System.currentTimeMillis() - startedAt < 5_000);
+    }
+
+    @Test
+    public void failsWhenNoAttemptSucceedsInTime() {
+        JdbcReadinessProbe probe = new JdbcReadinessProbe(failing(), "SELECT 1", () -> true);
+
+        try {
+            probe.waitUntilReady(Duration.ofMillis(500));
+            fail("the wait times out");
+        } catch (ContainerLaunchException e) {
+            assertEquals("the last failure is the cause", "not ready", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void failsWhenTheContainerStops() {
+        JdbcReadinessProbe probe = new JdbcReadinessProbe(failing(), "SELECT 1", () -> false);
+
+        long startedAt = System.currentTimeMillis();
+        try {
+            probe.waitUntilReady(Duration.ofSeconds(30));
+            fail("the wait fails");
+        } catch (ContainerLaunchException e) {
+            assertTrue("the wait ends straight away", System.currentTimeMillis() - startedAt < 5_000);
+        }
+    }
+
+    private static Callable<Connection> failing() {
+        return () -> {
+            throw new SQLException("not ready");
+        };
+    }
+
+    /**
+     * @return a connection whose statements execute queries successfully
+     */
+    private static Connection connection() {
+        Statement statement = (Statement) Proxy.newProxyInstance(JdbcReadinessProbeTest.class.getClassLoader(),
+            new Class[]{Statement.class}, (proxy, method, args) -> "execute".equals(method.getName()) ? true : null);
+        return (Connection) Proxy.newProxyInstance(JdbcReadinessProbeTest.class.getClassLoader(),
+            new Class[]{Connection.class}, (proxy, method, args) -> "createStatement".equals(method.getName()) ? statement : null);
+    }
+}
@@ -0,0 +1,221 @@
+package org.testcontainers.ext;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.testcontainers.delegate.DatabaseDelegate;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ScriptPipelineTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void parsesPhasesAndScripts() {
+        ScriptPipeline pipeline = ScriptPipeline.parse("db/schema.sql; db/data/a.sql, db/data/b.sql ;;db/views.sql");
+
+        assertEquals("phases are separated by ; and scripts by ,", Arrays.asList(
+            singletonList("db/schema.sql"),
+            Arrays.asList("db/data/a.sql", "db/data/b.sql"),
+            singletonList("db/views.sql")
+        ), pipeline.getPhases());
+        assertEquals("a single script is a single phase", singletonList(singletonList("init.sql")),
+            ScriptPipeline.parse("init.sql").getPhases());
+    }
+
+    @Test
+    public void keepsScriptsWhoseNamesContainSeparators() throws IOException {
+        ClassLoader classLoader = classLoader();
+
+        assertEquals("an existing script is not split", singletonList(singletonList("db/odd;name,v1.sql")),
+            ScriptPipeline.parse("db/odd;name,v1.sql", classLoader).getPhases());
+        assertEquals("other pipelines are split", Arrays.asList(singletonList("db/schema.sql"), singletonList("db/data")),
+            ScriptPipeline.parse("db/schema.sql;db/data", classLoader).getPhases());
+    }
+
+    @Test
+    public void resolvesDirectoriesAndPatterns() throws IOException {
+        ClassLoader classLoader = classLoader();
+        ScriptPipeline pipeline = new ScriptPipeline()
+            .addPhase("db/schema.sql")
+            .addPhase("db/data/")
+            .addPhase("db/data/b*.sql", "db/views/*.sql");
+
+        assertEquals("directories and patterns stand for the scripts they match, ordered by name", Arrays.asList(
+            singletonList("db/schema.sql"),
+            Arrays.asList("db/data/a.sql", "db/data/b.sql", "db/data/c.sql"),
+            Arrays.asList("db/data/b.sql", "db/views/v1.sql", "db/views/v2.sql")
+        ), pipeline.resolve(classLoader));
+    }
+
+    @Test
+    public void failsWhenAScriptIsMissing() throws IOException {
+        ClassLoader classLoader = classLoader();
+
+        try {
+            new ScriptPipeline().addPhase("db/missing.sql").resolve(classLoader);
+            fail("missing scripts are reported");
+        } catch (ScriptUtils.ScriptLoadException e) {
+            assertEquals("the script is named", "Could not load classpath init script: db/missing.sql. Resource not found.", e.getMessage());
+        }
+
+        try {
+            new ScriptPipeline().addPhase("db/data/*.ddl").resolve(classLoader);
+            fail("patterns matching nothing are reported");
+        } catch (ScriptUtils.ScriptLoadException e) {
+            assertEquals("the pattern is named", "No classpath init scripts match db/data/*.ddl", e.getMessage());
+        }
+    }
+
+    @Test
+    public void runsTheScriptsOfAPhaseAtTheSameTime() throws IOException {
+        ClassLoader classLoader = classLoader();
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        // the scripts of the data phase only finish once all three are running
+        CountDownLatch dataPhase = new CountDownLatch(3);
+        AtomicInteger closed = new AtomicInteger();
+
+        Map<String, Duration> timings = new ScriptPipeline()
+            .addPhase("db/schema.sql")
+            .addPhase("db/data")
+            .addPhase("db/views/*.sql")
+            .run(() -> new RecordingDelegate(executed, dataPhase, closed), 3, classLoader);
+
+        assertEquals("the schema is created before the data is inserted", "CREATE TABLE foo (id INT)", executed.get(0));
+        assertEquals("each phase finishes before the next starts",
+            new HashSet<>(Arrays.asList("CREATE VIEW v1 AS SELECT * FROM foo", "CREATE VIEW v2 AS SELECT * FROM foo")),
+            new HashSet<>(executed.subList(4, 6)));
+        assertEquals("each script runs on its own delegate, which is closed", 6, closed.get());
+        assertEquals("timings are reported in the order the scripts were declared", Arrays.asList(
+            "db/schema.sql", "db/data/a.sql", "db/data/b.sql", "db/data/c.sql", "db/views/v1.sql", "db/views/v2.sql"
+        ), new ArrayList<>(timings.keySet()));
+    }
+
+    @Test
+    public void reportsTheFailedScriptOfAPhase() throws IOException {
+        ClassLoader classLoader = classLoader();
+
+        try {
+            new ScriptPipeline()
+                .addPhase("db/data")
+                .addPhase("db/views/*.sql")
+                .run(() -> new RecordingDelegate(new ArrayList<>(), null, new AtomicInteger()) {
+                    @Override
+                    public void execute(String statement, String scriptPath, int lineNumber, boolean continueOnError, boolean ignoreFailedDrops) {
+                        if (scriptPath.endsWith("b.sql")) {
+                            throw new ScriptUtils.ScriptStatementFailedException(statement, lineNumber, scriptPath);
+                        }
+                        super.execute(statement, scriptPath, lineNumber, continueOnError, ignoreFailedDrops);
+                    }
+                }, 3, classLoader);
+            fail("the failure is reported");
+        } catch (ScriptUtils.UncategorizedScriptException e) {
+            assertEquals("the failed script is named", "Failed to execute database script from resource [db/data/b.sql]", e.getMessage());
+        }
+    }
+
+    /**
+     * @return a class loader with some scripts in a directory, and some in a jar
+     */
+    private ClassLoader classLoader() throws IOException {
+        File root = temporaryFolder.newFolder("classes");
+        write(root, "db/schema.sql", "CREATE TABLE foo (id INT);");
+        write(root, "db/data/a.sql", "INSERT INTO foo VALUES (1);");
+        write(root, "db/data/b.sql", "INSERT INTO foo VALUES (2);");
+        write(root, "db/data/c.sql", "INSERT INTO foo VALUES (3);");
+        write(root, "db/data/README.txt", "not a script");
+        write(root, "db/odd;name,v1.sql", "CREATE TABLE bar (id INT);");
+
+        File jar = temporaryFolder.newFile("views.jar");
+        try (JarOutputStream jarOutputStream = new JarOutputStream(new FileOutputStream(jar))) {
+            // like the jars built by Gradle and Maven, with entries for directories
+            for (String directory : Arrays.asList("db/", "db/views/")) {
+                jarOutputStream.putNextEntry(new JarEntry(directory));
+                jarOutputStream.closeEntry();
+            }
+            for (String name : Arrays.asList("v2", "v1")) {
+                jarOutputStream.putNextEntry(new JarEntry("db/views/" + name + ".sql"));
+                jarOutputStream.write(("CREATE VIEW " + name + " AS SELECT * FROM foo;").getBytes(StandardCharsets.UTF_8));
+                jarOutputStream.closeEntry();
+            }
+        }
+
+        return new URLClassLoader(new URL[]{root.toURI().toURL(), jar.toURI().toURL()}, null);
+    }
+
+    private static void write(File root, String path, String content) throws IOException {
+        File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class RecordingDelegate implements DatabaseDelegate {
+
+        private final List<String> executed;
+
+        private final CountDownLatch dataPhase;
+
+        private final AtomicInteger closed;
+
+        RecordingDelegate(List<String> executed, CountDownLatch dataPhase, AtomicInteger closed) {
+            this.executed = executed;
+            this.dataPhase = dataPhase;
+            this.closed = closed;
+        }
+
+        @Override
+        public void execute(String statement, String scriptPath, int lineNumber, boolean continueOnError, boolean ignoreFailedDrops) {
+            executed.add(statement);
+        }
+
+        @Override
+        public void execute(Collection<String> statements, String scriptPath, boolean continueOnError, boolean ignoreFailedDrops) {
+            statements.forEach(statement -> execute(statement, scriptPath, 0, continueOnError, ignoreFailedDrops));
+        }
+
+        @Override
+        public void executeBatch(List<String> statements, List<Integer> lineNumbers, String scriptPath, boolean continueOnError, boolean ignoreFailedDrops) {
+            statements.forEach(statement -> execute(statement, scriptPath, 0, continueOnError, ignoreFailedDrops));
+            if (dataPhase != null) {
+                dataPhase.countDown();
+                try {
+                    if (!dataPhase.await(10, TimeUnit.SECONDS)) {
+                        throw new IllegalStateException("the scripts of the data phase did not run at the same time");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.testcontainers.ext;
+
+import org.junit.Test;
+import org.testcontainers.delegate.DatabaseDelegate;
+import org.testcontainers.jdbc.ContainerLessJdbcDelegate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ScriptUtilsTest {
+
+    @Test
+    public void readsStatementsLikeSplitSqlScript() throws IOException {
+        String script = "-- a comment\n" +
+            "CREATE TABLE foo (\n" +
+            "  bar VARCHAR(255)\n" +
+            ");\n" +
+            "/* a block\n comment */ INSERT INTO foo VALUES ('semi;colon');\n" +
+            "INSERT INTO foo VALUES ('it\\'s');";
+
+        List<String> expected = new ArrayList<>();
+        ScriptUtils.splitSqlScript("test", script, ";", "--", "/*", "*/", expected);
+
+        ScriptStatementReader reader = new ScriptStatementReader(new StringReader(script), "test");
+        assertEquals("the first statement", expected.get(0), reader.readStatement());
+        assertEquals("statements are numbered by the line they start on", 2, reader.getLineNumber());
+        assertEquals("separators in literals are ignored", expected.get(1), reader.readStatement());
+        assertEquals("block comments are skipped", 6, reader.getLineNumber());
+        assertEquals("escaped quotes are kept", expected.get(2), reader.readStatement());
+        assertNull("the end of the script is reported", reader.readStatement());
+    }
+
+    @Test
+    public void fallsBackToLinesWithoutSeparator() throws IOException {
+        ScriptStatementReader reader = new ScriptStatementReader(new StringReader("SELECT 1\n\nSELECT 2\n"), "test");
+
+        assertEquals("the first line", "SELECT 1", reader.readStatement());
+        assertEquals("the second line", "SELECT 2", reader.readStatement());
+        assertEquals("line numbers are kept", 3, reader.getLineNumber());
+        assertNull("the end of the script is reported", reader.readStatement());
+    }
+
+    @Test
+    public void batchesConsecutiveDataModification() throws Exception {
+        RecordingDelegate delegate = new RecordingDelegate();
+        String script = "CREATE TABLE foo (id INT);\n" +
+            "INSERT INTO foo VALUES (1);\n" +
+            "INSERT INTO foo VALUES (2);\n" +
+            "insert into foo values (3);\n" +
+            "UPDATE foo SET id = 4 WHERE id = 3;\n" +
+            "SELECT * FROM foo;\n" +
+            "DELETE FROM foo;\n";
+
+        ScriptUtils.executeDatabaseScript(delegate, "test", new StringReader(script), false, false,
+            "--", ";", "/*", "*/", 3);
+
+        assertEquals("DML is grouped up to the batch size, and other statements run on their own", Arrays.asList(
+            "execute 1: CREATE TABLE foo (id INT)",
+            "batch [2, 3, 4]: [INSERT INTO foo VALUES (1), INSERT INTO foo VALUES (2), insert into foo values (3)]",
+            "execute 5: UPDATE foo SET id = 4 WHERE id = 3",
+            "execute 6: SELECT * FROM foo",
+            "execute 7: DELETE FROM foo"
+        ), delegate.calls);
+        assertEquals("the delegate is closed", 1, delegate.closed);
+    }
+
+    @Test
+    public void batchSizeOfOneDisablesBatching() throws Exception {
+        RecordingDelegate delegate = new RecordingDelegate();
+
+        ScriptUtils.executeDatabaseScript(delegate, "test", new StringReader("INSERT INTO foo VALUES (1); INSERT INTO foo VALUES (2);"),
+            false, false, "--", ";", "/*", "*/", 1);
+
+        assertEquals("each statement is executed on its own", Arrays.asList(
+            "execute 1: INSERT INTO foo VALUES (1)",
+            "execute 1: INSERT INTO foo VALUES (2)"
+        ), delegate.calls);
+    }
+
+    @Test
+    public void doesNotBatchWhenContinuingOnError() throws Exception {
+        RecordingDelegate delegate = new RecordingDelegate();
+
+        ScriptUtils.executeDatabaseScript(delegate, "test", new StringReader("INSERT INTO foo VALUES (1); INSERT INTO foo VALUES (2);"),
+            true, false, "--", ";", "/*", "*/", 3);
+
+        assertEquals("each statement is executed on its own", Arrays.asList(
+            "execute 1: INSERT INTO foo VALUES (1)",
+            "execute 1: INSERT INTO foo VALUES (2)"
+        ), delegate.calls);
+    }
+
+    @Test
+    public void reportsTheFailedStatementOfABatch() {
+        List<String> executed = new ArrayList<>();
+        ContainerLessJdbcDelegate delegate = new ContainerLessJdbcDelegate(connection(executed, "INSERT INTO foo VALUES (2)"));
+        List<String> statements = Arrays.asList("INSERT INTO foo VALUES (1)", "INSERT INTO foo VALUES (2)", "INSERT INTO foo VALUES (3)");
+
+        try {
+            delegate.executeBatch(statements, Arrays.asList(10, 11, 12), "test", false, false);
+            fail("the failed statement is reported");
+        } catch (ScriptUtils.ScriptStatementFailedException e) {
+            assertEquals("the failed statement and its line are reported",
+                "Script execution failed (test:11): INSERT INTO foo VALUES (2)", e.getMessage());
+        }
+    }
+
+    @Test
+    public void skipsOnlyTheFailedStatementWhenContinuingOnError() {
+        List<String> executed = new ArrayList<>();
+        ContainerLessJdbcDelegate delegate = new ContainerLessJdbcDelegate(connection(executed, "INSERT INTO foo VALUES (2)"));
+        List<String> statements = Arrays.asList("INSERT INTO foo VALUES (1)", "INSERT INTO foo VALUES (2)", "INSERT INTO foo VALUES (3)");
+
+        delegate.executeBatch(statements, Arrays.asList(10, 11, 12), "test", true, false);
+
+        assertEquals("the statements before and after the failed one are kept", Arrays.asList(
+            "INSERT INTO foo VALUES (1)",
+            "INSERT INTO foo VALUES (3)"
+        ), executed);
+    }
+
+    /**
+     * A connection whose statements fail on the failing statement, and keep nothing of a batch that contains it, like
+     * pgjdbc in auto-commit mode.
+     */
+    private static Connection connection(List<String> executed, String failing) {
+        List<String> batch = new ArrayList<>();
+        Statement statement = (Statement) Proxy.newProxyInstance(ScriptUtilsTest.class.getClassLoader(), new Class[]{Statement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "addBatch":
+                    batch.add((String) args[0]);
+                    return null;
+                case "clearBatch":
+                    batch.clear();
+                    return null;
+                case "execute":
+                    if (args[0].equals(failing)) {
+                        throw new SQLException("failed: " + failing);
+                    }
+                    executed.add((String) args[0]);
+                    return false;
+                case "executeBatch":
+                    int[] counts = new int[batch.size()];
+                    try {
+                        for (int i = 0; i < batch.size(); i++) {
+                            if (batch.get(i).equals(failing)) {
+                                throw new BatchUpdateException(Arrays.copyOf(counts, i));
+                            }
+                            counts[i] = 1;
+                        }
+                        executed.addAll(batch);
+                    } finally {
+                        batch.clear();
+                    }
+                    return counts;
+                default:
+                    return null;
+            }
+        });
+        return (Connection) Proxy.newProxyInstance(ScriptUtilsTest.class.getClassLoader(), new Class[]{Connection.class},
+            (proxy, method, args) -> "createStatement".equals(method.getName()) ? statement : null);
+    }
+
+    private static class RecordingDelegate implements DatabaseDelegate {
+
+        private final List<String> calls = new ArrayList<>();
+
+        private int closed = 0;
+
+        @Override
+        public void execute(String statement, String scriptPath, int lineNumber, boolean continueOnError, boolean ignoreFailedDrops) {
+            calls.add("execute " + lineNumber + ": " + statement);
+        }
+
+        @Override
+        public void execute(Collection<String> statements, String scriptPath, boolean continueOnError, boolean ignoreFailedDrops) {
+            statements.forEach(statement -> execute(statement, scriptPath, 0, continueOnError, ignoreFailedDrops));
+        }
+
+        @Override
+        public void executeBatch(List<String> statements, List<Integer> lineNumbers, String scriptPath, boolean continueOnError, boolean ignoreFailedDrops) {
+            calls.add("batch " + lineNumbers + ": " + statements);
+        }
+
+        @Override
+        public void close() {
+            closed++;
+        }
+    }
+}
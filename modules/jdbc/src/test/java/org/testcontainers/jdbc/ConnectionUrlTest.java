@@ -49,6 +49,26 @@ public class ConnectionUrlTest {
 
     }
 
+    @Test
+    public void testWarmPoolSizeCapture() {
+        String urlString = "jdbc:tc:mysql:5.6.23://somehostname:3306/databasename?a=b&TC_WARM_POOL=2";
+        ConnectionUrl url = ConnectionUrl.newInstance(urlString);
+
+        assertEquals("Warm pool size is as expected", 2, url.getWarmPoolSize());
+        assertEquals("Query String value is as expected", "?a=b", url.getQueryString().get());
+        assertEquals("Warm pool size is 0 by default", 0, ConnectionUrl.newInstance("jdbc:tc:mysql://somehostname/databasename").getWarmPoolSize());
+    }
+
+    @Test
+    public void testPrebakedImageCapture() {
+        String urlString = "jdbc:tc:mysql:5.6.23://somehostname:3306/databasename?TC_INITSCRIPT=somepath/init_mysql.sql&TC_PREBAKED_IMAGE=true";
+        ConnectionUrl url = ConnectionUrl.newInstance(urlString);
+
+        assertTrue("Prebaked image flag is set", url.isPrebakedImage());
+        assertFalse("Prebaked image flag needs an init script",
+            ConnectionUrl.newInstance("jdbc:tc:mysql://somehostname/databasename?TC_PREBAKED_IMAGE=true").isPrebakedImage());
+    }
+
     @Test
     public void testInitScriptPathCapture() {
         String urlString = "jdbc:tc:mysql:5.6.23://somehostname:3306/databasename?a=b&c=d&TC_INITSCRIPT=somepath/init_mysql.sql";
@@ -11,11 +11,15 @@ import org.junit.platform.commons.support.AnnotationSupport;
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.commons.util.ReflectionUtils;
 import org.testcontainers.lifecycle.Startable;
+import org.testcontainers.lifecycle.Startables;
 
 import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -30,17 +34,35 @@ class TestcontainersExtension implements TestInstancePostProcessor, BeforeEachCa
         ExtensionContext.Store store = context.getStore(NAMESPACE);
         store.put(TEST_INSTANCE, testInstance);
 
-        findSharedContainers(testInstance)
-            .forEach(adapter -> store.getOrComputeIfAbsent(adapter.getKey(), k -> adapter.start()));
+        startContainers(findSharedContainers(testInstance), store);
     }
 
     @Override
     public void beforeEach(final ExtensionContext context) {
-        collectParentTestInstances(context)
-            .parallelStream()
-            .flatMap(this::findRestartContainers)
-            .forEach(adapter -> context.getStore(NAMESPACE)
-                .getOrComputeIfAbsent(adapter.getKey(), k -> adapter.start()));
+        startContainers(
+            collectParentTestInstances(context).stream().flatMap(this::findRestartContainers),
+            context.getStore(NAMESPACE)
+        );
+    }
+
+    /**
+     * Starts all containers that are not in the store yet concurrently (honouring their dependencies),
+     * and puts them into the store so that they are stopped once the {@link ExtensionContext} is closed.
+     */
+    private void startContainers(final Stream<StoreAdapter> adapters, final ExtensionContext.Store store) {
+        Map<String, StoreAdapter> toStart = new LinkedHashMap<>();
+        adapters
+            .filter(adapter -> store.get(adapter.getKey()) == null)
+            .forEach(adapter -> toStart.putIfAbsent(adapter.getKey(), adapter));
+
+        try {
+            Startables.deepStart(toStart.values().stream().map(adapter -> adapter.container)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+
+        toStart.forEach(store::put);
     }
 
     private Set<Object> collectParentTestInstances(final ExtensionContext context) {
@@ -125,11 +147,6 @@ class TestcontainersExtension implements TestInstancePostProcessor, BeforeEachCa
             this.container = container;
         }
 
-        private StoreAdapter start() {
-            container.start();
-            return this;
-        }
-
         @Override
         public void close() {
             container.stop();
@@ -1,5 +1,7 @@
 package org.testcontainers.containers;
 
+import java.util.Arrays;
+
 /**
  * Container implementation for the MariaDB project.
  *
@@ -79,6 +81,41 @@ public class MariaDBContainer<SELF extends MariaDBContainer<SELF>> extends JdbcD
         return "SELECT 1";
     }
 
+    /**
+     * The image declares a volume for its default data directory, so keep the data elsewhere.
+     */
+    @Override
+    protected void configureForPrebakedImage() {
+        String dataDirectoryOption = "--datadir=/var/lib/mysql-testcontainers";
+        String[] commandParts = getCommandParts();
+        if (commandParts.length == 0) {
+            setCommand("mysqld", dataDirectoryOption);
+        } else if (!Arrays.asList(commandParts).contains(dataDirectoryOption)) {
+            String[] withDataDirectory = Arrays.copyOf(commandParts, commandParts.length + 1);
+            withDataDirectory[commandParts.length] = dataDirectoryOption;
+            setCommand(withDataDirectory);
+        }
+    }
+
+    /**
+     * Snapshots are kept as dumps within the container, which are loaded back to restore them.
+     */
+    @Override
+    protected void createSnapshot(String name) {
+        // the root password, if any, is in the container's environment
+        execSnapshotCommand("sh", "-c", "MYSQL_PWD=\"$MYSQL_ROOT_PASSWORD\" mysqldump --user=root --databases '" + databaseName + "'" +
+            " --add-drop-database --routines --triggers --events > " + snapshotFile(name));
+    }
+
+    @Override
+    protected void restoreSnapshot(String name) {
+        execSnapshotCommand("sh", "-c", "MYSQL_PWD=\"$MYSQL_ROOT_PASSWORD\" mysql --user=root < " + snapshotFile(name));
+    }
+
+    private static String snapshotFile(String name) {
+        return "/tmp/testcontainers-snapshot-" + name + ".sql";
+    }
+
     public SELF withConfigurationOverride(String s) {
         parameters.put(MY_CNF_CONFIG_OVERRIDE_PARAM_NAME, s);
         return self();
@@ -2,6 +2,8 @@ package org.testcontainers.containers;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -32,7 +34,7 @@ public class MySQLContainer<SELF extends MySQLContainer<SELF>> extends JdbcDatab
     @NotNull
     @Override
     protected Set<Integer> getLivenessCheckPorts() {
-        return new HashSet<>(getMappedPort(MYSQL_PORT));
+        return new HashSet<>(Collections.singleton(getMappedPort(MYSQL_PORT)));
     }
 
     @Override
@@ -96,6 +98,41 @@ public class MySQLContainer<SELF extends MySQLContainer<SELF>> extends JdbcDatab
         return "SELECT 1";
     }
 
+    /**
+     * The image declares a volume for its default data directory, so keep the data elsewhere.
+     */
+    @Override
+    protected void configureForPrebakedImage() {
+        String dataDirectoryOption = "--datadir=/var/lib/mysql-testcontainers";
+        String[] commandParts = getCommandParts();
+        if (commandParts.length == 0) {
+            setCommand("mysqld", dataDirectoryOption);
+        } else if (!Arrays.asList(commandParts).contains(dataDirectoryOption)) {
+            String[] withDataDirectory = Arrays.copyOf(commandParts, commandParts.length + 1);
+            withDataDirectory[commandParts.length] = dataDirectoryOption;
+            setCommand(withDataDirectory);
+        }
+    }
+
+    /**
+     * Snapshots are kept as dumps within the container, which are loaded back to restore them.
+     */
+    @Override
+    protected void createSnapshot(String name) {
+        // the root password, if any, is in the container's environment
+        execSnapshotCommand("sh", "-c", "MYSQL_PWD=\"$MYSQL_ROOT_PASSWORD\" mysqldump --user=root --databases '" + databaseName + "'" +
+            " --add-drop-database --routines --triggers --events > " + snapshotFile(name));
+    }
+
+    @Override
+    protected void restoreSnapshot(String name) {
+        execSnapshotCommand("sh", "-c", "MYSQL_PWD=\"$MYSQL_ROOT_PASSWORD\" mysql --user=root < " + snapshotFile(name));
+    }
+
+    private static String snapshotFile(String name) {
+        return "/tmp/testcontainers-snapshot-" + name + ".sql";
+    }
+
     public SELF withConfigurationOverride(String s) {
         parameters.put(MY_CNF_CONFIG_OVERRIDE_PARAM_NAME, s);
         return self();
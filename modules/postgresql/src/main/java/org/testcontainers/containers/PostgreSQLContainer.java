@@ -98,6 +98,65 @@ public class PostgreSQLContainer<SELF extends PostgreSQLContainer<SELF>> extends
         return self();
     }
 
+    /**
+     * The image declares a volume for its default data directory, so keep the data elsewhere.
+     */
+    @Override
+    protected void configureForPrebakedImage() {
+        addEnv("PGDATA", "/var/lib/postgresql/testcontainers-data");
+    }
+
+    /**
+     * Snapshots are kept as template databases, which are copied back over the database to restore them.
+     */
+    @Override
+    protected void createSnapshot(String name) {
+        String snapshotDatabase = databaseName + "_snapshot_" + name;
+        psql(
+            terminateConnectionsTo(databaseName),
+            "DROP DATABASE IF EXISTS " + quoteIdentifier(snapshotDatabase),
+            "CREATE DATABASE " + quoteIdentifier(snapshotDatabase) + " TEMPLATE " + quoteIdentifier(databaseName)
+        );
+    }
+
+    @Override
+    protected void restoreSnapshot(String name) {
+        String snapshotDatabase = databaseName + "_snapshot_" + name;
+        psql(
+            terminateConnectionsTo(databaseName),
+            "DROP DATABASE IF EXISTS " + quoteIdentifier(databaseName),
+            "CREATE DATABASE " + quoteIdentifier(databaseName) + " TEMPLATE " + quoteIdentifier(snapshotDatabase)
+        );
+    }
+
+    /**
+     * Run each statement on its own, as <code>CREATE DATABASE</code> and <code>DROP DATABASE</code> can't run within
+     * a transaction. Connects to a maintenance database, so that the test database can be dropped.
+     */
+    private void psql(String... statements) {
+        String[] command = new String[6 + 2 * statements.length];
+        command[0] = "psql";
+        command[1] = "--set=ON_ERROR_STOP=1";
+        command[2] = "--username";
+        command[3] = username;
+        command[4] = "--dbname";
+        command[5] = "template1";
+        for (int i = 0; i < statements.length; i++) {
+            command[6 + 2 * i] = "--command";
+            command[7 + 2 * i] = statements[i];
+        }
+        execSnapshotCommand(command);
+    }
+
+    private static String terminateConnectionsTo(String database) {
+        return "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE datname = '" + database.replace("'", "''") +
+            "' AND pid <> pg_backend_pid()";
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
     @Override
     protected void waitUntilContainerStarted() {
         getWaitStrategy().waitUntilReady(this);